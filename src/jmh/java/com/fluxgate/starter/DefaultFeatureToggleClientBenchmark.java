@@ -0,0 +1,113 @@
+package com.fluxgate.starter;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete {@code isEnabled} call, from request construction to
+ * the parsed response, against an in-process stub of the edge server. The
+ * uncached benchmarks go over the loopback interface on every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultFeatureToggleClientBenchmark {
+
+    private static final byte[] RESPONSE = "{\"enabled\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private DefaultFeatureToggleClient client;
+    private DefaultFeatureToggleClient cachingClient;
+    private Map<String, String> context;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Without TCP_NODELAY, delayed ACKs add tens of milliseconds to every response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/evaluate", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setClientId("benchmark-client");
+        properties.setClientSecret("benchmark-secret");
+
+        RestTemplate restTemplate = new RestTemplate(FeatureToggleRequestFactories.pooled(properties));
+        restTemplate.getMessageConverters().add(0, new FeatureEvaluationPayloadConverter(properties));
+        client = new DefaultFeatureToggleClient(restTemplate, properties, Runnable::run);
+        cachingClient = new DefaultFeatureToggleClient(restTemplate, properties, Runnable::run,
+                FeatureEvaluationCache.from(properties), null, null, null, null);
+
+        context = new LinkedHashMap<>();
+        context.put("user_id", "user-12345");
+        context.put("tier", "gold");
+        context.put("country", "NZ");
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        cachingClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean isEnabled() {
+        return client.isEnabled("new-checkout", "prod");
+    }
+
+    @Benchmark
+    public boolean isEnabledWithMapContext() {
+        return client.isEnabled("new-checkout", "prod", context);
+    }
+
+    /**
+     * Steady state of a cached evaluation with a reused context: after the
+     * first call every invocation is a cache hit, so the allocation rate
+     * reported by {@code -prof gc} is that of the request path alone.
+     */
+    @Benchmark
+    public boolean isEnabledWithMapContextCached() {
+        return cachingClient.isEnabled("new-checkout", "prod", context);
+    }
+}
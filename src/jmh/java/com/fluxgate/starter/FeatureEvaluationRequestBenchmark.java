@@ -0,0 +1,71 @@
+package com.fluxgate.starter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building evaluation requests from a map context and enriching
+ * them with the configured client credentials.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureEvaluationRequestBenchmark {
+
+    private Map<String, String> context;
+    private FeatureToggleProperties properties;
+    private FeatureEvaluationRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new LinkedHashMap<>();
+        context.put("user_id", "user-12345");
+        context.put("tier", "gold");
+        context.put("country", "NZ");
+
+        properties = new FeatureToggleProperties();
+        properties.setClientId("benchmark-client");
+        properties.setClientSecret("benchmark-secret");
+
+        request = FeatureEvaluationRequest.of("new-checkout", "prod", context);
+    }
+
+    @Benchmark
+    public FeatureEvaluationRequest ofMap() {
+        return FeatureEvaluationRequest.of("new-checkout", "prod", context);
+    }
+
+    @Benchmark
+    public FeatureEvaluationRequest builderWithMapContext() {
+        return FeatureEvaluationRequest.builder()
+                .featureKey("new-checkout")
+                .environmentId("prod")
+                .context(context)
+                .build();
+    }
+
+    @Benchmark
+    public FeatureEvaluationRequest enrichRequest() {
+        return DefaultFeatureToggleClient.enrichRequest(request, properties);
+    }
+
+    @Benchmark
+    public FeatureEvaluationKey evaluationKeyWithMapContext() {
+        return FeatureEvaluationKey.of(FeatureEvaluationRequest.of("new-checkout", "prod", context));
+    }
+}
@@ -0,0 +1,99 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON mapping of the evaluate call: writing the request body
+ * with data binding and with {@link FeatureEvaluationPayloadConverter}, and
+ * reading the response body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeatureEvaluationSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private FeatureEvaluationRequest request;
+    private byte[] response;
+    private FeatureEvaluationPayloadConverter payloadConverter;
+    private ReusableOutputMessage outputMessage;
+
+    @Setup
+    public void setUp() {
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        properties.setClientId("benchmark-client");
+        properties.setClientSecret("benchmark-secret");
+
+        objectMapper = new ObjectMapper();
+        request = DefaultFeatureToggleClient.enrichRequest(FeatureEvaluationRequest.of("new-checkout", "prod",
+                Map.of("user_id", "user-12345", "tier", "gold", "country", "NZ")), properties);
+        payloadConverter = new FeatureEvaluationPayloadConverter(properties);
+        outputMessage = new ReusableOutputMessage();
+        response = "{\"enabled\":true}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public int serializeRequestStreaming() throws IOException {
+        outputMessage.reset();
+        payloadConverter.write(request, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.body.size();
+    }
+
+    @Benchmark
+    public FeatureEvaluationResponse deserializeResponse() throws IOException {
+        return objectMapper.readValue(response, FeatureEvaluationResponse.class);
+    }
+
+    /**
+     * Output message whose body buffer is reused between invocations, so the
+     * benchmark measures the converter rather than buffer growth.
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
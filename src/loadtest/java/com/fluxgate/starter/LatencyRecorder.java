@@ -0,0 +1,55 @@
+package com.fluxgate.starter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Records latencies of one load generator thread and merges them into
+ * percentiles at the end of a run. Not thread-safe; each worker owns one.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    void record(long latencyNanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Merges the samples of all recorders into a sorted array.
+     */
+    static long[] merge(Collection<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.count;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Returns the given percentile of sorted samples, using the nearest-rank
+     * method.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
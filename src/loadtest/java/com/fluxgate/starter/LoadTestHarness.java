@@ -0,0 +1,228 @@
+package com.fluxgate.starter;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link FluxGateClient} at a fixed request rate from many threads
+ * and reports throughput, latency percentiles and fallback rate.
+ *
+ * The client is created by {@link FeatureToggleAutoConfiguration}, so
+ * transport and cache modes are selected with the usual {@code fluxgate.*}
+ * properties. Unless {@code fluxgate.base-url} is given, the client talks to
+ * a {@link StubEdgeServer} shaped by the {@code stub.*} properties. The load
+ * is an open model: each thread issues requests on a fixed schedule and
+ * latency is measured from the scheduled start, so a slow edge server shows
+ * up as queueing delay rather than as a lower request rate. Each evaluation
+ * goes through {@code isEnabledWithFallback}, so a failed evaluation counts
+ * as a fallback when fallbacks are enabled and as a failure otherwise.
+ *
+ * All settings are read from command line arguments in
+ * {@code --name=value} form or from system properties.
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({RestTemplateAutoConfiguration.class, FeatureToggleAutoConfiguration.class})
+public class LoadTestHarness {
+
+    @Bean
+    public CountingMetrics featureToggleMetrics() {
+        return new CountingMetrics();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        Settings settings = Settings.from(environment);
+
+        SpringApplicationBuilder application = new SpringApplicationBuilder(LoadTestHarness.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false);
+        StubEdgeServer stub = null;
+        if (!environment.containsProperty("fluxgate.base-url")) {
+            stub = new StubEdgeServer(StubEdgeServer.Profile.from(environment));
+            stub.start();
+            application.properties("fluxgate.base-url=" + stub.getBaseUrl());
+        }
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            FluxGateClient client = context.getBean(FluxGateClient.class);
+            CountingMetrics metrics = context.getBean(CountingMetrics.class);
+            System.out.println("FluxGate load test");
+            System.out.println("  client         " + context.getBean(FeatureToggleProperties.class));
+            System.out.println("  edge server    " + (stub != null ? "stub " + stub.getProfile() : "external"));
+            run(client, metrics, stub, settings);
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private static void run(FluxGateClient client, CountingMetrics metrics, StubEdgeServer stub, Settings settings)
+            throws InterruptedException {
+        List<String> featureKeys = new ArrayList<>(settings.features);
+        for (int i = 0; i < settings.features; i++) {
+            featureKeys.add("load-test-flag-" + i);
+        }
+        List<Map<String, String>> contexts = new ArrayList<>(settings.contexts);
+        for (int i = 0; i < settings.contexts; i++) {
+            contexts.add(Map.of("user_id", "user-" + i, "tier", i % 10 == 0 ? "gold" : "standard"));
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) * (double) settings.threads / settings.rate);
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(settings.warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(settings.durationSeconds);
+
+        List<LatencyRecorder> recorders = new ArrayList<>(settings.threads);
+        LongAdder fallbacks = new LongAdder();
+        LongAdder failures = new LongAdder();
+        List<Thread> workers = new ArrayList<>(settings.threads);
+        for (int i = 0; i < settings.threads; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            long firstNanos = startNanos + intervalNanos * i / settings.threads;
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (long scheduled = firstNanos; scheduled < endNanos; scheduled += intervalNanos) {
+                    long now = System.nanoTime();
+                    while (now < scheduled) {
+                        LockSupport.parkNanos(scheduled - now);
+                        now = System.nanoTime();
+                    }
+                    String featureKey = featureKeys.get(random.nextInt(featureKeys.size()));
+                    Map<String, String> context = contexts.get(random.nextInt(contexts.size()));
+                    long fallbacksBefore = metrics.getFallbacksOnCurrentThread();
+                    boolean failed = false;
+                    try {
+                        client.isEnabledWithFallback(featureKey, settings.environmentId, context, false);
+                    } catch (FeatureToggleException e) {
+                        failed = true;
+                    }
+                    if (scheduled >= measureFromNanos) {
+                        recorder.record(System.nanoTime() - scheduled);
+                        if (metrics.getFallbacksOnCurrentThread() != fallbacksBefore) {
+                            fallbacks.increment();
+                        }
+                        if (failed) {
+                            failures.increment();
+                        }
+                    }
+                }
+            }, "load-test-worker-" + i);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFromNanos - System.nanoTime()));
+        long stubRequests = stub != null ? stub.getRequests() : 0;
+        long stubErrors = stub != null ? stub.getErrors() : 0;
+        long stubResets = stub != null ? stub.getResets() : 0;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - measureFromNanos) / 1e9;
+
+        long[] latencies = LatencyRecorder.merge(recorders);
+        long evaluations = latencies.length;
+        System.out.printf(Locale.ROOT, "  load           %d ops/s on %d threads for %d s after %d s warmup%n",
+                settings.rate, settings.threads, settings.durationSeconds, settings.warmupSeconds);
+        System.out.printf(Locale.ROOT, "  evaluations    %d (%.1f ops/s achieved)%n",
+                evaluations, evaluations / elapsedSeconds);
+        System.out.printf(Locale.ROOT, "  latency ms     p50=%.3f p99=%.3f p999=%.3f max=%.3f%n",
+                millis(LatencyRecorder.percentile(latencies, 50)),
+                millis(LatencyRecorder.percentile(latencies, 99)),
+                millis(LatencyRecorder.percentile(latencies, 99.9)),
+                millis(evaluations > 0 ? latencies[latencies.length - 1] : 0));
+        System.out.printf(Locale.ROOT, "  fallbacks      %d (%.3f%%)%n",
+                fallbacks.sum(), percent(fallbacks.sum(), evaluations));
+        System.out.printf(Locale.ROOT, "  failures       %d (%.3f%%)%n",
+                failures.sum(), percent(failures.sum(), evaluations));
+        if (stub != null) {
+            long requests = stub.getRequests() - stubRequests;
+            System.out.printf(Locale.ROOT, "  edge requests  %d (%.3f per evaluation), %d errors, %d resets%n",
+                    requests, evaluations > 0 ? (double) requests / evaluations : 0.0,
+                    stub.getErrors() - stubErrors, stub.getResets() - stubResets);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double percent(long count, long total) {
+        return total > 0 ? 100.0 * count / total : 0.0;
+    }
+
+    /**
+     * Counts fallbacks returned by the client under test, per thread. The
+     * blocking client records a fallback on the thread that asked for the
+     * evaluation, so a worker can tell whether its own call fell back even
+     * while other calls are still in flight.
+     */
+    public static class CountingMetrics implements FeatureToggleMetrics {
+
+        private final ThreadLocal<long[]> fallbacks = ThreadLocal.withInitial(() -> new long[1]);
+
+        @Override
+        public void recordFallback(String featureKey) {
+            fallbacks.get()[0]++;
+        }
+
+        long getFallbacksOnCurrentThread() {
+            return fallbacks.get()[0];
+        }
+    }
+
+    /**
+     * Load settings, read from the {@code load.*} properties.
+     */
+    private static final class Settings {
+
+        private final int rate;
+        private final int threads;
+        private final int durationSeconds;
+        private final int warmupSeconds;
+        private final int features;
+        private final int contexts;
+        private final String environmentId;
+
+        private Settings(PropertyResolver properties) {
+            this.rate = properties.getProperty("load.rate", Integer.class, 1000);
+            this.threads = properties.getProperty("load.threads", Integer.class, 32);
+            this.durationSeconds = properties.getProperty("load.duration-seconds", Integer.class, 30);
+            this.warmupSeconds = properties.getProperty("load.warmup-seconds", Integer.class, 5);
+            this.features = properties.getProperty("load.features", Integer.class, 20);
+            this.contexts = properties.getProperty("load.contexts", Integer.class, 1000);
+            this.environmentId = properties.getProperty("load.environment", "load-test");
+            if (rate <= 0 || threads <= 0 || features <= 0 || contexts <= 0) {
+                throw new IllegalArgumentException("load.rate, load.threads, load.features and load.contexts "
+                        + "must be positive");
+            }
+        }
+
+        static Settings from(PropertyResolver properties) {
+            return new Settings(properties);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.core.env.PropertyResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Local stand-in for the FluxGate Edge Server, serving the evaluate and batch
+ * evaluate endpoints with a configurable latency distribution, error rate
+ * and connection reset rate. Every evaluation is answered as enabled.
+ *
+ * Built on the JDK HTTP server, so the load test needs no servlet container
+ * on the classpath.
+ */
+public class StubEdgeServer implements AutoCloseable {
+
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final byte[] EVALUATE_BODY = "{\"enabled\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERROR_BODY = "{\"error\":\"injected failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Profile profile;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+
+    /**
+     * Creates a stub server on a free loopback port. The server is started by
+     * {@link #start()}.
+     *
+     * @param profile the latency and fault profile of the stub
+     * @throws IOException if the server socket cannot be bound
+     */
+    public StubEdgeServer(Profile profile) throws IOException {
+        this.profile = profile;
+        // Without TCP_NODELAY, delayed ACKs add tens of milliseconds to every response
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(profile.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "stub-edge-server-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/evaluate", new FaultInjector(StubEdgeServer::evaluateBody));
+        server.createContext("/evaluate/batch", new FaultInjector(StubEdgeServer::batchBody));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Returns the number of requests received, including failed ones.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected error.
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Returns the number of connections closed instead of answered.
+     */
+    public long getResets() {
+        return resets.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static byte[] evaluateBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+        return EVALUATE_BODY;
+    }
+
+    private static byte[] batchBody(HttpExchange exchange) throws IOException {
+        int size;
+        try (InputStream body = requestBody(exchange)) {
+            size = OBJECT_MAPPER.readTree(body).path("requests").size();
+        } catch (IOException e) {
+            size = 0;
+        }
+        StringBuilder body = new StringBuilder(16 + size * 17).append("{\"results\":[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"enabled\":true}");
+        }
+        return body.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream requestBody(HttpExchange exchange) throws IOException {
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        InputStream body = exchange.getRequestBody();
+        return "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(body) : body;
+    }
+
+    /**
+     * Produces the body of a successful response.
+     */
+    @FunctionalInterface
+    private interface ResponseBody {
+
+        byte[] render(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Applies the latency and fault profile to every response.
+     */
+    private final class FaultInjector implements HttpHandler {
+
+        private final ResponseBody responseBody;
+
+        FaultInjector(ResponseBody responseBody) {
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            requests.incrementAndGet();
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    exchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+                byte[] body = responseBody.render(exchange);
+
+                long delayMillis = profile.sampleLatencyMillis();
+                if (delayMillis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(delayMillis);
+                }
+
+                double roll = ThreadLocalRandom.current().nextDouble();
+                if (roll < profile.getResetRate()) {
+                    // Closing the exchange before sending headers drops the connection
+                    resets.incrementAndGet();
+                    return;
+                }
+                int status = 200;
+                if (roll < profile.getResetRate() + profile.getErrorRate()) {
+                    errors.incrementAndGet();
+                    status = 503;
+                    body = ERROR_BODY;
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * Latency and fault profile of the stub.
+     */
+    public static final class Profile {
+
+        private final String latencySpec;
+        private final Latency latency;
+        private final double errorRate;
+        private final double resetRate;
+        private final int threads;
+
+        /**
+         * Creates a profile.
+         *
+         * @param latencySpec the latency distribution: {@code none},
+         *                    {@code fixed:<ms>}, {@code uniform:<min>-<max>}
+         *                    or {@code lognormal:<median>,<sigma>}
+         * @param errorRate   the fraction of requests answered with a 503
+         * @param resetRate   the fraction of connections closed instead of
+         *                    answered
+         * @param threads     the number of server threads
+         */
+        public Profile(String latencySpec, double errorRate, double resetRate, int threads) {
+            if (errorRate < 0 || resetRate < 0 || errorRate + resetRate > 1) {
+                throw new IllegalArgumentException("Error and reset rates must be between 0 and 1 combined, got "
+                        + errorRate + " and " + resetRate);
+            }
+            if (threads <= 0) {
+                throw new IllegalArgumentException("stub.threads must be positive, got " + threads);
+            }
+            this.latencySpec = latencySpec;
+            this.latency = parseLatency(latencySpec);
+            this.errorRate = errorRate;
+            this.resetRate = resetRate;
+            this.threads = threads;
+        }
+
+        /**
+         * Reads a profile from the {@code stub.*} properties.
+         *
+         * @param properties the property source
+         * @return the profile
+         */
+        public static Profile from(PropertyResolver properties) {
+            return new Profile(
+                    properties.getProperty("stub.latency", "none"),
+                    properties.getProperty("stub.error-rate", Double.class, 0.0),
+                    properties.getProperty("stub.reset-rate", Double.class, 0.0),
+                    properties.getProperty("stub.threads", Integer.class, 200));
+        }
+
+        private static Latency parseLatency(String spec) {
+            String[] parts = spec.split(":", 2);
+            try {
+                switch (parts[0]) {
+                    case "none":
+                        return random -> 0;
+                    case "fixed":
+                        long fixed = Long.parseLong(parts[1].trim());
+                        return random -> fixed;
+                    case "uniform":
+                        String[] range = parts[1].split("-", 2);
+                        long min = Long.parseLong(range[0].trim());
+                        long max = Long.parseLong(range[1].trim());
+                        if (min < 0 || max < min) {
+                            throw new IllegalArgumentException("Range must satisfy 0 <= min <= max");
+                        }
+                        return random -> min + random.nextLong(max - min + 1);
+                    case "lognormal":
+                        String[] shape = parts[1].split(",", 2);
+                        double median = Double.parseDouble(shape[0].trim());
+                        double sigma = Double.parseDouble(shape[1].trim());
+                        return random -> Math.round(median * Math.exp(sigma * random.nextGaussian()));
+                    default:
+                        break;
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid latency distribution: " + spec, e);
+            }
+            throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+
+        long sampleLatencyMillis() {
+            return latency.sampleMillis(ThreadLocalRandom.current());
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public double getResetRate() {
+            return resetRate;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        @Override
+        public String toString() {
+            return "Profile{" +
+                    "latency='" + latencySpec + '\'' +
+                    ", errorRate=" + errorRate +
+                    ", resetRate=" + resetRate +
+                    ", threads=" + threads +
+                    '}';
+        }
+    }
+
+    /**
+     * Response delay distribution in milliseconds.
+     */
+    @FunctionalInterface
+    private interface Latency {
+
+        long sampleMillis(ThreadLocalRandom random);
+    }
+}
@@ -0,0 +1,16 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Request body for evaluating several feature flags in one call to the
+ * FluxGate Edge Server batch endpoint.
+ */
+public record BatchEvaluationRequest(@JsonProperty("requests") List<FeatureEvaluationRequest> requests) {
+
+    public BatchEvaluationRequest {
+        requests = requests != null ? requests : List.of();
+    }
+}
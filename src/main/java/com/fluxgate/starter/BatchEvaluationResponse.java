@@ -0,0 +1,53 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Response from the FluxGate Edge Server batch endpoint. Results are returned
+ * in the same order as the requests of the corresponding
+ * {@link BatchEvaluationRequest}.
+ */
+public class BatchEvaluationResponse {
+
+    @JsonProperty("results")
+    private List<FeatureEvaluationResponse> results = new ArrayList<>();
+
+    public BatchEvaluationResponse() {
+    }
+
+    public BatchEvaluationResponse(List<FeatureEvaluationResponse> results) {
+        this.results = results;
+    }
+
+    public List<FeatureEvaluationResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FeatureEvaluationResponse> results) {
+        this.results = results;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchEvaluationResponse that = (BatchEvaluationResponse) o;
+        return Objects.equals(results, that.results);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(results);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchEvaluationResponse{" +
+                "results=" + results +
+                '}';
+    }
+}
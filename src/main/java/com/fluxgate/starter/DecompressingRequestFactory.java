@@ -0,0 +1,196 @@
+package com.fluxgate.starter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decorates a {@link ClientHttpRequestFactory} so that every request
+ * advertises {@code Accept-Encoding: gzip, deflate} and gzip or deflate
+ * encoded responses are decompressed while the message converter reads them.
+ *
+ * Unlike a {@link org.springframework.http.client.ClientHttpRequestInterceptor},
+ * the decorator does not make RestTemplate buffer request bodies, so the
+ * streaming {@link FeatureEvaluationPayloadConverter} keeps writing straight
+ * to the connection. Transports that decode responses themselves, such as
+ * Apache HttpClient, remove the {@code Content-Encoding} header and are
+ * passed through unchanged.
+ */
+final class DecompressingRequestFactory implements ClientHttpRequestFactory {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final ClientHttpRequestFactory delegate;
+
+    /**
+     * Creates a factory decorating the given one.
+     *
+     * @param delegate the factory creating the actual requests
+     */
+    DecompressingRequestFactory(ClientHttpRequestFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new DecompressingRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    /**
+     * Wraps the response so that its body is decompressed as it is read, if
+     * it is gzip or deflate encoded.
+     *
+     * @param response the response as received
+     * @return the decompressing response, or the given one if it is not
+     *         encoded
+     */
+    static ClientHttpResponse decompress(ClientHttpResponse response) {
+        String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding == null) {
+            return response;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.equals("gzip") || encoding.equals("x-gzip") || encoding.equals("deflate")) {
+            return new DecompressingResponse(response, encoding);
+        }
+        return response;
+    }
+
+    /**
+     * Request that asks for compressed responses and decompresses them. The
+     * body is handed to the wrapped request as it is written.
+     */
+    private static final class DecompressingRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest delegate;
+
+        DecompressingRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (delegate instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+                return;
+            }
+            try {
+                body.writeTo(delegate.getBody());
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not write request body to " + getURI(), ex);
+            }
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            if (!delegate.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                delegate.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+            }
+            return decompress(delegate.execute());
+        }
+    }
+
+    /**
+     * Response whose body is decompressed as it is read. The encoding and
+     * length headers of the compressed body are removed.
+     */
+    private static final class DecompressingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String encoding;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        DecompressingResponse(ClientHttpResponse delegate, String encoding) {
+            this.delegate = delegate;
+            this.encoding = encoding;
+            HttpHeaders decodedHeaders = new HttpHeaders();
+            decodedHeaders.putAll(delegate.getHeaders());
+            decodedHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+            decodedHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(decodedHeaders);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = decode(delegate.getBody());
+            }
+            return body;
+        }
+
+        private InputStream decode(InputStream compressed) throws IOException {
+            // Bodyless responses such as 304 Not Modified may still carry the
+            // encoding header; the gzip stream would fail reading its header
+            PushbackInputStream input = new PushbackInputStream(compressed, 1);
+            int first = input.read();
+            if (first == -1) {
+                return InputStream.nullInputStream();
+            }
+            input.unread(first);
+            return encoding.equals("deflate") ? new InflaterInputStream(input) : new GZIPInputStream(input);
+        }
+
+        @Override
+        public void close() {
+            // Releases the inflater without decompressing what is left; the
+            // transport decides whether the connection can be reused
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ex) {
+                    // Closing the delegate releases the connection either way
+                }
+            }
+            delegate.close();
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.fluxgate.starter;
 
+import com.fluxgate.starter.FeatureToggleMetrics.Outcome;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -22,21 +30,85 @@ import java.util.function.Supplier;
  * Default implementation of FeatureToggleClient using Spring's RestTemplate
  * to communicate with the FluxGate Edge Server.
  */
-public class DefaultFeatureToggleClient implements FluxGateClient {
+public class DefaultFeatureToggleClient implements FluxGateClient, AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultFeatureToggleClient.class);
     private static final String EVALUATE_ENDPOINT = "/evaluate";
+    private static final String BATCH_EVALUATE_ENDPOINT = "/evaluate/batch";
 
     private final RestTemplate restTemplate;
     private final FeatureToggleProperties properties;
     private final Executor asyncExecutor;
+    private final FeatureEvaluationCache cache;
+    private final EvaluationCoalescer coalescer;
+    private final EvaluationBatcher batcher;
+    private final ReactiveFluxGateClient reactiveClient;
+    private final LocalFeatureEvaluator localEvaluator;
+    private final FeatureToggleMetrics metrics;
+    private final RetryTemplate retryTemplate;
+    private final ScheduledRetryPolicy retryPolicy;
+    private final FeatureToggleCircuitBreaker circuitBreaker;
+    private final String evaluateUrl;
+    private final String batchEvaluateUrl;
+    private final WireFormatNegotiator wireFormat;
+    private final Duration batchResultTimeout;
+    private final Set<FeatureEvaluationKey> refreshing = ConcurrentHashMap.newKeySet();
+    private volatile boolean batchEndpointAvailable = true;
 
     public DefaultFeatureToggleClient(RestTemplate restTemplate,
             FeatureToggleProperties properties,
             Executor asyncExecutor) {
+        this(restTemplate, properties, asyncExecutor, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a client with the optional collaborators the auto-configuration
+     * provides. Every collaborator may be null to leave its feature off.
+     *
+     * @param restTemplate   the RestTemplate used to call the edge server
+     * @param properties     the starter configuration
+     * @param asyncExecutor  the executor used for background work
+     * @param cache          the evaluation cache, or null to disable caching
+     * @param reactiveClient the reactive client backing the async methods, or
+     *                       null to run them on the async executor
+     * @param localEvaluator the local evaluator, or null to evaluate remotely
+     * @param metrics        the metrics to record to, or null to record none
+     * @param circuitBreaker the circuit breaker, or null to always call the
+     *                       edge server
+     */
+    DefaultFeatureToggleClient(RestTemplate restTemplate,
+            FeatureToggleProperties properties,
+            Executor asyncExecutor,
+            FeatureEvaluationCache cache,
+            ReactiveFluxGateClient reactiveClient,
+            LocalFeatureEvaluator localEvaluator,
+            FeatureToggleMetrics metrics,
+            FeatureToggleCircuitBreaker circuitBreaker) {
         this.restTemplate = restTemplate;
         this.properties = properties;
         this.asyncExecutor = asyncExecutor;
+        this.cache = cache;
+        this.reactiveClient = reactiveClient;
+        this.localEvaluator = localEvaluator;
+        this.metrics = metrics != null ? metrics : FeatureToggleMetrics.NOOP;
+        this.retryTemplate = FeatureToggleRetryTemplates.blocking(properties);
+        this.retryPolicy = properties.getRetryMode() == FeatureToggleProperties.RetryMode.SCHEDULED
+                ? new ScheduledRetryPolicy(properties, this.metrics)
+                : null;
+        this.circuitBreaker = circuitBreaker;
+        this.evaluateUrl = properties.getBaseUrl() + EVALUATE_ENDPOINT;
+        this.batchEvaluateUrl = properties.getBaseUrl() + BATCH_EVALUATE_ENDPOINT;
+        this.wireFormat = WireFormatNegotiator.from(properties);
+        this.coalescer = properties.isRequestCoalescingEnabled() ? new EvaluationCoalescer() : null;
+        // Batches get their own dispatch threads: callers block waiting for
+        // them, so dispatching on the shared async executor could starve
+        this.batcher = properties.isMicroBatchingEnabled()
+                ? new EvaluationBatcher(properties.getMicroBatchMaxSize(), properties.getMicroBatchMaxLinger(),
+                        this::dispatchBatch, properties.getHttpPoolMaxConnectionsPerRoute())
+                : null;
+        this.batchResultTimeout = properties.getMicroBatchMaxLinger()
+                .plus(properties.getConnectionTimeout())
+                .plus(properties.getReadTimeout());
     }
 
     @Override
@@ -50,41 +122,310 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
     }
 
     @Override
-    @Retryable(retryFor = { ResourceAccessException.class, HttpServerErrorException.class }, noRetryFor = {
-            HttpClientErrorException.BadRequest.class, HttpClientErrorException.Unauthorized.class,
-            HttpClientErrorException.Forbidden.class,
-            HttpClientErrorException.NotFound.class }, maxAttemptsExpression = "#{@featureToggleProperties.retryAttempts}", backoff = @Backoff(delayExpression = "#{@featureToggleProperties.retryDelay.toMillis()}", maxDelayExpression = "#{@featureToggleProperties.maxRetryDelay.toMillis()}", multiplierExpression = "#{@featureToggleProperties.retryMultiplier}"))
     public boolean isEnabled(FeatureEvaluationRequest request) {
+        return evaluateMetered(request, true);
+    }
+
+    /**
+     * Evaluates the request, with or without retries, and records the outcome
+     * in the metrics.
+     */
+    private boolean evaluateMetered(FeatureEvaluationRequest request, boolean retry) {
         validateRequest(request);
 
+        long startTime = System.nanoTime();
+        try {
+            boolean result = retry ? evaluateWithRetry(request) : evaluate(request);
+            metrics.recordEvaluation(request.featureKey(), Outcome.of(result), System.nanoTime() - startTime);
+            return result;
+        } catch (FeatureToggleException e) {
+            metrics.recordError(request.featureKey(), e);
+            metrics.recordEvaluation(request.featureKey(), Outcome.ERROR, System.nanoTime() - startTime);
+            throw e;
+        }
+    }
+
+    /**
+     * Evaluates the request through the retry template, so every entry point
+     * shares the same attempts, backoff and deadline.
+     */
+    private boolean evaluateWithRetry(FeatureEvaluationRequest request) {
+        FeatureEvaluationMemo memo = FeatureEvaluationMemo.current();
+        if (localEvaluator != null || (memo == null && cache == null)) {
+            return retrying(request, () -> evaluate(request));
+        }
+
+        // Memo and cache hits are answered before entering the retry
+        // template, which allocates a retry context on every call
+        FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+        Boolean known = memo != null ? memo.get(key) : null;
+        if (known == null) {
+            known = lookupCache(key, request);
+        }
+        if (known == null) {
+            known = retrying(request, () -> evaluateAndCache(key, request));
+        }
+        return memo != null ? memo.remember(key, known) : known;
+    }
+
+    private boolean retrying(FeatureEvaluationRequest request, Supplier<Boolean> evaluation) {
+        return retryTemplate.execute(context -> {
+            if (context.getRetryCount() > 0) {
+                metrics.recordRetry(request.featureKey());
+            }
+            return evaluation.get();
+        });
+    }
+
+    /**
+     * Evaluates the request, at most once per inbound request when a
+     * {@link FeatureEvaluationMemo} is bound to the calling thread.
+     */
+    private boolean evaluate(FeatureEvaluationRequest request) {
+        FeatureEvaluationMemo memo = FeatureEvaluationMemo.current();
+        if (memo == null) {
+            return evaluateUnmemoized(request);
+        }
+        FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+        Boolean memoized = memo.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+        return memo.remember(key, evaluateUnmemoized(request));
+    }
+
+    private boolean evaluateUnmemoized(FeatureEvaluationRequest request) {
+        if (localEvaluator != null) {
+            return localEvaluator.evaluate(request);
+        }
+
+        if (cache == null && coalescer == null && batcher == null) {
+            return evaluateRemotely(request);
+        }
+
+        FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+        Boolean cached = lookupCache(key, request);
+        if (cached != null) {
+            return cached;
+        }
+
+        return evaluateAndCache(key, request);
+    }
+
+    @Override
+    public Map<FeatureEvaluationRequest, Boolean> isEnabledAll(Collection<FeatureEvaluationRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        if (localEvaluator != null) {
+            return FluxGateClient.super.isEnabledAll(requests);
+        }
+
+        long startTime = System.nanoTime();
+        FeatureEvaluationMemo memo = FeatureEvaluationMemo.current();
+        Map<FeatureEvaluationKey, Boolean> evaluated = new HashMap<>();
+        Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending = new LinkedHashMap<>();
+        for (FeatureEvaluationRequest request : requests) {
+            validateRequest(request);
+            FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+            if (evaluated.containsKey(key) || pending.containsKey(key)) {
+                continue;
+            }
+            Boolean cached = memo != null ? memo.get(key) : null;
+            if (cached == null) {
+                cached = lookupCache(key, request);
+            }
+            if (cached != null) {
+                evaluated.put(key, cached);
+            } else {
+                pending.put(key, request);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            try {
+                retryTemplate.execute(context -> {
+                    if (context.getRetryCount() > 0) {
+                        pending.values().forEach(request -> metrics.recordRetry(request.featureKey()));
+                    }
+                    return evaluateAll(pending);
+                }).forEach((key, result) -> evaluated.put(key, memo != null ? memo.remember(key, result) : result));
+            } catch (FeatureToggleException e) {
+                long durationNanos = System.nanoTime() - startTime;
+                for (FeatureEvaluationRequest request : requests) {
+                    metrics.recordError(request.featureKey(), e);
+                    metrics.recordEvaluation(request.featureKey(), Outcome.ERROR, durationNanos);
+                }
+                throw e;
+            }
+        }
+
+        // Every requested evaluation is recorded once, like a single isEnabled call
+        long durationNanos = System.nanoTime() - startTime;
+        Map<FeatureEvaluationRequest, Boolean> results = new LinkedHashMap<>();
+        for (FeatureEvaluationRequest request : requests) {
+            boolean result = evaluated.get(FeatureEvaluationKey.of(request));
+            metrics.recordEvaluation(request.featureKey(), Outcome.of(result), durationNanos);
+            results.put(request, result);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the cached result for the request, scheduling a background
+     * refresh if it is stale, or null if nothing usable is cached.
+     */
+    private Boolean lookupCache(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        if (cache == null) {
+            return null;
+        }
+        FeatureEvaluationCache.CachedEvaluation cached = cache.lookup(key);
+        if (cached == null) {
+            return null;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Feature evaluation served from cache: feature={}, environment={}, result={}, stale={}",
+                    request.featureKey(), request.environmentId(), cached.enabled(), cached.stale());
+        }
+        if (cached.stale()) {
+            refreshInBackground(key, request);
+        }
+        return cached.enabled();
+    }
+
+    private boolean evaluateAndCache(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        boolean result = coalescer != null
+                ? coalescer.execute(key, () -> fetch(key, request))
+                : fetch(key, request);
+        if (cache != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Fetches a result from the edge server, through the micro-batcher when
+     * it is enabled and the edge server supports batch evaluation. Waiting for
+     * the batch is bounded by the linger time plus the connect and read
+     * timeouts of the call that evaluates it.
+     */
+    private boolean fetch(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        if (batcher != null && batchEndpointAvailable) {
+            return Futures.join(batcher.submit(key, request), batchResultTimeout, () -> new FeatureToggleException(
+                    "Timed out after " + batchResultTimeout.toMillis() + "ms waiting for batched evaluation",
+                    request.featureKey(), request.environmentId()));
+        }
+        return evaluateRemotely(request);
+    }
+
+    /**
+     * Evaluates a batch collected by the micro-batcher. If the batch endpoint
+     * cannot be used, the evaluations are made one by one and each completes
+     * or fails on its own.
+     */
+    private Map<FeatureEvaluationKey, CompletableFuture<Boolean>> dispatchBatch(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        Map<FeatureEvaluationKey, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        if (pending.size() > 1 && batchEndpointAvailable) {
+            Map<FeatureEvaluationKey, Boolean> batchResults = throughCircuitBreaker(null, null,
+                    () -> evaluateBatchRemotely(pending));
+            if (batchResults != null) {
+                batchResults.forEach((key, result) -> results.put(key, CompletableFuture.completedFuture(result)));
+                return results;
+            }
+        }
+        pending.forEach((key, request) -> {
+            try {
+                results.put(key, CompletableFuture.completedFuture(evaluateRemotely(request)));
+            } catch (RuntimeException e) {
+                results.put(key, CompletableFuture.failedFuture(e));
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Re-evaluates a stale cache entry on the async executor. At most one
+     * refresh per key runs at a time; if it fails, the stale entry keeps being
+     * served until it exceeds the max staleness bound.
+     */
+    private void refreshInBackground(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    evaluateAndCache(key, request);
+                } catch (RuntimeException e) {
+                    logger.debug("Background refresh failed for feature={}, environment={}: {}",
+                            request.featureKey(), request.environmentId(), e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            logger.debug("Could not schedule background refresh for feature={}, environment={}: {}",
+                    request.featureKey(), request.environmentId(), e.getMessage());
+        }
+    }
+
+    private boolean evaluateRemotely(FeatureEvaluationRequest request) {
+        return throughCircuitBreaker(request.featureKey(), request.environmentId(), () -> callEdgeServer(request));
+    }
+
+    /**
+     * Makes a call to the edge server through the circuit breaker, if one is
+     * configured. While the breaker is open the call fails immediately with a
+     * {@link FeatureToggleException}, which the fallback and cache paths
+     * handle like any other evaluation error.
+     */
+    private <T> T throughCircuitBreaker(String featureKey, String environmentId, Supplier<T> call) {
+        if (circuitBreaker == null) {
+            return call.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            if (featureKey != null) {
+                metrics.recordShortCircuit(featureKey);
+            }
+            throw new FeatureToggleException("Circuit breaker is open, not calling edge server",
+                    featureKey, environmentId);
+        }
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(e);
+            throw e;
+        }
+    }
+
+    private boolean callEdgeServer(FeatureEvaluationRequest request) {
         long startTime = System.currentTimeMillis();
         String featureKey = request.featureKey();
         String environmentId = request.environmentId();
 
         try {
-            logger.debug("Evaluating feature flag: feature={}, environment={}, context={}",
-                    featureKey, environmentId, request.context());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Evaluating feature flag: feature={}, environment={}, context={}",
+                        featureKey, environmentId, request.context());
+            }
 
             // Enrich request with default credentials if not provided
             FeatureEvaluationRequest enrichedRequest = enrichRequest(request);
 
             // Make HTTP request to edge server
-            String url = properties.getBaseUrl() + EVALUATE_ENDPOINT;
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-
-            HttpEntity<FeatureEvaluationRequest> entity = new HttpEntity<>(enrichedRequest, headers);
-
-            ResponseEntity<FeatureEvaluationResponse> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, FeatureEvaluationResponse.class);
+            ResponseEntity<FeatureEvaluationResponse> response = post(
+                    evaluateUrl, enrichedRequest, FeatureEvaluationResponse.class);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 boolean result = response.getBody().isEnabled();
-                long duration = System.currentTimeMillis() - startTime;
-
-                logger.debug("Feature evaluation successful: feature={}, environment={}, result={}, duration={}ms",
-                        featureKey, environmentId, result, duration);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Feature evaluation successful: feature={}, environment={}, result={}, duration={}ms",
+                            featureKey, environmentId, result, System.currentTimeMillis() - startTime);
+                }
 
                 return result;
             } else {
@@ -118,18 +459,83 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
 
     @Override
     public CompletableFuture<Boolean> isEnabledAsync(String featureKey, String environmentId) {
-        return CompletableFuture.supplyAsync(() -> isEnabled(featureKey, environmentId), asyncExecutor);
+        if (localEvaluator != null) {
+            return evaluateLocallyAsync(() -> isEnabled(featureKey, environmentId));
+        }
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of(featureKey, environmentId);
+        if (reactiveClient != null) {
+            return memoizedAsync(request, () -> reactiveClient.isEnabled(featureKey, environmentId).toFuture());
+        }
+        return supplyAsync(request);
     }
 
     @Override
     public CompletableFuture<Boolean> isEnabledAsync(String featureKey, String environmentId,
             Map<String, String> context) {
-        return CompletableFuture.supplyAsync(() -> isEnabled(featureKey, environmentId, context), asyncExecutor);
+        if (localEvaluator != null) {
+            return evaluateLocallyAsync(() -> isEnabled(featureKey, environmentId, context));
+        }
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of(featureKey, environmentId, context);
+        if (reactiveClient != null) {
+            return memoizedAsync(request,
+                    () -> reactiveClient.isEnabled(featureKey, environmentId, context).toFuture());
+        }
+        return supplyAsync(request);
     }
 
     @Override
     public CompletableFuture<Boolean> isEnabledAsync(FeatureEvaluationRequest request) {
-        return CompletableFuture.supplyAsync(() -> isEnabled(request), asyncExecutor);
+        if (localEvaluator != null) {
+            return evaluateLocallyAsync(() -> isEnabled(request));
+        }
+        if (reactiveClient != null) {
+            return memoizedAsync(request, () -> reactiveClient.isEnabled(request).toFuture());
+        }
+        return supplyAsync(request);
+    }
+
+    /**
+     * Runs a blocking evaluation on the async executor. In SCHEDULED retry
+     * mode, each attempt runs separately and failed attempts are retried on a
+     * timer rather than by sleeping on an executor thread.
+     */
+    private CompletableFuture<Boolean> supplyAsync(FeatureEvaluationRequest request) {
+        if (retryPolicy == null) {
+            return memoizedAsync(request,
+                    () -> CompletableFuture.supplyAsync(() -> evaluateMetered(request, true), asyncExecutor));
+        }
+        return memoizedAsync(request, () -> retryPolicy.execute(request != null ? request.featureKey() : null,
+                () -> CompletableFuture.supplyAsync(() -> evaluateMetered(request, false), asyncExecutor)));
+    }
+
+    /**
+     * Applies the {@link FeatureEvaluationMemo} bound to the calling thread,
+     * if any, to an evaluation that completes on another thread.
+     */
+    private CompletableFuture<Boolean> memoizedAsync(FeatureEvaluationRequest request,
+            Supplier<CompletableFuture<Boolean>> evaluation) {
+        FeatureEvaluationMemo memo = FeatureEvaluationMemo.current();
+        if (memo == null || request == null) {
+            return evaluation.get();
+        }
+        FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+        Boolean memoized = memo.get(key);
+        if (memoized != null) {
+            return CompletableFuture.completedFuture(memoized);
+        }
+        return evaluation.get().thenApply(result -> memo.remember(key, result));
+    }
+
+    /**
+     * Completes local evaluations on the calling thread; they involve no I/O,
+     * so handing them to the async executor would only add latency.
+     */
+    private static CompletableFuture<Boolean> evaluateLocallyAsync(Supplier<Boolean> evaluation) {
+        try {
+            return CompletableFuture.completedFuture(evaluation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -145,17 +551,37 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
 
     @Override
     public boolean isEnabledWithFallback(FeatureEvaluationRequest request, boolean fallback) {
+        validateRequest(request);
+
+        Boolean result = evaluateMeteredOrFallback(request);
+        return result != null ? result : fallback;
+    }
+
+    /**
+     * Evaluates the request with retries and records the outcome. When the
+     * evaluation fails and fallback is enabled, the failure is recorded as a
+     * FALLBACK outcome and null is returned, so every fallback path reports
+     * the same metrics; otherwise the failure is recorded as an ERROR outcome
+     * and rethrown.
+     */
+    private Boolean evaluateMeteredOrFallback(FeatureEvaluationRequest request) {
+        long startTime = System.nanoTime();
         try {
-            return isEnabled(request);
+            boolean result = evaluateWithRetry(request);
+            metrics.recordEvaluation(request.featureKey(), Outcome.of(result), System.nanoTime() - startTime);
+            return result;
         } catch (FeatureToggleException e) {
+            metrics.recordError(request.featureKey(), e);
             if (properties.isFallbackEnabled()) {
-                logger.debug("Using fallback value {} for feature={}, environment={} due to error: {}",
-                        fallback, request.featureKey(), request.environmentId(), e.getMessage());
-                return fallback;
-            } else {
-                // Re-throw if fallback is disabled
-                throw e;
+                logger.debug("Using fallback value for feature={}, environment={} due to error: {}",
+                        request.featureKey(), request.environmentId(), e.getMessage());
+                metrics.recordFallback(request.featureKey());
+                metrics.recordEvaluation(request.featureKey(), Outcome.FALLBACK, System.nanoTime() - startTime);
+                return null;
             }
+            // Re-throw if fallback is disabled
+            metrics.recordEvaluation(request.featureKey(), Outcome.ERROR, System.nanoTime() - startTime);
+            throw e;
         }
     }
 
@@ -204,29 +630,168 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
             throw new IllegalArgumentException("Supplier cannot be null");
         }
 
+        Boolean enabled;
         try {
-            if (isEnabled(request)) {
-                logger.debug("Feature is enabled, executing supplier for feature={}, environment={}",
-                        request.featureKey(), request.environmentId());
-                return supplier.get();
-            } else {
-                logger.debug("Feature is disabled, returning fallback for feature={}, environment={}",
-                        request.featureKey(), request.environmentId());
-                return fallback;
+            enabled = evaluateMeteredOrFallback(request);
+        } catch (FeatureToggleException e) {
+            logger.error("Error executing feature evaluation request and fallback is disabled: {}", e.getMessage());
+            throw e;
+        }
+
+        if (enabled == null) {
+            return fallback;
+        } else if (enabled) {
+            logger.debug("Feature is enabled, executing supplier for feature={}, environment={}",
+                    request.featureKey(), request.environmentId());
+            return supplier.get();
+        } else {
+            logger.debug("Feature is disabled, returning fallback for feature={}, environment={}",
+                    request.featureKey(), request.environmentId());
+            return fallback;
+        }
+    }
+
+    private Map<FeatureEvaluationKey, Boolean> evaluateAll(Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        if (pending.size() > 1 && properties.isBatchEvaluationEnabled() && batchEndpointAvailable) {
+            Map<FeatureEvaluationKey, Boolean> results = throughCircuitBreaker(null, null,
+                    () -> evaluateBatchRemotely(pending));
+            if (results != null) {
+                if (cache != null) {
+                    results.forEach(cache::put);
+                }
+                return results;
             }
+        }
+        return evaluateInParallel(pending);
+    }
+
+    /**
+     * Sends all pending evaluations to the batch endpoint in one request.
+     *
+     * @return the results keyed by evaluation key, or null if the edge server
+     *         does not support batch evaluation
+     */
+    private Map<FeatureEvaluationKey, Boolean> evaluateBatchRemotely(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        long startTime = System.currentTimeMillis();
+        List<FeatureEvaluationRequest> batch = new ArrayList<>(pending.size());
+        for (FeatureEvaluationRequest request : pending.values()) {
+            batch.add(enrichRequest(request));
+        }
+
+        try {
+            logger.debug("Evaluating {} feature flags in one batch request", batch.size());
+
+            ResponseEntity<BatchEvaluationResponse> response = post(
+                    batchEvaluateUrl, new BatchEvaluationRequest(batch), BatchEvaluationResponse.class);
+
+            BatchEvaluationResponse body = response.getBody();
+            if (!response.getStatusCode().is2xxSuccessful() || body == null || body.getResults() == null) {
+                throw new FeatureToggleException(
+                        "Invalid batch response from edge server: " + response.getStatusCode(),
+                        null, null, response.getStatusCode().value());
+            }
+            if (body.getResults().size() != batch.size()) {
+                throw new FeatureToggleException("Batch response from edge server contained "
+                        + body.getResults().size() + " results for " + batch.size() + " requests");
+            }
+
+            Map<FeatureEvaluationKey, Boolean> results = new LinkedHashMap<>();
+            int index = 0;
+            for (FeatureEvaluationKey key : pending.keySet()) {
+                results.put(key, body.getResults().get(index++).isEnabled());
+            }
+
+            logger.debug("Batch evaluation successful: count={}, duration={}ms",
+                    batch.size(), System.currentTimeMillis() - startTime);
+            return results;
+
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.METHOD_NOT_ALLOWED) {
+                return batchEndpointUnavailable(e);
+            }
+            throw new FeatureToggleException(
+                    "Client error from edge server: " + e.getMessage(),
+                    e, null, null, e.getStatusCode().value());
+
+        } catch (HttpServerErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_IMPLEMENTED) {
+                return batchEndpointUnavailable(e);
+            }
+            throw new FeatureToggleException(
+                    "Server error from edge server: " + e.getMessage(),
+                    e, null, null, e.getStatusCode().value());
+
+        } catch (ResourceAccessException e) {
+            throw new FeatureToggleException(
+                    "Network error connecting to edge server: " + e.getMessage(), e);
+
         } catch (FeatureToggleException e) {
-            if (properties.isFallbackEnabled()) {
-                logger.debug("Using fallback value for feature={}, environment={} due to error: {}",
-                        request.featureKey(), request.environmentId(), e.getMessage());
-                return fallback;
-            } else {
-                logger.error("Error executing feature evaluation request and fallback is disabled: {}", e.getMessage());
+            throw e;
+
+        } catch (Exception e) {
+            throw new FeatureToggleException(
+                    "Unexpected error evaluating feature flags: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<FeatureEvaluationKey, Boolean> batchEndpointUnavailable(Exception e) {
+        batchEndpointAvailable = false;
+        logger.info("Edge server does not support batch evaluation ({}), falling back to parallel requests",
+                e.getMessage());
+        return null;
+    }
+
+    private Map<FeatureEvaluationKey, Boolean> evaluateInParallel(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        Map<FeatureEvaluationKey, Boolean> results = new LinkedHashMap<>();
+        if (pending.size() == 1) {
+            pending.forEach((key, request) -> results.put(key, evaluateAndCache(key, request)));
+            return results;
+        }
+
+        Map<FeatureEvaluationKey, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+        pending.forEach((key, request) -> futures.put(key,
+                CompletableFuture.supplyAsync(() -> evaluateAndCache(key, request), asyncExecutor)));
+
+        for (Map.Entry<FeatureEvaluationKey, CompletableFuture<Boolean>> entry : futures.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new FeatureToggleException("Unexpected error evaluating feature flags: " + e.getMessage(), e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Posts a body to the edge server in the negotiated wire format. A binary
+     * body rejected with 415 Unsupported Media Type is sent again as JSON.
+     */
+    private <T> ResponseEntity<T> post(String url, Object body, Class<T> responseType) {
+        HttpHeaders headers = wireFormat.requestHeaders();
+        ResponseEntity<T> response;
+        try {
+            response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers), responseType);
+        } catch (HttpClientErrorException.UnsupportedMediaType e) {
+            HttpHeaders jsonHeaders = wireFormat.onUnsupportedMediaType(headers);
+            if (jsonHeaders == null) {
                 throw e;
             }
+            logger.info("Edge server rejected {} request bodies, falling back to JSON",
+                    properties.getWireFormat());
+            response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, jsonHeaders), responseType);
+        }
+        if (response != null) {
+            wireFormat.onResponse(response.getHeaders());
         }
+        return response;
     }
 
-    private void validateRequest(FeatureEvaluationRequest request) {
+    static void validateRequest(FeatureEvaluationRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("FeatureEvaluationRequest cannot be null");
         }
@@ -239,6 +804,11 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
     }
 
     private FeatureEvaluationRequest enrichRequest(FeatureEvaluationRequest request) {
+        return enrichRequest(request, properties);
+    }
+
+    static FeatureEvaluationRequest enrichRequest(FeatureEvaluationRequest request,
+            FeatureToggleProperties properties) {
         // If request already has credentials, return as-is
         if (StringUtils.hasText(request.clientId()) && StringUtils.hasText(request.clientSecret())) {
             return request;
@@ -246,22 +816,25 @@ public class DefaultFeatureToggleClient implements FluxGateClient {
 
         // If global credentials are configured, use them
         if (StringUtils.hasText(properties.getClientId()) && StringUtils.hasText(properties.getClientSecret())) {
-            FeatureEvaluationRequest enriched = FeatureEvaluationRequest.builder()
-                    .featureKey(request.featureKey())
-                    .environmentId(request.environmentId())
-                    .context(request.context())
-                    .clientId(properties.getClientId())
-                    .clientSecret(properties.getClientSecret())
-                    .build();
-
-            logger.debug("Enriched request with global client credentials");
-            return enriched;
+            return new FeatureEvaluationRequest(request.featureKey(), request.environmentId(), request.context(),
+                    properties.getClientId(), properties.getClientSecret());
         }
 
         // Return original request if no global credentials
         return request;
     }
 
+    /**
+     * Dispatches any evaluations still waiting in the micro-batcher and stops
+     * its timer thread.
+     */
+    @Override
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
     /**
      * Health check method to verify connectivity to the edge server.
      * This method is called by the health indicator.
@@ -0,0 +1,243 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects evaluations submitted from many threads into batches and hands
+ * each batch to a dispatcher in one call.
+ *
+ * A batch is dispatched as soon as it holds {@code maxBatchSize} distinct
+ * evaluations, or once {@code maxLinger} has passed since its first
+ * evaluation was submitted, whichever comes first. Evaluations for the same
+ * {@link FeatureEvaluationKey} within one batch share a single result, and
+ * every evaluation in a batch completes or fails on its own.
+ * Batches are dispatched on a dispatch executor; if it rejects the work the
+ * batch is dispatched on the submitting thread instead. The dispatch executor
+ * must not be one that callers block on while waiting for batch results,
+ * otherwise blocked callers can starve the dispatch of the batch they wait
+ * for.
+ */
+public class EvaluationBatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvaluationBatcher.class);
+
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final Function<Map<FeatureEvaluationKey, FeatureEvaluationRequest>,
+            Map<FeatureEvaluationKey, CompletableFuture<Boolean>>> dispatcher;
+    private final Executor dispatchExecutor;
+    private final ExecutorService ownedDispatchExecutor;
+    private final ScheduledExecutorService timer;
+
+    private final Object lock = new Object();
+    private Map<FeatureEvaluationKey, PendingEvaluation> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * Creates a batcher that dispatches batches on its own pool of daemon
+     * threads, so dispatching never waits for threads that callers may be
+     * blocked on.
+     *
+     * @param maxBatchSize            the maximum number of evaluations per
+     *                                batch
+     * @param maxLinger               how long the first evaluation of a batch
+     *                                may wait for others to join it
+     * @param dispatcher              evaluates a whole batch, returning a
+     *                                result future per key
+     * @param maxConcurrentDispatches the maximum number of batches dispatched
+     *                                at the same time; further batches queue
+     */
+    public EvaluationBatcher(int maxBatchSize, Duration maxLinger,
+            Function<Map<FeatureEvaluationKey, FeatureEvaluationRequest>,
+                    Map<FeatureEvaluationKey, CompletableFuture<Boolean>>> dispatcher,
+            int maxConcurrentDispatches) {
+        this(maxBatchSize, maxLinger, dispatcher, dispatchPool(maxConcurrentDispatches), true);
+    }
+
+    /**
+     * Creates a batcher that dispatches batches on the given executor.
+     *
+     * @param maxBatchSize     the maximum number of evaluations per batch
+     * @param maxLinger        how long the first evaluation of a batch may wait
+     *                         for others to join it
+     * @param dispatcher       evaluates a whole batch, returning a result future
+     *                         per key
+     * @param dispatchExecutor the executor batches are dispatched on
+     */
+    public EvaluationBatcher(int maxBatchSize, Duration maxLinger,
+            Function<Map<FeatureEvaluationKey, FeatureEvaluationRequest>,
+                    Map<FeatureEvaluationKey, CompletableFuture<Boolean>>> dispatcher,
+            Executor dispatchExecutor) {
+        this(maxBatchSize, maxLinger, dispatcher, dispatchExecutor, false);
+    }
+
+    private EvaluationBatcher(int maxBatchSize, Duration maxLinger,
+            Function<Map<FeatureEvaluationKey, FeatureEvaluationRequest>,
+                    Map<FeatureEvaluationKey, CompletableFuture<Boolean>>> dispatcher,
+            Executor dispatchExecutor, boolean ownsDispatchExecutor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        if (maxLinger == null || maxLinger.isNegative()) {
+            throw new IllegalArgumentException("Max linger must not be negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.dispatcher = dispatcher;
+        this.dispatchExecutor = dispatchExecutor;
+        this.ownedDispatchExecutor = ownsDispatchExecutor ? (ExecutorService) dispatchExecutor : null;
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "feature-toggle-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.timer = executor;
+    }
+
+    private static ExecutorService dispatchPool(int maxConcurrentDispatches) {
+        if (maxConcurrentDispatches <= 0) {
+            throw new IllegalArgumentException("Max concurrent dispatches must be positive");
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrentDispatches, maxConcurrentDispatches,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "feature-toggle-batch-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Adds an evaluation to the current batch.
+     *
+     * @param key     the evaluation key
+     * @param request the evaluation request
+     * @return a future completed with the evaluation result once the batch has
+     *         been dispatched
+     */
+    public CompletableFuture<Boolean> submit(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        Map<FeatureEvaluationKey, PendingEvaluation> ready = null;
+        CompletableFuture<Boolean> future;
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new FeatureToggleException(
+                        "Evaluation batcher has been closed", key.featureKey(), key.environmentId()));
+            }
+            PendingEvaluation existing = pending.get(key);
+            if (existing != null) {
+                return existing.future();
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, new PendingEvaluation(request, future));
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, maxLingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+
+    /**
+     * Dispatches the current batch immediately, if it holds any evaluations.
+     */
+    public void flush() {
+        Map<FeatureEvaluationKey, PendingEvaluation> ready;
+        synchronized (lock) {
+            ready = pending.isEmpty() ? null : drain();
+        }
+        if (ready != null) {
+            dispatch(ready);
+        }
+    }
+
+    /**
+     * Dispatches any pending evaluations and stops accepting new ones.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+        flush();
+        timer.shutdownNow();
+        if (ownedDispatchExecutor != null) {
+            // Lets batches that are already dispatched complete
+            ownedDispatchExecutor.shutdown();
+        }
+    }
+
+    private Map<FeatureEvaluationKey, PendingEvaluation> drain() {
+        Map<FeatureEvaluationKey, PendingEvaluation> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<FeatureEvaluationKey, PendingEvaluation> batch) {
+        try {
+            dispatchExecutor.execute(() -> complete(batch));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Batch dispatch rejected by executor, dispatching {} evaluations inline", batch.size());
+            complete(batch);
+        }
+    }
+
+    private void complete(Map<FeatureEvaluationKey, PendingEvaluation> batch) {
+        Map<FeatureEvaluationKey, FeatureEvaluationRequest> requests = new LinkedHashMap<>();
+        batch.forEach((key, evaluation) -> requests.put(key, evaluation.request()));
+
+        try {
+            Map<FeatureEvaluationKey, CompletableFuture<Boolean>> results = dispatcher.apply(requests);
+            batch.forEach((key, evaluation) -> {
+                CompletableFuture<Boolean> result = results.get(key);
+                if (result != null) {
+                    result.whenComplete((enabled, error) -> {
+                        if (error != null) {
+                            evaluation.future().completeExceptionally(error);
+                        } else {
+                            evaluation.future().complete(enabled);
+                        }
+                    });
+                } else {
+                    evaluation.future().completeExceptionally(new FeatureToggleException(
+                            "No result returned for feature in batch", key.featureKey(), key.environmentId()));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.values().forEach(evaluation -> evaluation.future().completeExceptionally(e));
+        }
+    }
+
+    private record PendingEvaluation(FeatureEvaluationRequest request, CompletableFuture<Boolean> future) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.fluxgate.starter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coalesces concurrent evaluations of the same {@link FeatureEvaluationKey}
+ * into a single call.
+ *
+ * The first caller for a key performs the evaluation while later callers for
+ * the same key wait for it and receive its result or exception. Once the
+ * evaluation completes the key is released, so the next call starts a fresh
+ * evaluation.
+ */
+public class EvaluationCoalescer {
+
+    private final ConcurrentHashMap<FeatureEvaluationKey, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the evaluation for the given key, or joins an evaluation for the
+     * same key that is already in progress.
+     *
+     * @param key        the evaluation key
+     * @param evaluation the evaluation to run if none is in progress
+     * @return the evaluation result
+     */
+    public boolean execute(FeatureEvaluationKey key, BooleanSupplier evaluation) {
+        CompletableFuture<Boolean> call = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return Futures.join(existing);
+        }
+
+        try {
+            boolean result = evaluation.getAsBoolean();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Returns the number of evaluations currently in progress.
+     *
+     * @return the number of in-flight keys
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
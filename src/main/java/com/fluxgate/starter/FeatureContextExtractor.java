@@ -0,0 +1,50 @@
+package com.fluxgate.starter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Derives the evaluation context of an inbound request from its headers, for
+ * example the user id, tier and country of the caller. Used by
+ * {@link FeatureSnapshotFilter} and {@link FeatureSnapshotWebFilter} to
+ * prefetch flags at the start of a request.
+ *
+ * Define a bean of this type to read the context from somewhere other than
+ * plain headers, such as the claims of a JWT in the Authorization header.
+ */
+@FunctionalInterface
+public interface FeatureContextExtractor {
+
+    /**
+     * Extracts the evaluation context from the request headers.
+     *
+     * @param headers the headers of the inbound request
+     * @return the evaluation context, never null
+     */
+    Map<String, String> extract(HttpHeaders headers);
+
+    /**
+     * Creates an extractor that copies request headers into the context.
+     * Headers missing from the request are left out of the context.
+     *
+     * @param contextHeaders the header name to read, keyed by the context key
+     *                       it is stored under
+     * @return a header-based extractor
+     */
+    static FeatureContextExtractor fromHeaders(Map<String, String> contextHeaders) {
+        Map<String, String> mapping = Map.copyOf(contextHeaders);
+        return headers -> {
+            Map<String, String> context = new LinkedHashMap<>();
+            mapping.forEach((contextKey, headerName) -> {
+                String value = headers.getFirst(headerName);
+                if (StringUtils.hasText(value)) {
+                    context.put(contextKey, value);
+                }
+            });
+            return context;
+        };
+    }
+}
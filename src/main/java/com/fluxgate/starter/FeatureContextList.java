@@ -0,0 +1,95 @@
+package com.fluxgate.starter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, array-backed list of context entries built in a single pass over
+ * a context map. It also remembers its entries in key order, so every
+ * {@link FeatureEvaluationKey} made for the same request reuses one sorted
+ * list instead of copying and sorting the context again.
+ */
+final class FeatureContextList extends AbstractList<FeatureContext> implements RandomAccess {
+
+    /**
+     * Orders context entries by key, then by value, with nulls first.
+     */
+    static final Comparator<FeatureContext> KEY_ORDER = Comparator
+            .comparing(FeatureContext::key, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(FeatureContext::value, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final FeatureContext[] entries;
+    private FeatureContextList sorted;
+
+    private FeatureContextList(FeatureContext[] entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Converts a context map into a list of context entries, in the map's
+     * iteration order.
+     *
+     * @param context the context map, may be null
+     * @return the context entries, empty if the map is null or empty
+     */
+    static List<FeatureContext> of(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            return List.of();
+        }
+        FeatureContext[] entries = new FeatureContext[context.size()];
+        int size = 0;
+        for (Map.Entry<String, String> entry : context.entrySet()) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = new FeatureContext(entry.getKey(), entry.getValue());
+        }
+        return new FeatureContextList(size == entries.length ? entries : Arrays.copyOf(entries, size));
+    }
+
+    /**
+     * Returns this list sorted in {@link #KEY_ORDER}. The result is computed
+     * once and reused; a list that is already sorted returns itself.
+     *
+     * @return the sorted list
+     */
+    FeatureContextList sortedByKey() {
+        FeatureContextList result = sorted;
+        if (result == null) {
+            result = isSortedByKey() ? this : sortedCopy();
+            sorted = result;
+        }
+        return result;
+    }
+
+    private boolean isSortedByKey() {
+        for (int i = 1; i < entries.length; i++) {
+            if (KEY_ORDER.compare(entries[i - 1], entries[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FeatureContextList sortedCopy() {
+        FeatureContext[] copy = entries.clone();
+        Arrays.sort(copy, KEY_ORDER);
+        FeatureContextList list = new FeatureContextList(copy);
+        list.sorted = list;
+        return list;
+    }
+
+    @Override
+    public FeatureContext get(int index) {
+        return entries[index];
+    }
+
+    @Override
+    public int size() {
+        return entries.length;
+    }
+}
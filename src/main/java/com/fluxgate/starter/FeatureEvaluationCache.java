@@ -0,0 +1,253 @@
+package com.fluxgate.starter;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe in-process cache of feature evaluation results.
+ *
+ * Entries become stale once they are older than the configured TTL. A cache
+ * created with a positive max staleness keeps stale entries for that much
+ * longer so they can still be served through {@link #lookup} while a fresh
+ * value is fetched; after that they expire. When the cache is full, the least
+ * recently used entry is evicted to make room for a new one. Hit, miss and
+ * eviction counts are tracked and can be read through {@link #stats()}.
+ */
+public class FeatureEvaluationCache {
+
+    private final long ttlMillis;
+    private final long maxStalenessMillis;
+    private final int maxSize;
+    private final Clock clock;
+    private final LinkedHashMap<FeatureEvaluationKey, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FeatureEvaluationCache(Duration ttl, int maxSize) {
+        this(ttl, Duration.ZERO, maxSize);
+    }
+
+    /**
+     * Creates a cache that keeps entries for up to {@code maxStaleness} past
+     * their TTL so they can be served stale while being refreshed.
+     *
+     * @param ttl          how long an entry stays fresh
+     * @param maxStaleness how long past its TTL an entry may still be served
+     * @param maxSize      the maximum number of entries
+     */
+    public FeatureEvaluationCache(Duration ttl, Duration maxStaleness, int maxSize) {
+        this(ttl, maxStaleness, maxSize, Clock.systemUTC());
+    }
+
+    FeatureEvaluationCache(Duration ttl, int maxSize, Clock clock) {
+        this(ttl, Duration.ZERO, maxSize, clock);
+    }
+
+    FeatureEvaluationCache(Duration ttl, Duration maxStaleness, int maxSize, Clock clock) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache entry TTL must be positive");
+        }
+        if (maxStaleness == null || maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Cache max staleness must not be negative");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FeatureEvaluationKey, Entry> eldest) {
+                if (size() > FeatureEvaluationCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache configured from the given properties.
+     *
+     * @param properties the starter configuration
+     * @return a new cache instance
+     */
+    public static FeatureEvaluationCache from(FeatureToggleProperties properties) {
+        Duration maxStaleness = properties.isCacheStaleWhileRevalidate()
+                ? properties.getCacheMaxStaleness()
+                : Duration.ZERO;
+        return new FeatureEvaluationCache(properties.getCacheEntryTtl(), maxStaleness, properties.getCacheMaxSize());
+    }
+
+    /**
+     * Returns the cached result for the given key if present and fresh.
+     *
+     * @param key the evaluation key
+     * @return the cached result, or null if there is no fresh entry
+     */
+    public Boolean get(FeatureEvaluationKey key) {
+        CachedEvaluation cached = lookup(key, false);
+        return cached != null ? cached.enabled() : null;
+    }
+
+    /**
+     * Returns the cached result for the given key if present and not expired.
+     * The result may be stale, that is older than the TTL but still within the
+     * max staleness bound; callers are expected to refresh stale entries.
+     *
+     * @param key the evaluation key
+     * @return the cached result, or null if there is no usable entry
+     */
+    public CachedEvaluation lookup(FeatureEvaluationKey key) {
+        return lookup(key, true);
+    }
+
+    private CachedEvaluation lookup(FeatureEvaluationKey key, boolean allowStale) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt <= now) {
+                entries.remove(key);
+                evictions.increment();
+            } else if (entry != null && entry.staleAt > now) {
+                hits.increment();
+                return new CachedEvaluation(entry.enabled, false);
+            } else if (entry != null && allowStale) {
+                staleHits.increment();
+                return new CachedEvaluation(entry.enabled, true);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores an evaluation result, replacing any previous entry for the key.
+     *
+     * @param key     the evaluation key
+     * @param enabled the evaluation result
+     */
+    public void put(FeatureEvaluationKey key, boolean enabled) {
+        long staleAt = clock.millis() + ttlMillis;
+        Entry entry = new Entry(enabled, staleAt, staleAt + maxStalenessMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes the entry for the given key, if any.
+     *
+     * @param key the evaluation key
+     */
+    public void invalidate(FeatureEvaluationKey key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries for the given feature, across environments and
+     * contexts.
+     *
+     * @param featureKey the feature key
+     */
+    public void invalidateFeature(String featureKey) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.featureKey().equals(featureKey));
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Removes all expired entries. Expired entries are otherwise only dropped
+     * when they are looked up or pushed out by newer entries.
+     */
+    public void evictExpired() {
+        long now = clock.millis();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt <= now) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries currently held, including entries that
+     * have expired but not yet been removed.
+     *
+     * @return the current cache size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the current hit, miss and eviction counts
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), staleHits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private record Entry(boolean enabled, long staleAt, long expiresAt) {
+    }
+
+    /**
+     * A result read from the cache.
+     *
+     * @param enabled the cached evaluation result
+     * @param stale   whether the entry is older than the TTL and should be
+     *                refreshed
+     */
+    public record CachedEvaluation(boolean enabled, boolean stale) {
+    }
+
+    /**
+     * Point-in-time statistics for a {@link FeatureEvaluationCache}.
+     *
+     * @param hitCount      number of lookups served from a fresh entry
+     * @param staleHitCount number of lookups served from a stale entry
+     * @param missCount     number of lookups that found no usable entry
+     * @param evictionCount number of entries removed due to expiry or size
+     * @param size          number of entries held when the snapshot was taken
+     */
+    public record Stats(long hitCount, long staleHitCount, long missCount, long evictionCount, int size) {
+
+        /**
+         * Returns the ratio of fresh and stale hits to total lookups.
+         *
+         * @return the hit ratio, or 0.0 if there have been no lookups
+         */
+        public double hitRate() {
+            long served = hitCount + staleHitCount;
+            long total = served + missCount;
+            return total == 0 ? 0.0 : (double) served / total;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fluxgate.starter;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Drops cached evaluations that a flag ruleset update may have changed.
+ *
+ * Only the flags whose definitions differ between the previous and the new
+ * ruleset are invalidated. Since segments can be referenced by any flag, a
+ * change to a segment, or a switch to a different environment, clears the
+ * whole cache.
+ */
+public class FeatureEvaluationCacheInvalidator implements FlagRulesetStore.Listener {
+
+    private final FeatureEvaluationCache cache;
+
+    public FeatureEvaluationCacheInvalidator(FeatureEvaluationCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void rulesetUpdated(FlagRuleset previous, FlagRuleset current) {
+        if (previous == null
+                || !Objects.equals(previous.getEnvironmentId(), current.getEnvironmentId())
+                || !previous.getSegments().equals(current.getSegments())) {
+            cache.invalidateAll();
+            return;
+        }
+
+        Set<String> featureKeys = new HashSet<>();
+        previous.getFlags().forEach(flag -> featureKeys.add(flag.key()));
+        current.getFlags().forEach(flag -> featureKeys.add(flag.key()));
+        for (String featureKey : featureKeys) {
+            if (!Objects.equals(previous.getFlag(featureKey), current.getFlag(featureKey))) {
+                cache.invalidateFeature(featureKey);
+            }
+        }
+    }
+}
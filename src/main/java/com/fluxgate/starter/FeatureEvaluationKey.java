@@ -0,0 +1,55 @@
+package com.fluxgate.starter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Identity of a feature evaluation used for caching and de-duplication.
+ * Two requests map to the same key when they target the same feature and
+ * environment with the same context entries, regardless of the order in which
+ * the context entries were supplied. Client credentials are not part of the
+ * key.
+ */
+public record FeatureEvaluationKey(String featureKey, String environmentId, List<FeatureContext> context) {
+
+    private static final Comparator<FeatureContext> CONTEXT_ORDER = FeatureContextList.KEY_ORDER;
+
+    public FeatureEvaluationKey {
+        context = normalize(context);
+    }
+
+    /**
+     * Creates the key identifying the given request.
+     *
+     * @param request the feature evaluation request
+     * @return the key for the request
+     */
+    public static FeatureEvaluationKey of(FeatureEvaluationRequest request) {
+        return new FeatureEvaluationKey(request.featureKey(), request.environmentId(), request.context());
+    }
+
+    private static List<FeatureContext> normalize(List<FeatureContext> context) {
+        if (context == null || context.isEmpty()) {
+            return List.of();
+        }
+        if (context instanceof FeatureContextList list) {
+            return list.sortedByKey();
+        }
+        if (isSorted(context)) {
+            return List.copyOf(context);
+        }
+        List<FeatureContext> sorted = new ArrayList<>(context);
+        sorted.sort(CONTEXT_ORDER);
+        return List.copyOf(sorted);
+    }
+
+    private static boolean isSorted(List<FeatureContext> context) {
+        for (int i = 1; i < context.size(); i++) {
+            if (CONTEXT_ORDER.compare(context.get(i - 1), context.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
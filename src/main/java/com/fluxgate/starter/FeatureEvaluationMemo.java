@@ -0,0 +1,88 @@
+package com.fluxgate.starter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the evaluation results of one inbound request, so that every
+ * feature, environment and context combination is evaluated at most once per
+ * request and all layers handling the request see the same value.
+ *
+ * A memo is bound to the request thread by {@link FeatureEvaluationMemoFilter}
+ * and to the Reactor context, under {@link #CONTEXT_KEY}, by
+ * {@link FeatureEvaluationMemoWebFilter}. Only successful evaluations are
+ * remembered; a failed evaluation is attempted again on the next call. Once a
+ * result is remembered, later results for the same key are discarded in its
+ * favour.
+ */
+public final class FeatureEvaluationMemo {
+
+    /**
+     * Key under which the memo of the current request is stored in the
+     * Reactor context.
+     */
+    public static final String CONTEXT_KEY = FeatureEvaluationMemo.class.getName();
+
+    private static final ThreadLocal<FeatureEvaluationMemo> CURRENT = new ThreadLocal<>();
+
+    private final Map<FeatureEvaluationKey, Boolean> results = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the memo bound to the calling thread.
+     *
+     * @return the current memo, or null if the thread is not handling a
+     *         memoized request
+     */
+    public static FeatureEvaluationMemo current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a memo to the calling thread.
+     *
+     * @param memo the memo to bind, or null to unbind the current one
+     * @return the previously bound memo, or null if there was none
+     */
+    public static FeatureEvaluationMemo bind(FeatureEvaluationMemo memo) {
+        FeatureEvaluationMemo previous = CURRENT.get();
+        if (memo != null) {
+            CURRENT.set(memo);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the remembered result for the given key.
+     *
+     * @param key the evaluation key
+     * @return the remembered result, or null if the key has not been evaluated
+     *         in this request
+     */
+    public Boolean get(FeatureEvaluationKey key) {
+        return results.get(key);
+    }
+
+    /**
+     * Remembers a result unless one is already remembered for the key.
+     *
+     * @param key     the evaluation key
+     * @param enabled the evaluation result
+     * @return the result remembered for the key, which is the given result
+     *         unless another one was remembered first
+     */
+    public boolean remember(FeatureEvaluationKey key, boolean enabled) {
+        Boolean existing = results.putIfAbsent(key, enabled);
+        return existing != null ? existing : enabled;
+    }
+
+    /**
+     * Returns the number of remembered results.
+     *
+     * @return the number of evaluations remembered in this request
+     */
+    public int size() {
+        return results.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.fluxgate.starter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that binds a fresh {@link FeatureEvaluationMemo} to the
+ * request thread for the duration of each request, so that repeated
+ * {@link FluxGateClient} evaluations within the request are served from it.
+ * The filter runs early in the chain so that flags evaluated by other filters
+ * are memoized as well.
+ */
+public class FeatureEvaluationMemoFilter extends OncePerRequestFilter implements Ordered {
+
+    /**
+     * Default order of the filter.
+     */
+    public static final int DEFAULT_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        FeatureEvaluationMemo previous = FeatureEvaluationMemo.bind(new FeatureEvaluationMemo());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            FeatureEvaluationMemo.bind(previous);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_ORDER;
+    }
+}
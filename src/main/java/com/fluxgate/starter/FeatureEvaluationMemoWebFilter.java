@@ -0,0 +1,28 @@
+package com.fluxgate.starter;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter that stores a fresh {@link FeatureEvaluationMemo} in the
+ * Reactor context of each exchange under
+ * {@link FeatureEvaluationMemo#CONTEXT_KEY}, so that repeated
+ * {@link ReactiveFluxGateClient} evaluations within the exchange are served
+ * from it.
+ */
+public class FeatureEvaluationMemoWebFilter implements WebFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(FeatureEvaluationMemo.CONTEXT_KEY, new FeatureEvaluationMemo()));
+    }
+
+    @Override
+    public int getOrder() {
+        return FeatureEvaluationMemoFilter.DEFAULT_ORDER;
+    }
+}
@@ -0,0 +1,172 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the bodies of evaluate and batch evaluate calls with Jackson's
+ * streaming {@link JsonGenerator} instead of reflective data binding.
+ *
+ * The fields that are the same on every call, the environment and the
+ * configured client credentials, are encoded once per environment and copied
+ * into each body as pre-encoded bytes, so only the feature key and context
+ * are encoded per call. Requests carrying credentials other than the
+ * configured ones are written field by field. The converter only writes;
+ * responses are read by the regular Jackson converter.
+ *
+ * Bodies are streamed to the connection only while the RestTemplate has no
+ * interceptors; with any interceptor, such as the request compression
+ * {@link FeatureToggleCompressionInterceptor}, RestTemplate buffers the whole
+ * body first.
+ */
+public class FeatureEvaluationPayloadConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final int MAX_CACHED_ENVIRONMENTS = 256;
+
+    private static final SerializableString FEATURE_KEY = new SerializedString("feature_key");
+    private static final SerializableString ENVIRONMENT_ID = new SerializedString("environment_id");
+    private static final SerializableString CONTEXT = new SerializedString("context");
+    private static final SerializableString KEY = new SerializedString("key");
+    private static final SerializableString VALUE = new SerializedString("value");
+    private static final SerializableString CLIENT_ID = new SerializedString("client_id");
+    private static final SerializableString CLIENT_SECRET = new SerializedString("client_secret");
+    private static final SerializableString REQUESTS = new SerializedString("requests");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final String clientId;
+    private final String clientSecret;
+    private final Map<String, SerializableString> constantFields = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a converter that pre-encodes the client credentials configured
+     * in the given properties.
+     *
+     * @param properties the starter configuration
+     */
+    public FeatureEvaluationPayloadConverter(FeatureToggleProperties properties) {
+        super(MediaType.APPLICATION_JSON);
+        this.clientId = properties.getClientId();
+        this.clientSecret = properties.getClientSecret();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == FeatureEvaluationRequest.class || clazz == BatchEvaluationRequest.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Evaluation payloads are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object payload, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(
+                StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            if (payload instanceof BatchEvaluationRequest batch) {
+                generator.writeStartObject();
+                generator.writeFieldName(REQUESTS);
+                generator.writeStartArray();
+                for (FeatureEvaluationRequest request : batch.requests()) {
+                    writeRequest(request, generator);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } else {
+                writeRequest((FeatureEvaluationRequest) payload, generator);
+            }
+        }
+    }
+
+    private void writeRequest(FeatureEvaluationRequest request, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(FEATURE_KEY);
+        generator.writeString(request.featureKey());
+
+        List<FeatureContext> context = request.context();
+        generator.writeFieldName(CONTEXT);
+        generator.writeStartArray();
+        for (int i = 0; i < context.size(); i++) {
+            FeatureContext entry = context.get(i);
+            generator.writeStartObject();
+            generator.writeFieldName(KEY);
+            generator.writeString(entry.key());
+            generator.writeFieldName(VALUE);
+            generator.writeString(entry.value());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        if (request.environmentId() != null && hasConfiguredCredentials(request)) {
+            generator.writeRaw(constantFields(request.environmentId()));
+        } else {
+            generator.writeFieldName(ENVIRONMENT_ID);
+            generator.writeString(request.environmentId());
+            generator.writeFieldName(CLIENT_ID);
+            generator.writeString(request.clientId());
+            generator.writeFieldName(CLIENT_SECRET);
+            generator.writeString(request.clientSecret());
+        }
+        generator.writeEndObject();
+    }
+
+    private boolean hasConfiguredCredentials(FeatureEvaluationRequest request) {
+        return clientId != null && clientSecret != null
+                && clientId.equals(request.clientId()) && clientSecret.equals(request.clientSecret());
+    }
+
+    /**
+     * Returns the pre-encoded environment and credential fields, preceded by
+     * the separating comma, for the given environment.
+     */
+    private SerializableString constantFields(String environmentId) {
+        SerializableString fields = constantFields.get(environmentId);
+        if (fields != null) {
+            return fields;
+        }
+        fields = encodeConstantFields(environmentId);
+        if (constantFields.size() < MAX_CACHED_ENVIRONMENTS) {
+            constantFields.putIfAbsent(environmentId, fields);
+        }
+        return fields;
+    }
+
+    private SerializableString encodeConstantFields(String environmentId) {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("environment_id", environmentId);
+            generator.writeStringField("client_id", clientId);
+            generator.writeStringField("client_secret", clientSecret);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String object = out.toString();
+        SerializedString fields = new SerializedString("," + object.substring(1, object.length() - 1));
+        // Encode the UTF-8 bytes up front; the generator copies them on every write
+        fields.asUnquotedUTF8();
+        return fields;
+    }
+}
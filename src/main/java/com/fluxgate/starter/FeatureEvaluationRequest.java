@@ -59,13 +59,7 @@ public record FeatureEvaluationRequest(
      * @return a new request instance
      */
     public static FeatureEvaluationRequest of(String featureKey, String environmentId, Map<String, String> context) {
-        if (context == null) {
-            return new FeatureEvaluationRequest(featureKey, environmentId, List.of());
-        }
-        List<FeatureContext> contextList = context.entrySet().stream()
-                .map(entry -> new FeatureContext(entry.getKey(), entry.getValue()))
-                .toList();
-        return new FeatureEvaluationRequest(featureKey, environmentId, contextList);
+        return new FeatureEvaluationRequest(featureKey, environmentId, FeatureContextList.of(context));
     }
 
     /**
@@ -111,13 +105,7 @@ public record FeatureEvaluationRequest(
         }
 
         public Builder context(Map<String, String> context) {
-            if (context == null) {
-                this.context = List.of();
-                return this;
-            }
-            this.context = context.entrySet().stream()
-                    .map(entry -> new FeatureContext(entry.getKey(), entry.getValue()))
-                    .toList();
+            this.context = FeatureContextList.of(context);
             return this;
         }
 
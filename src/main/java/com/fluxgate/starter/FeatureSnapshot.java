@@ -0,0 +1,166 @@
+package com.fluxgate.starter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The flags of one inbound request, evaluated together at the start of the
+ * request for the caller's context.
+ *
+ * A snapshot is created by {@link FeatureSnapshotFilter} or
+ * {@link FeatureSnapshotWebFilter}, which also seed the request's
+ * {@link FeatureEvaluationMemo} with its results, so later
+ * {@link FluxGateClient} calls for the same feature, environment and context
+ * are answered from memory. Application code can read it through
+ * {@link #current()}, the request attribute named after this class, or the
+ * Reactor context under {@link #CONTEXT_KEY}. Flags whose prefetch failed
+ * are absent from the snapshot and are evaluated normally when requested.
+ */
+public final class FeatureSnapshot {
+
+    /**
+     * Key under which the snapshot of the current request is stored in the
+     * Reactor context, and name of the request attribute holding it.
+     */
+    public static final String CONTEXT_KEY = FeatureSnapshot.class.getName();
+
+    private static final ThreadLocal<FeatureSnapshot> CURRENT = new ThreadLocal<>();
+
+    private final String environmentId;
+    private final Map<String, String> context;
+    private final Map<String, Boolean> results;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param environmentId the environment the flags were evaluated in
+     * @param context       the evaluation context of the request
+     * @param results       the evaluation results keyed by feature key
+     */
+    public FeatureSnapshot(String environmentId, Map<String, String> context, Map<String, Boolean> results) {
+        this.environmentId = environmentId;
+        this.context = context != null ? Map.copyOf(context) : Map.of();
+        this.results = results != null ? Map.copyOf(results) : Map.of();
+    }
+
+    /**
+     * Creates a snapshot from the results of a bulk evaluation.
+     *
+     * @param environmentId the environment the flags were evaluated in
+     * @param context       the evaluation context of the request
+     * @param results       the bulk evaluation results
+     * @return the snapshot
+     */
+    static FeatureSnapshot of(String environmentId, Map<String, String> context,
+            Map<FeatureEvaluationRequest, Boolean> results) {
+        Map<String, Boolean> byFeature = new LinkedHashMap<>();
+        results.forEach((request, enabled) -> byFeature.put(request.featureKey(), enabled));
+        return new FeatureSnapshot(environmentId, context, byFeature);
+    }
+
+    /**
+     * Builds the bulk evaluation requests for the given features.
+     */
+    static List<FeatureEvaluationRequest> requests(String environmentId, Collection<String> featureKeys,
+            Map<String, String> context) {
+        List<FeatureEvaluationRequest> requests = new ArrayList<>(featureKeys.size());
+        for (String featureKey : featureKeys) {
+            requests.add(FeatureEvaluationRequest.of(featureKey, environmentId, context));
+        }
+        return requests;
+    }
+
+    /**
+     * Returns the snapshot bound to the calling thread.
+     *
+     * @return the current snapshot, or null if the thread is not handling a
+     *         prefetched request
+     */
+    public static FeatureSnapshot current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a snapshot to the calling thread.
+     *
+     * @param snapshot the snapshot to bind, or null to unbind the current one
+     * @return the previously bound snapshot, or null if there was none
+     */
+    public static FeatureSnapshot bind(FeatureSnapshot snapshot) {
+        FeatureSnapshot previous = CURRENT.get();
+        if (snapshot != null) {
+            CURRENT.set(snapshot);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    public String getEnvironmentId() {
+        return environmentId;
+    }
+
+    public Map<String, String> getContext() {
+        return context;
+    }
+
+    public Map<String, Boolean> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the prefetched result of a feature.
+     *
+     * @param featureKey the feature key
+     * @return the result, or null if the feature was not prefetched
+     */
+    public Boolean get(String featureKey) {
+        return results.get(featureKey);
+    }
+
+    /**
+     * Returns the prefetched result of a feature, or the fallback if it was
+     * not prefetched.
+     *
+     * @param featureKey the feature key
+     * @param fallback   the value returned for features not in the snapshot
+     * @return the prefetched result or the fallback
+     */
+    public boolean isEnabled(String featureKey, boolean fallback) {
+        Boolean result = results.get(featureKey);
+        return result != null ? result : fallback;
+    }
+
+    /**
+     * Creates a request evaluating the given feature for this snapshot's
+     * environment and context, which the memo seeded from this snapshot
+     * answers without a remote call.
+     *
+     * @param featureKey the feature key
+     * @return the evaluation request
+     */
+    public FeatureEvaluationRequest request(String featureKey) {
+        return FeatureEvaluationRequest.of(featureKey, environmentId, context);
+    }
+
+    /**
+     * Remembers all results of this snapshot in the given memo.
+     *
+     * @param memo the memo of the current request
+     */
+    void rememberIn(FeatureEvaluationMemo memo) {
+        results.forEach((featureKey, enabled) -> memo.remember(FeatureEvaluationKey.of(request(featureKey)), enabled));
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureSnapshot{" +
+                "environmentId='" + environmentId + '\'' +
+                ", context=" + context +
+                ", results=" + results +
+                '}';
+    }
+}
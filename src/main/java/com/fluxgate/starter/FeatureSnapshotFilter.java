@@ -0,0 +1,103 @@
+package com.fluxgate.starter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servlet filter that evaluates a declared set of flags for the caller's
+ * context in one bulk call at the start of each request, and exposes the
+ * results as a {@link FeatureSnapshot}.
+ *
+ * The snapshot seeds the request's {@link FeatureEvaluationMemo}, binding one
+ * for the request if {@link FeatureEvaluationMemoFilter} has not, so later
+ * {@link FluxGateClient} calls for the same context are served from memory.
+ * If the bulk call fails, the request proceeds with an empty snapshot and
+ * flags are evaluated as they are requested.
+ */
+public class FeatureSnapshotFilter extends OncePerRequestFilter implements Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureSnapshotFilter.class);
+
+    /**
+     * Default order of the filter, right after {@link FeatureEvaluationMemoFilter}.
+     */
+    public static final int DEFAULT_ORDER = FeatureEvaluationMemoFilter.DEFAULT_ORDER + 10;
+
+    private final FluxGateClient client;
+    private final FeatureContextExtractor contextExtractor;
+    private final String environmentId;
+    private final List<String> featureKeys;
+
+    /**
+     * Creates a prefetch filter.
+     *
+     * @param client           the client used for the bulk evaluation
+     * @param contextExtractor the extractor deriving the context from the
+     *                         request headers
+     * @param environmentId    the environment the flags are evaluated in
+     * @param featureKeys      the flags to prefetch
+     */
+    public FeatureSnapshotFilter(FluxGateClient client, FeatureContextExtractor contextExtractor,
+            String environmentId, List<String> featureKeys) {
+        this.client = client;
+        this.contextExtractor = contextExtractor;
+        this.environmentId = environmentId;
+        this.featureKeys = List.copyOf(featureKeys);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Map<String, String> context = contextExtractor.extract(new ServletServerHttpRequest(request).getHeaders());
+        FeatureSnapshot snapshot = prefetch(context);
+        request.setAttribute(FeatureSnapshot.CONTEXT_KEY, snapshot);
+
+        FeatureEvaluationMemo memo = FeatureEvaluationMemo.current();
+        boolean bindMemo = memo == null;
+        if (bindMemo) {
+            memo = new FeatureEvaluationMemo();
+            FeatureEvaluationMemo.bind(memo);
+        }
+        snapshot.rememberIn(memo);
+
+        FeatureSnapshot previous = FeatureSnapshot.bind(snapshot);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            FeatureSnapshot.bind(previous);
+            if (bindMemo) {
+                FeatureEvaluationMemo.bind(null);
+            }
+        }
+    }
+
+    private FeatureSnapshot prefetch(Map<String, String> context) {
+        if (featureKeys.isEmpty()) {
+            return new FeatureSnapshot(environmentId, context, Map.of());
+        }
+        try {
+            return FeatureSnapshot.of(environmentId, context,
+                    client.isEnabledAll(FeatureSnapshot.requests(environmentId, featureKeys, context)));
+        } catch (FeatureToggleException e) {
+            logger.debug("Could not prefetch {} feature flags for context {}: {}",
+                    featureKeys.size(), context, e.getMessage());
+            return new FeatureSnapshot(environmentId, context, Map.of());
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_ORDER;
+    }
+}
@@ -0,0 +1,78 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link FeatureSnapshotFilter}. Evaluates the declared
+ * flags for the caller's context in one bulk call through the
+ * {@link ReactiveFluxGateClient}, stores the {@link FeatureSnapshot} in the
+ * exchange attributes and the Reactor context, and seeds the exchange's
+ * {@link FeatureEvaluationMemo} with its results.
+ */
+public class FeatureSnapshotWebFilter implements WebFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureSnapshotWebFilter.class);
+
+    private final ReactiveFluxGateClient client;
+    private final FeatureContextExtractor contextExtractor;
+    private final String environmentId;
+    private final List<String> featureKeys;
+
+    /**
+     * Creates a prefetch filter.
+     *
+     * @param client           the client used for the bulk evaluation
+     * @param contextExtractor the extractor deriving the context from the
+     *                         request headers
+     * @param environmentId    the environment the flags are evaluated in
+     * @param featureKeys      the flags to prefetch
+     */
+    public FeatureSnapshotWebFilter(ReactiveFluxGateClient client, FeatureContextExtractor contextExtractor,
+            String environmentId, List<String> featureKeys) {
+        this.client = client;
+        this.contextExtractor = contextExtractor;
+        this.environmentId = environmentId;
+        this.featureKeys = List.copyOf(featureKeys);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Map<String, String> context = contextExtractor.extract(exchange.getRequest().getHeaders());
+        return prefetch(context).flatMap(snapshot -> Mono.deferContextual(reactorContext -> {
+            exchange.getAttributes().put(FeatureSnapshot.CONTEXT_KEY, snapshot);
+            FeatureEvaluationMemo memo = reactorContext.getOrDefault(FeatureEvaluationMemo.CONTEXT_KEY, null);
+            FeatureEvaluationMemo requestMemo = memo != null ? memo : new FeatureEvaluationMemo();
+            snapshot.rememberIn(requestMemo);
+            return chain.filter(exchange).contextWrite(downstream -> downstream
+                    .put(FeatureSnapshot.CONTEXT_KEY, snapshot)
+                    .put(FeatureEvaluationMemo.CONTEXT_KEY, requestMemo));
+        }));
+    }
+
+    private Mono<FeatureSnapshot> prefetch(Map<String, String> context) {
+        if (featureKeys.isEmpty()) {
+            return Mono.just(new FeatureSnapshot(environmentId, context, Map.of()));
+        }
+        return client.isEnabledAll(FeatureSnapshot.requests(environmentId, featureKeys, context))
+                .map(results -> FeatureSnapshot.of(environmentId, context, results))
+                .onErrorResume(FeatureToggleException.class, e -> {
+                    logger.debug("Could not prefetch {} feature flags for context {}: {}",
+                            featureKeys.size(), context, e.getMessage());
+                    return Mono.just(new FeatureSnapshot(environmentId, context, Map.of()));
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return FeatureSnapshotFilter.DEFAULT_ORDER;
+    }
+}
@@ -1,20 +1,42 @@
 package com.fluxgate.starter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
+import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.util.concurrent.Executor;
 
 /**
@@ -24,24 +46,119 @@ import java.util.concurrent.Executor;
  * classpath
  * and provides all necessary beans for feature toggle functionality.
  */
-@AutoConfiguration
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @EnableConfigurationProperties(FeatureToggleProperties.class)
 @ConditionalOnProperty(prefix = "feature.toggle", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableRetry
 public class FeatureToggleAutoConfiguration {
 
     private static final Logger logger = LoggerFactory.getLogger(FeatureToggleAutoConfiguration.class);
+    private static final String APACHE_HTTP_CLIENT = "org.apache.hc.client5.http.impl.classic.HttpClients";
+    private static final String JACKSON_CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+    private static final String JACKSON_SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
 
     @Bean
     @ConditionalOnMissingBean
     public RestTemplate featureToggleRestTemplate(FeatureToggleProperties properties, RestTemplateBuilder builder) {
+        if (properties.getTransport() == FeatureToggleProperties.Transport.HTTP2) {
+            logger.debug("Configuring HTTP/2 RestTemplate for FeatureToggle with timeouts: connect={}ms, read={}ms",
+                    properties.getConnectionTimeout().toMillis(), properties.getReadTimeout().toMillis());
+
+            return withMessageConverters(builder
+                    .requestFactory(() -> withResponseDecompression(FeatureToggleRequestFactories.http2(properties),
+                            properties))
+                    .build(), properties);
+        }
+
+        if (ClassUtils.isPresent(APACHE_HTTP_CLIENT, FeatureToggleAutoConfiguration.class.getClassLoader())) {
+            logger.debug("Configuring pooled RestTemplate for FeatureToggle: maxConnections={}, maxPerRoute={}, "
+                    + "keepAlive={}, connectionTtl={}", properties.getHttpPoolMaxConnections(),
+                    properties.getHttpPoolMaxConnectionsPerRoute(), properties.getHttpPoolKeepAlive(),
+                    properties.getHttpPoolConnectionTtl());
+
+            // Timeouts are applied to the pooled connections by the request factory itself
+            return withMessageConverters(builder
+                    .requestFactory(() -> withResponseDecompression(FeatureToggleRequestFactories.pooled(properties),
+                            properties))
+                    .build(), properties);
+        }
+
         logger.debug("Configuring RestTemplate for FeatureToggle with timeouts: connect={}ms, read={}ms",
                 properties.getConnectionTimeout().toMillis(), properties.getReadTimeout().toMillis());
 
-        return builder
+        return withMessageConverters(builder
                 .setConnectTimeout(properties.getConnectionTimeout())
                 .setReadTimeout(properties.getReadTimeout())
-                .build();
+                .requestFactory(settings -> withResponseDecompression(ClientHttpRequestFactories.get(settings),
+                        properties))
+                .build(), properties);
+    }
+
+    /**
+     * Decorates the request factory to ask for and decompress compressed
+     * responses, if compression is enabled. Unlike an interceptor, this does
+     * not make RestTemplate buffer request bodies.
+     */
+    private static ClientHttpRequestFactory withResponseDecompression(ClientHttpRequestFactory requestFactory,
+            FeatureToggleProperties properties) {
+        return properties.isCompressionEnabled() ? new DecompressingRequestFactory(requestFactory) : requestFactory;
+    }
+
+    /**
+     * Puts the streaming evaluation payload writer in front of the converters
+     * the builder configured, unless it is disabled, adds the converter of
+     * the configured wire format and, if enabled, the request compression
+     * interceptor.
+     */
+    private static RestTemplate withMessageConverters(RestTemplate restTemplate, FeatureToggleProperties properties) {
+        if (properties.isStreamingPayloadEnabled()) {
+            logger.debug("Writing FeatureToggle evaluation payloads with the streaming JSON writer");
+            restTemplate.getMessageConverters().add(0, new FeatureEvaluationPayloadConverter(properties));
+        }
+        return withCompression(withWireFormatConverter(restTemplate, properties), properties);
+    }
+
+    /**
+     * Adds the interceptor that compresses large request bodies, if request
+     * compression is enabled. Interceptors make RestTemplate buffer every
+     * request body, so it is not added for response compression alone.
+     */
+    private static RestTemplate withCompression(RestTemplate restTemplate, FeatureToggleProperties properties) {
+        if (!properties.isCompressionEnabled() || !properties.isRequestCompressionEnabled()) {
+            return restTemplate;
+        }
+        logger.debug("Compressing FeatureToggle request bodies from {}", properties.getRequestCompressionThreshold());
+        restTemplate.getInterceptors().add(new FeatureToggleCompressionInterceptor(properties));
+        return restTemplate;
+    }
+
+    /**
+     * Adds a converter for the configured binary wire format unless the
+     * RestTemplate already has one.
+     */
+    private static RestTemplate withWireFormatConverter(RestTemplate restTemplate,
+            FeatureToggleProperties properties) {
+        MediaType binaryType = WireFormatNegotiator.mediaType(properties.getWireFormat());
+        if (binaryType == null) {
+            return restTemplate;
+        }
+        String factoryClass = properties.getWireFormat() == FeatureToggleProperties.WireFormat.CBOR
+                ? JACKSON_CBOR_FACTORY
+                : JACKSON_SMILE_FACTORY;
+        if (!ClassUtils.isPresent(factoryClass, FeatureToggleAutoConfiguration.class.getClassLoader())) {
+            throw new IllegalStateException("fluxgate.wire-format=" + properties.getWireFormat()
+                    + " requires " + factoryClass + " on the classpath");
+        }
+        boolean present = restTemplate.getMessageConverters().stream()
+                .anyMatch(converter -> converter.getSupportedMediaTypes().contains(binaryType));
+        if (!present) {
+            restTemplate.getMessageConverters().add(
+                    properties.getWireFormat() == FeatureToggleProperties.WireFormat.CBOR
+                            ? new MappingJackson2CborHttpMessageConverter()
+                            : new MappingJackson2SmileHttpMessageConverter());
+        }
+        logger.debug("Offering {} to the edge server for FeatureToggle evaluations", binaryType);
+        return restTemplate;
     }
 
     @Bean
@@ -58,17 +175,338 @@ public class FeatureToggleAutoConfiguration {
         return executor;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "fluxgate", name = "caching-enabled", havingValue = "true")
+    public FeatureEvaluationCache featureEvaluationCache(FeatureToggleProperties properties) {
+        logger.debug("Configuring FeatureToggle evaluation cache: ttl={}, maxSize={}",
+                properties.getCacheEntryTtl(), properties.getCacheMaxSize());
+        return FeatureEvaluationCache.from(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "fluxgate", name = "circuit-breaker-enabled", havingValue = "true")
+    public FeatureToggleCircuitBreaker featureToggleCircuitBreaker(FeatureToggleProperties properties) {
+        logger.debug("Configuring FeatureToggle circuit breaker: failureRateThreshold={}%, slidingWindowSize={}, "
+                + "openDuration={}, halfOpenProbes={}", properties.getCircuitBreakerFailureRateThreshold(),
+                properties.getCircuitBreakerSlidingWindowSize(), properties.getCircuitBreakerOpenDuration(),
+                properties.getCircuitBreakerHalfOpenProbes());
+        return FeatureToggleCircuitBreaker.from(properties);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public FluxGateClient featureToggleClient(RestTemplate featureToggleRestTemplate,
             FeatureToggleProperties properties,
-            Executor featureToggleAsyncExecutor) {
+            Executor featureToggleAsyncExecutor,
+            ObjectProvider<FeatureEvaluationCache> featureEvaluationCache,
+            ObjectProvider<ReactiveFluxGateClient> featureToggleReactiveClient,
+            ObjectProvider<LocalFeatureEvaluator> featureToggleLocalEvaluator,
+            ObjectProvider<FeatureToggleMetrics> featureToggleMetrics,
+            ObjectProvider<FeatureToggleCircuitBreaker> featureToggleCircuitBreaker) {
         logger.info("Creating FeatureToggleClient with base URL: {}", properties.getBaseUrl());
 
         return new DefaultFeatureToggleClient(
                 featureToggleRestTemplate,
                 properties,
-                featureToggleAsyncExecutor);
+                featureToggleAsyncExecutor,
+                featureEvaluationCache.getIfAvailable(),
+                featureToggleReactiveClient.getIfAvailable(),
+                featureToggleLocalEvaluator.getIfAvailable(),
+                featureToggleMetrics.getIfAvailable(),
+                featureToggleCircuitBreaker.getIfAvailable());
+    }
+
+    /**
+     * Configuration for a virtual-thread-per-task async executor.
+     * Only activated on Java 21 or later; the configuration classes nested in
+     * this class are processed before its own bean methods, so this executor
+     * takes precedence over the platform thread pool.
+     */
+    @Configuration
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    @ConditionalOnProperty(prefix = "fluxgate", name = "virtual-threads-enabled", havingValue = "true", matchIfMissing = true)
+    public static class FeatureToggleVirtualThreadConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public Executor featureToggleAsyncExecutor() {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("feature-toggle-async-");
+            executor.setVirtualThreads(true);
+
+            logger.debug("Configured virtual thread async executor for FeatureToggle");
+            return executor;
+        }
+    }
+
+    /**
+     * Configuration for downloading and refreshing the flag ruleset.
+     * Activated in LOCAL evaluation mode, and in REMOTE mode when caching is
+     * enabled and an environment is configured, where a changed ruleset
+     * invalidates the evaluation cache.
+     */
+    @Configuration
+    @Conditional(RulesetSynchronizationCondition.class)
+    public static class FeatureToggleRulesetConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FlagRulesetStore featureToggleRulesetStore(ObjectProvider<FeatureEvaluationCache> featureEvaluationCache,
+                ObjectProvider<FlagRulesetSnapshot> featureToggleRulesetSnapshot) {
+            FlagRulesetStore store = new FlagRulesetStore();
+            featureEvaluationCache.ifAvailable(cache -> store.addListener(new FeatureEvaluationCacheInvalidator(cache)));
+            featureToggleRulesetSnapshot.ifAvailable(snapshot -> {
+                // Serve evaluations from the last known ruleset until the edge server answers
+                FlagRuleset ruleset = snapshot.load();
+                if (ruleset != null) {
+                    // Provisional, so the edge server's ruleset replaces it even with a lower version
+                    store.restore(ruleset);
+                    logger.info("Restored flag ruleset version {} for environment {} from {}",
+                            ruleset.getVersion(), ruleset.getEnvironmentId(), snapshot.getFile());
+                }
+                store.addListener(snapshot);
+            });
+            return store;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fluxgate", name = "ruleset-snapshot-file")
+        public FlagRulesetSnapshot featureToggleRulesetSnapshot(FeatureToggleProperties properties,
+                ObjectProvider<ObjectMapper> objectMapper) {
+            logger.debug("Persisting flag ruleset snapshots to {}", properties.getRulesetSnapshotFile());
+            return new FlagRulesetSnapshot(Path.of(properties.getRulesetSnapshotFile()), properties.getEnvironmentId(),
+                    objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FlagRulesetFetcher featureToggleRulesetFetcher(RestTemplate featureToggleRestTemplate,
+                FeatureToggleProperties properties) {
+            if (!StringUtils.hasText(properties.getEnvironmentId())) {
+                throw new IllegalStateException(
+                        "fluxgate.environment-id must be set when fluxgate.evaluation-mode is LOCAL");
+            }
+            return new FlagRulesetFetcher(featureToggleRestTemplate, properties);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fluxgate", name = "ruleset-polling-enabled", havingValue = "true", matchIfMissing = true)
+        public FlagRulesetPoller featureToggleRulesetPoller(FlagRulesetFetcher featureToggleRulesetFetcher,
+                FlagRulesetStore featureToggleRulesetStore, FeatureToggleProperties properties) {
+            FlagRulesetPoller poller = new FlagRulesetPoller(featureToggleRulesetFetcher, featureToggleRulesetStore,
+                    properties.getRulesetPollInterval());
+            poller.start();
+            return poller;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "fluxgate", name = "ruleset-streaming-enabled", havingValue = "true")
+        public FlagRulesetStreamer featureToggleRulesetStreamer(FlagRulesetFetcher featureToggleRulesetFetcher,
+                FlagRulesetStore featureToggleRulesetStore, FeatureToggleProperties properties,
+                ObjectProvider<ObjectMapper> objectMapper) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(properties.getConnectionTimeout())
+                    .build();
+            FlagRulesetStreamer streamer = new FlagRulesetStreamer(httpClient, properties,
+                    featureToggleRulesetFetcher, featureToggleRulesetStore, objectMapper.getIfAvailable(ObjectMapper::new));
+            streamer.start();
+            return streamer;
+        }
+    }
+
+    /**
+     * Configuration for local evaluation against the downloaded flag ruleset.
+     * Only activated when the evaluation mode is LOCAL.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "fluxgate", name = "evaluation-mode", havingValue = "local")
+    public static class FeatureToggleLocalEvaluationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LocalFeatureEvaluator featureToggleLocalEvaluator(FlagRulesetStore featureToggleRulesetStore,
+                FlagRulesetFetcher featureToggleRulesetFetcher,
+                ObjectProvider<FlagRulesetPoller> featureToggleRulesetPoller,
+                ObjectProvider<FlagRulesetStreamer> featureToggleRulesetStreamer) {
+            // The poller and the streamer load the ruleset when they start; without them, load it once here
+            FlagRulesetPoller poller = featureToggleRulesetPoller.getIfAvailable();
+            FlagRulesetStreamer streamer = featureToggleRulesetStreamer.getIfAvailable();
+            if (poller == null && streamer == null && !featureToggleRulesetStore.isLoaded()) {
+                try {
+                    featureToggleRulesetStore.update(featureToggleRulesetFetcher.fetch());
+                } catch (FeatureToggleException e) {
+                    // Evaluations fail over to their fallback values until a ruleset is loaded
+                    logger.warn("Could not load flag ruleset for local evaluation: {}", e.getMessage());
+                }
+            }
+            return new LocalFeatureEvaluator(featureToggleRulesetStore);
+        }
+    }
+
+    /**
+     * Configuration for Micrometer metrics.
+     * Only activated when Micrometer is on the classpath and a MeterRegistry
+     * bean is available.
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "fluxgate", name = "metrics-enabled", havingValue = "true", matchIfMissing = true)
+    public static class FeatureToggleMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureToggleMetrics featureToggleMetrics(MeterRegistry meterRegistry,
+                ObjectProvider<FeatureToggleCircuitBreaker> featureToggleCircuitBreaker) {
+            logger.info("Enabling FeatureToggle Micrometer metrics");
+            MicrometerFeatureToggleMetrics metrics = new MicrometerFeatureToggleMetrics(meterRegistry);
+            featureToggleCircuitBreaker.ifAvailable(metrics::bindCircuitBreaker);
+            return metrics;
+        }
+    }
+
+    /**
+     * Configuration for the non-blocking WebClient-based client.
+     * Only activated when Spring WebFlux is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(WebClient.class)
+    @ConditionalOnProperty(prefix = "fluxgate", name = "reactive-client-enabled", havingValue = "true", matchIfMissing = true)
+    public static class FeatureToggleReactiveConfiguration {
+
+        private static final String REACTOR_NETTY_CLIENT = "reactor.netty.http.client.HttpClient";
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveFluxGateClient featureToggleReactiveClient(FeatureToggleProperties properties,
+                ObjectProvider<WebClient.Builder> webClientBuilder,
+                ObjectProvider<FeatureEvaluationCache> featureEvaluationCache,
+                ObjectProvider<LocalFeatureEvaluator> featureToggleLocalEvaluator,
+                ObjectProvider<FeatureToggleMetrics> featureToggleMetrics,
+                ObjectProvider<FeatureToggleCircuitBreaker> featureToggleCircuitBreaker) {
+            logger.info("Creating ReactiveFluxGateClient with base URL: {}", properties.getBaseUrl());
+
+            WebClient.Builder builder = webClientBuilder.getIfAvailable(() -> {
+                WebClient.Builder defaultBuilder = WebClient.builder();
+                if (!ClassUtils.isPresent(REACTOR_NETTY_CLIENT, FeatureToggleReactiveConfiguration.class.getClassLoader())) {
+                    // Without Reactor Netty, use the JDK client so the connect timeout is honoured
+                    defaultBuilder.clientConnector(new JdkClientHttpConnector(HttpClient.newBuilder()
+                            .connectTimeout(properties.getConnectionTimeout())
+                            .build()));
+                }
+                return defaultBuilder;
+            });
+
+            return new WebClientFluxGateClient(builder.build(), properties, featureEvaluationCache.getIfAvailable(),
+                    featureToggleLocalEvaluator.getIfAvailable(), featureToggleMetrics.getIfAvailable(),
+                    featureToggleCircuitBreaker.getIfAvailable());
+        }
+    }
+
+    /**
+     * Configuration for request-scoped memoization of evaluations in servlet
+     * applications.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    @ConditionalOnProperty(prefix = "fluxgate", name = "request-memoization-enabled", havingValue = "true")
+    public static class FeatureToggleServletMemoConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureEvaluationMemoFilter featureEvaluationMemoFilter() {
+            logger.debug("Enabling request-scoped FeatureToggle memoization for servlet requests");
+            return new FeatureEvaluationMemoFilter();
+        }
+    }
+
+    /**
+     * Configuration for request-scoped memoization of evaluations in WebFlux
+     * applications.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "reactor.core.publisher.Mono")
+    @ConditionalOnProperty(prefix = "fluxgate", name = "request-memoization-enabled", havingValue = "true")
+    public static class FeatureToggleReactiveMemoConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureEvaluationMemoWebFilter featureEvaluationMemoWebFilter() {
+            logger.debug("Enabling request-scoped FeatureToggle memoization for WebFlux exchanges");
+            return new FeatureEvaluationMemoWebFilter();
+        }
+    }
+
+    /**
+     * Configuration for prefetching the declared flags at the start of each
+     * servlet request.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    @ConditionalOnProperty(prefix = "fluxgate", name = "prefetch-enabled", havingValue = "true")
+    public static class FeatureToggleServletPrefetchConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureContextExtractor featureContextExtractor(FeatureToggleProperties properties) {
+            return FeatureContextExtractor.fromHeaders(properties.getPrefetchContextHeaders());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureSnapshotFilter featureSnapshotFilter(FluxGateClient featureToggleClient,
+                FeatureContextExtractor featureContextExtractor, FeatureToggleProperties properties) {
+            requirePrefetchEnvironment(properties);
+            logger.debug("Prefetching {} feature flags per servlet request", properties.getPrefetchFeatures().size());
+            return new FeatureSnapshotFilter(featureToggleClient, featureContextExtractor,
+                    properties.getEnvironmentId(), properties.getPrefetchFeatures());
+        }
+    }
+
+    /**
+     * Configuration for prefetching the declared flags at the start of each
+     * WebFlux exchange.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(WebClient.class)
+    @ConditionalOnProperty(prefix = "fluxgate", name = "prefetch-enabled", havingValue = "true")
+    public static class FeatureToggleReactivePrefetchConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureContextExtractor featureContextExtractor(FeatureToggleProperties properties) {
+            return FeatureContextExtractor.fromHeaders(properties.getPrefetchContextHeaders());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeatureSnapshotWebFilter featureSnapshotWebFilter(
+                ObjectProvider<ReactiveFluxGateClient> featureToggleReactiveClient,
+                FeatureContextExtractor featureContextExtractor, FeatureToggleProperties properties) {
+            requirePrefetchEnvironment(properties);
+            ReactiveFluxGateClient client = featureToggleReactiveClient.getIfAvailable();
+            if (client == null) {
+                throw new IllegalStateException(
+                        "A ReactiveFluxGateClient is required when fluxgate.prefetch-enabled is true in a WebFlux application");
+            }
+            logger.debug("Prefetching {} feature flags per WebFlux exchange", properties.getPrefetchFeatures().size());
+            return new FeatureSnapshotWebFilter(client, featureContextExtractor, properties.getEnvironmentId(),
+                    properties.getPrefetchFeatures());
+        }
+    }
+
+    private static void requirePrefetchEnvironment(FeatureToggleProperties properties) {
+        if (!StringUtils.hasText(properties.getEnvironmentId())) {
+            throw new IllegalStateException("fluxgate.environment-id must be set when fluxgate.prefetch-enabled is true");
+        }
     }
 
     /**
@@ -83,9 +521,40 @@ public class FeatureToggleAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public FeatureToggleHealthIndicator featureToggleHealthIndicator(FluxGateClient featureToggleClient) {
+        public FeatureToggleHealthIndicator featureToggleHealthIndicator(FluxGateClient featureToggleClient,
+                ObjectProvider<FeatureToggleCircuitBreaker> featureToggleCircuitBreaker) {
             logger.info("Enabling FeatureToggle health indicator");
-            return new FeatureToggleHealthIndicator(featureToggleClient);
+            return new FeatureToggleHealthIndicator(featureToggleClient, featureToggleCircuitBreaker.getIfAvailable());
+        }
+    }
+
+    static class RulesetSynchronizationCondition extends AnyNestedCondition {
+
+        RulesetSynchronizationCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "fluxgate", name = "evaluation-mode", havingValue = "local")
+        static class LocalEvaluation {
+        }
+
+        @Conditional(CachedRemoteEvaluationCondition.class)
+        static class CachedRemoteEvaluation {
+        }
+    }
+
+    static class CachedRemoteEvaluationCondition extends AllNestedConditions {
+
+        CachedRemoteEvaluationCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "fluxgate", name = "caching-enabled", havingValue = "true")
+        static class CachingEnabled {
+        }
+
+        @ConditionalOnProperty(prefix = "fluxgate", name = "environment-id")
+        static class EnvironmentConfigured {
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Circuit breaker guarding calls to the FluxGate Edge Server.
+ *
+ * While CLOSED, the outcome of the most recent calls is recorded in a
+ * count-based sliding window. Once the window is full and the share of failed
+ * calls reaches the threshold, the breaker opens and rejects calls without
+ * contacting the edge server. After the open duration it lets a fixed number
+ * of probe calls through (HALF_OPEN): it closes again when all of them
+ * succeed and reopens as soon as one fails.
+ *
+ * Only network errors and 5xx responses count as failures; a 4xx response
+ * shows the edge server is reachable and counts as a success.
+ */
+public class FeatureToggleCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureToggleCircuitBreaker.class);
+
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+    private final Clock clock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param failureRateThreshold the failure percentage at which the breaker
+     *                             opens
+     * @param slidingWindowSize    the number of recent calls the failure rate
+     *                             is computed over
+     * @param openDuration         how long the breaker stays open
+     * @param halfOpenProbes       the number of probe calls let through after
+     *                             the open duration
+     */
+    public FeatureToggleCircuitBreaker(int failureRateThreshold, int slidingWindowSize, Duration openDuration,
+            int halfOpenProbes) {
+        this(failureRateThreshold, slidingWindowSize, openDuration, halfOpenProbes, Clock.systemUTC());
+    }
+
+    FeatureToggleCircuitBreaker(int failureRateThreshold, int slidingWindowSize, Duration openDuration,
+            int halfOpenProbes, Clock clock) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Circuit breaker failure rate threshold must be between 1 and 100");
+        }
+        if (slidingWindowSize <= 0) {
+            throw new IllegalArgumentException("Circuit breaker sliding window size must be positive");
+        }
+        if (openDuration == null || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("Circuit breaker open duration must be positive");
+        }
+        if (halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("Circuit breaker half-open probe count must be positive");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[slidingWindowSize];
+        this.openDurationMillis = openDuration.toMillis();
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a circuit breaker configured from the given properties.
+     *
+     * @param properties the starter configuration
+     * @return a new circuit breaker
+     */
+    public static FeatureToggleCircuitBreaker from(FeatureToggleProperties properties) {
+        return new FeatureToggleCircuitBreaker(properties.getCircuitBreakerFailureRateThreshold(),
+                properties.getCircuitBreakerSlidingWindowSize(), properties.getCircuitBreakerOpenDuration(),
+                properties.getCircuitBreakerHalfOpenProbes());
+    }
+
+    /**
+     * Returns whether a call may be made. A caller that is granted permission
+     * must report the outcome through {@link #onSuccess()}, {@link #onError}
+     * or {@link #releasePermission()}.
+     *
+     * @return true if the call may go to the edge server
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < openDurationMillis) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount == window.length && windowFailures * 100 >= failureRateThreshold * window.length) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Records a call that failed with the given error, counting it as a
+     * failure only if it is a network error or a 5xx response.
+     *
+     * @param error the error the call failed with
+     */
+    public void onError(Throwable error) {
+        if (ScheduledRetryPolicy.isRetryable(error)) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+    /**
+     * Gives back a permission without recording an outcome, for example when
+     * the call was cancelled.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && probesIssued > probesSucceeded) {
+            probesIssued--;
+        }
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the breaker state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the percentage of failed calls in the sliding window.
+     *
+     * @return the failure rate, or -1 if the window is not full yet
+     */
+    public synchronized float getFailureRate() {
+        if (windowCount < window.length) {
+            return -1f;
+        }
+        return windowFailures * 100f / window.length;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        if (next == State.OPEN) {
+            logger.warn("Circuit breaker for the edge server opened; failing fast for {}ms", openDurationMillis);
+            openedAt = clock.millis();
+        } else {
+            logger.info("Circuit breaker for the edge server is now {}", next);
+        }
+        state = next;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * State of a {@link FeatureToggleCircuitBreaker}.
+     */
+    public enum State {
+        /**
+         * Calls go through and their outcomes are recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected without contacting the edge server.
+         */
+        OPEN,
+        /**
+         * A limited number of probe calls go through to test recovery.
+         */
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,93 @@
+package com.fluxgate.starter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the traffic between the RestTemplate and the edge server.
+ *
+ * Every request advertises {@code Accept-Encoding: gzip, deflate}, and gzip or
+ * deflate encoded responses are decompressed while the message converter
+ * reads them, so large ruleset and batch responses are never held in memory
+ * in compressed and decompressed form at once. Transports that decode
+ * responses themselves, such as Apache HttpClient, remove the
+ * {@code Content-Encoding} header and are passed through unchanged.
+ * Optionally, request bodies of at least a configured size are sent gzip
+ * compressed.
+ *
+ * Like any interceptor, it makes RestTemplate buffer each request body in
+ * memory before sending it, which also applies to bodies written by the
+ * streaming {@link FeatureEvaluationPayloadConverter}. The auto-configuration
+ * therefore only registers it when request compression is enabled and
+ * decompresses responses in the request factory otherwise.
+ */
+public class FeatureToggleCompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String ACCEPT_ENCODING = DecompressingRequestFactory.ACCEPT_ENCODING;
+
+    private final long requestCompressionThreshold;
+
+    /**
+     * Creates an interceptor configured from the given properties.
+     *
+     * @param properties the starter configuration
+     */
+    public FeatureToggleCompressionInterceptor(FeatureToggleProperties properties) {
+        this(properties.isRequestCompressionEnabled() ? properties.getRequestCompressionThreshold().toBytes() : -1);
+    }
+
+    /**
+     * Creates an interceptor.
+     *
+     * @param requestCompressionThreshold the request body size in bytes from
+     *                                    which bodies are gzip compressed, or
+     *                                    a negative value to never compress
+     *                                    request bodies
+     */
+    FeatureToggleCompressionInterceptor(long requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+
+        byte[] sentBody = body;
+        if (requestCompressionThreshold >= 0 && body.length > 0 && body.length >= requestCompressionThreshold
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            sentBody = gzip(body);
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(sentBody.length);
+        }
+
+        ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        }, sentBody);
+
+        return DecompressingRequestFactory.decompress(response);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -6,18 +6,45 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 /**
  * Health indicator for the FluxGate Feature Toggle Edge Server connectivity.
  * This integrates with Spring Boot Actuator to provide health check
- * information.
+ * information. When a circuit breaker is configured, its state is reported as
+ * well.
  */
 public class FeatureToggleHealthIndicator implements HealthIndicator {
 
     private final FluxGateClient featureToggleClient;
+    private final FeatureToggleCircuitBreaker circuitBreaker;
 
     public FeatureToggleHealthIndicator(FluxGateClient featureToggleClient) {
+        this(featureToggleClient, null);
+    }
+
+    /**
+     * Creates a health indicator that also reports the state of the given
+     * circuit breaker.
+     *
+     * @param featureToggleClient the client used to ping the edge server
+     * @param circuitBreaker      the circuit breaker to report on, or null
+     */
+    public FeatureToggleHealthIndicator(FluxGateClient featureToggleClient,
+            FeatureToggleCircuitBreaker circuitBreaker) {
         this.featureToggleClient = featureToggleClient;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
     public Health health() {
+        Health health = checkEdgeServer();
+        if (circuitBreaker == null) {
+            return health;
+        }
+        return Health.status(health.getStatus())
+                .withDetails(health.getDetails())
+                .withDetail("circuitBreaker", circuitBreaker.getState().name())
+                .withDetail("circuitBreakerFailureRate", circuitBreaker.getFailureRate())
+                .build();
+    }
+
+    private Health checkEdgeServer() {
         try {
             boolean isHealthy = featureToggleClient.isHealthy();
 
@@ -0,0 +1,91 @@
+package com.fluxgate.starter;
+
+import java.util.Locale;
+
+/**
+ * Receives measurements of feature evaluations made by the clients.
+ * The default methods do nothing, so implementations only override what they
+ * record; {@link #NOOP} is used when metrics are disabled.
+ */
+public interface FeatureToggleMetrics {
+
+    /**
+     * Metrics implementation that records nothing.
+     */
+    FeatureToggleMetrics NOOP = new FeatureToggleMetrics() {
+    };
+
+    /**
+     * Records a completed evaluation.
+     *
+     * @param featureKey    the evaluated feature
+     * @param outcome       how the evaluation ended
+     * @param durationNanos how long the evaluation took, in nanoseconds
+     */
+    default void recordEvaluation(String featureKey, Outcome outcome, long durationNanos) {
+    }
+
+    /**
+     * Records that an evaluation is retried after a failed attempt.
+     *
+     * @param featureKey the evaluated feature
+     */
+    default void recordRetry(String featureKey) {
+    }
+
+    /**
+     * Records that a fallback value was returned instead of an evaluation
+     * result.
+     *
+     * @param featureKey the evaluated feature
+     */
+    default void recordFallback(String featureKey) {
+    }
+
+    /**
+     * Records a failed evaluation.
+     *
+     * @param featureKey the evaluated feature
+     * @param exception  the failure
+     */
+    default void recordError(String featureKey, FeatureToggleException exception) {
+    }
+
+    /**
+     * Records that a call to the edge server was rejected by the open circuit
+     * breaker.
+     *
+     * @param featureKey the evaluated feature
+     */
+    default void recordShortCircuit(String featureKey) {
+    }
+
+    /**
+     * How an evaluation ended.
+     */
+    enum Outcome {
+        ENABLED,
+        DISABLED,
+        ERROR,
+        FALLBACK;
+
+        /**
+         * Returns the outcome for an evaluation result.
+         *
+         * @param enabled the evaluation result
+         * @return ENABLED or DISABLED
+         */
+        public static Outcome of(boolean enabled) {
+            return enabled ? ENABLED : DISABLED;
+        }
+
+        /**
+         * Returns the value used for the outcome tag.
+         *
+         * @return the lower-case outcome name
+         */
+        public String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
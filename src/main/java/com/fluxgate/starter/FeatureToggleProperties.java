@@ -1,8 +1,13 @@
 package com.fluxgate.starter;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for FluxGate Feature Toggle integration.
@@ -135,6 +140,309 @@ public class FeatureToggleProperties {
      */
     private int cacheMaxSize = 1000;
 
+    /**
+     * Whether concurrent evaluations of the same feature, environment and context
+     * share a single in-flight request to the Edge Server. All waiting callers
+     * receive the result, or the error, of that one request.
+     * Default: true
+     */
+    private boolean requestCoalescingEnabled = true;
+
+    /**
+     * Whether to serve cached results that are older than the TTL while they are
+     * refreshed in the background on the async executor, instead of blocking
+     * the caller on a fresh Edge Server call.
+     * Only effective if caching is enabled.
+     * Default: false
+     */
+    private boolean cacheStaleWhileRevalidate = false;
+
+    /**
+     * How long past its TTL a cached result may still be served while it is being
+     * refreshed. Once this bound is exceeded the entry is dropped and callers
+     * wait for a fresh evaluation, or fall back if the Edge Server is unavailable.
+     * Only effective if stale-while-revalidate is enabled.
+     * Default: 5 minutes
+     */
+    private Duration cacheMaxStaleness = Duration.ofMinutes(5);
+
+    /**
+     * Whether bulk evaluations are sent to the Edge Server batch endpoint in a
+     * single request. When disabled, or when the server does not provide a batch
+     * endpoint, bulk evaluations fan out to parallel single evaluations.
+     * Default: true
+     */
+    private boolean batchEvaluationEnabled = true;
+
+    /**
+     * Whether single evaluations issued concurrently are collected into batches
+     * and sent to the Edge Server batch endpoint in one request.
+     * Default: false
+     */
+    private boolean microBatchingEnabled = false;
+
+    /**
+     * Maximum number of evaluations sent in one micro-batch. A batch is sent as
+     * soon as it reaches this size.
+     * Only effective if micro-batching is enabled.
+     * Default: 50
+     */
+    private int microBatchMaxSize = 50;
+
+    /**
+     * Maximum time an evaluation waits for other evaluations to join its batch.
+     * Only effective if micro-batching is enabled.
+     * Default: 2 milliseconds
+     */
+    private Duration microBatchMaxLinger = Duration.ofMillis(2);
+
+    /**
+     * Whether to auto-configure the WebClient-based ReactiveFluxGateClient when
+     * Spring WebFlux is on the classpath. When enabled, the CompletableFuture
+     * methods of FluxGateClient delegate to it instead of running blocking calls
+     * on the async executor.
+     * Default: true
+     */
+    private boolean reactiveClientEnabled = true;
+
+    /**
+     * Where feature flags are evaluated. REMOTE sends every evaluation to the
+     * edge server; LOCAL downloads the flag ruleset of {@link #environmentId}
+     * and evaluates flags in-process.
+     */
+    private EvaluationMode evaluationMode = EvaluationMode.REMOTE;
+
+    /**
+     * Environment whose flag ruleset is downloaded for local evaluation.
+     * Required when the evaluation mode is LOCAL.
+     */
+    private String environmentId;
+
+    /**
+     * Whether the flag ruleset is refreshed by polling the edge server.
+     * Polling applies in LOCAL evaluation mode, and in REMOTE mode when caching
+     * is enabled and {@link #environmentId} is set, where a changed ruleset
+     * invalidates the evaluation cache.
+     */
+    private boolean rulesetPollingEnabled = true;
+
+    /**
+     * Delay between two polls of the flag ruleset.
+     * Default: 30 seconds
+     */
+    private Duration rulesetPollInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether flag ruleset changes are received through a Server-Sent Events
+     * stream from the edge server. Applies wherever ruleset polling applies;
+     * polling may stay enabled as a safety net.
+     */
+    private boolean rulesetStreamingEnabled = false;
+
+    /**
+     * Initial delay before reconnecting a dropped ruleset stream. The delay
+     * doubles with every failed attempt.
+     * Default: 1 second
+     */
+    private Duration rulesetStreamReconnectDelay = Duration.ofSeconds(1);
+
+    /**
+     * Maximum delay between two ruleset stream reconnect attempts.
+     * Default: 30 seconds
+     */
+    private Duration rulesetStreamMaxReconnectDelay = Duration.ofSeconds(30);
+
+    /**
+     * How long the ruleset stream may stay silent before the connection is
+     * considered dead and reopened. Any line counts as activity, including
+     * heartbeat comments, so this should be longer than the edge server's
+     * heartbeat interval.
+     * Default: 60 seconds
+     */
+    private Duration rulesetStreamIdleTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Local file the last known flag ruleset is persisted to. When set, the
+     * ruleset in this file is loaded at startup before the edge server is
+     * contacted, and the file is rewritten in the background whenever the
+     * ruleset changes. Applies wherever ruleset polling applies.
+     * Default: none (no snapshot)
+     */
+    private String rulesetSnapshotFile;
+
+    /**
+     * Whether the async executor runs each task on its own virtual thread when
+     * the application runs on Java 21 or later. On older Java versions a
+     * bounded platform thread pool is used regardless of this setting.
+     */
+    private boolean virtualThreadsEnabled = true;
+
+    /**
+     * Maximum number of pooled connections to the edge server.
+     * Only applies when Apache HttpClient 5 is on the classpath.
+     * Default: 50
+     */
+    private int httpPoolMaxConnections = 50;
+
+    /**
+     * Maximum number of pooled connections per route (host and port).
+     * Default: 20
+     */
+    private int httpPoolMaxConnectionsPerRoute = 20;
+
+    /**
+     * How long an idle connection may be kept alive for reuse, unless the
+     * edge server asks for a shorter time through its Keep-Alive header.
+     * Default: 30 seconds
+     */
+    private Duration httpPoolKeepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Idle time after which a background task closes pooled connections.
+     * Default: 60 seconds
+     */
+    private Duration httpPoolIdleEvictionTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Maximum lifetime of a pooled connection, after which it is closed
+     * instead of being reused, so DNS changes are picked up.
+     * Default: 5 minutes
+     */
+    private Duration httpPoolConnectionTtl = Duration.ofMinutes(5);
+
+    /**
+     * HTTP transport used by the auto-configured RestTemplate. HTTP1 uses a
+     * pooled Apache HttpClient when available; HTTP2 uses the JDK HttpClient
+     * and multiplexes concurrent requests over a shared connection.
+     */
+    private Transport transport = Transport.HTTP1;
+
+    /**
+     * How failed evaluations of the blocking client are retried. BLOCKING
+     * retries by sleeping on the thread running the evaluation; SCHEDULED
+     * retries the async methods on a timer, so no thread sleeps between
+     * attempts. The reactive client always retries on a timer. Attempts,
+     * backoff and deadline are the same in every case.
+     */
+    private RetryMode retryMode = RetryMode.BLOCKING;
+
+    /**
+     * Overall time budget for retrying an evaluation, measured from the first
+     * attempt. Blocking retries stop once it has passed; no scheduled retry is
+     * started after it.
+     * Default: 15 seconds
+     */
+    private Duration retryDeadline = Duration.ofSeconds(15);
+
+    /**
+     * Whether calls to the edge server go through a circuit breaker. While the
+     * breaker is open, evaluations fail fast and are served from the fallback
+     * or the cache instead of waiting for timeouts.
+     * Default: false
+     */
+    private boolean circuitBreakerEnabled = false;
+
+    /**
+     * Percentage of failed calls in the sliding window at or above which the
+     * circuit breaker opens. Only network errors and 5xx responses count as
+     * failures.
+     * Default: 50
+     */
+    private int circuitBreakerFailureRateThreshold = 50;
+
+    /**
+     * Number of most recent edge server calls the failure rate is computed
+     * over. The breaker does not open before the window is full.
+     * Default: 20
+     */
+    private int circuitBreakerSlidingWindowSize = 20;
+
+    /**
+     * How long the circuit breaker stays open before letting probe calls
+     * through.
+     * Default: 30 seconds
+     */
+    private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+
+    /**
+     * Number of probe calls let through when the open duration has passed.
+     * The breaker closes once all of them succeed and opens again if any fails.
+     * Default: 3
+     */
+    private int circuitBreakerHalfOpenProbes = 3;
+
+    /**
+     * Whether each inbound servlet request or WebFlux exchange memoizes its
+     * evaluations, so that the same feature, environment and context is
+     * evaluated at most once per request and yields the same value throughout
+     * it.
+     * Default: false
+     */
+    private boolean requestMemoizationEnabled = false;
+
+    /**
+     * Whether the flags listed in {@link #prefetchFeatures} are evaluated in one
+     * bulk call at the start of each inbound request, for the context derived
+     * from the request headers. Requires {@link #environmentId}.
+     * Default: false
+     */
+    private boolean prefetchEnabled = false;
+
+    /**
+     * Flags evaluated at the start of each inbound request when prefetching is
+     * enabled.
+     */
+    private List<String> prefetchFeatures = new ArrayList<>();
+
+    /**
+     * Request headers copied into the prefetch evaluation context, keyed by
+     * the context key they are stored under, for example
+     * {@code user_id: X-User-Id}.
+     */
+    private Map<String, String> prefetchContextHeaders = new LinkedHashMap<>();
+
+    /**
+     * Whether the auto-configured RestTemplate writes evaluate and batch
+     * evaluate bodies with a streaming JSON writer that reuses the
+     * pre-encoded environment and client credentials, instead of reflective
+     * data binding.
+     * Default: true
+     */
+    private boolean streamingPayloadEnabled = true;
+
+    /**
+     * Encoding offered to the edge server for evaluate, batch evaluate and
+     * ruleset calls. A binary format is only used once the edge server
+     * answers in it; until then, and if it rejects binary request bodies, the
+     * client speaks JSON.
+     * Default: JSON
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    /**
+     * Whether the auto-configured RestTemplate advertises gzip and deflate
+     * response encodings and decompresses compressed responses while they are
+     * read.
+     * Default: false
+     */
+    private boolean compressionEnabled = false;
+
+    /**
+     * Whether request bodies of at least
+     * {@link #requestCompressionThreshold} are sent gzip compressed. Only
+     * enable this when the edge server accepts gzip encoded requests.
+     * Requires compression-enabled.
+     * Default: false
+     */
+    private boolean requestCompressionEnabled = false;
+
+    /**
+     * Smallest request body that is gzip compressed when request compression
+     * is enabled.
+     * Default: 8KB
+     */
+    private DataSize requestCompressionThreshold = DataSize.ofKilobytes(8);
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -271,6 +579,326 @@ public class FeatureToggleProperties {
         this.cacheMaxSize = cacheMaxSize;
     }
 
+    public boolean isRequestCoalescingEnabled() {
+        return requestCoalescingEnabled;
+    }
+
+    public void setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+        this.requestCoalescingEnabled = requestCoalescingEnabled;
+    }
+
+    public boolean isCacheStaleWhileRevalidate() {
+        return cacheStaleWhileRevalidate;
+    }
+
+    public void setCacheStaleWhileRevalidate(boolean cacheStaleWhileRevalidate) {
+        this.cacheStaleWhileRevalidate = cacheStaleWhileRevalidate;
+    }
+
+    public Duration getCacheMaxStaleness() {
+        return cacheMaxStaleness;
+    }
+
+    public void setCacheMaxStaleness(Duration cacheMaxStaleness) {
+        this.cacheMaxStaleness = cacheMaxStaleness;
+    }
+
+    public boolean isBatchEvaluationEnabled() {
+        return batchEvaluationEnabled;
+    }
+
+    public void setBatchEvaluationEnabled(boolean batchEvaluationEnabled) {
+        this.batchEvaluationEnabled = batchEvaluationEnabled;
+    }
+
+    public boolean isMicroBatchingEnabled() {
+        return microBatchingEnabled;
+    }
+
+    public void setMicroBatchingEnabled(boolean microBatchingEnabled) {
+        this.microBatchingEnabled = microBatchingEnabled;
+    }
+
+    public int getMicroBatchMaxSize() {
+        return microBatchMaxSize;
+    }
+
+    public void setMicroBatchMaxSize(int microBatchMaxSize) {
+        this.microBatchMaxSize = microBatchMaxSize;
+    }
+
+    public Duration getMicroBatchMaxLinger() {
+        return microBatchMaxLinger;
+    }
+
+    public void setMicroBatchMaxLinger(Duration microBatchMaxLinger) {
+        this.microBatchMaxLinger = microBatchMaxLinger;
+    }
+
+    public boolean isReactiveClientEnabled() {
+        return reactiveClientEnabled;
+    }
+
+    public void setReactiveClientEnabled(boolean reactiveClientEnabled) {
+        this.reactiveClientEnabled = reactiveClientEnabled;
+    }
+
+    public EvaluationMode getEvaluationMode() {
+        return evaluationMode;
+    }
+
+    public void setEvaluationMode(EvaluationMode evaluationMode) {
+        this.evaluationMode = evaluationMode;
+    }
+
+    public String getEnvironmentId() {
+        return environmentId;
+    }
+
+    public void setEnvironmentId(String environmentId) {
+        this.environmentId = environmentId;
+    }
+
+    public boolean isRulesetPollingEnabled() {
+        return rulesetPollingEnabled;
+    }
+
+    public void setRulesetPollingEnabled(boolean rulesetPollingEnabled) {
+        this.rulesetPollingEnabled = rulesetPollingEnabled;
+    }
+
+    public Duration getRulesetPollInterval() {
+        return rulesetPollInterval;
+    }
+
+    public void setRulesetPollInterval(Duration rulesetPollInterval) {
+        this.rulesetPollInterval = rulesetPollInterval;
+    }
+
+    public boolean isRulesetStreamingEnabled() {
+        return rulesetStreamingEnabled;
+    }
+
+    public void setRulesetStreamingEnabled(boolean rulesetStreamingEnabled) {
+        this.rulesetStreamingEnabled = rulesetStreamingEnabled;
+    }
+
+    public Duration getRulesetStreamReconnectDelay() {
+        return rulesetStreamReconnectDelay;
+    }
+
+    public void setRulesetStreamReconnectDelay(Duration rulesetStreamReconnectDelay) {
+        this.rulesetStreamReconnectDelay = rulesetStreamReconnectDelay;
+    }
+
+    public Duration getRulesetStreamMaxReconnectDelay() {
+        return rulesetStreamMaxReconnectDelay;
+    }
+
+    public void setRulesetStreamMaxReconnectDelay(Duration rulesetStreamMaxReconnectDelay) {
+        this.rulesetStreamMaxReconnectDelay = rulesetStreamMaxReconnectDelay;
+    }
+
+    public Duration getRulesetStreamIdleTimeout() {
+        return rulesetStreamIdleTimeout;
+    }
+
+    public void setRulesetStreamIdleTimeout(Duration rulesetStreamIdleTimeout) {
+        this.rulesetStreamIdleTimeout = rulesetStreamIdleTimeout;
+    }
+
+    public String getRulesetSnapshotFile() {
+        return rulesetSnapshotFile;
+    }
+
+    public void setRulesetSnapshotFile(String rulesetSnapshotFile) {
+        this.rulesetSnapshotFile = rulesetSnapshotFile;
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public int getHttpPoolMaxConnections() {
+        return httpPoolMaxConnections;
+    }
+
+    public void setHttpPoolMaxConnections(int httpPoolMaxConnections) {
+        this.httpPoolMaxConnections = httpPoolMaxConnections;
+    }
+
+    public int getHttpPoolMaxConnectionsPerRoute() {
+        return httpPoolMaxConnectionsPerRoute;
+    }
+
+    public void setHttpPoolMaxConnectionsPerRoute(int httpPoolMaxConnectionsPerRoute) {
+        this.httpPoolMaxConnectionsPerRoute = httpPoolMaxConnectionsPerRoute;
+    }
+
+    public Duration getHttpPoolKeepAlive() {
+        return httpPoolKeepAlive;
+    }
+
+    public void setHttpPoolKeepAlive(Duration httpPoolKeepAlive) {
+        this.httpPoolKeepAlive = httpPoolKeepAlive;
+    }
+
+    public Duration getHttpPoolIdleEvictionTimeout() {
+        return httpPoolIdleEvictionTimeout;
+    }
+
+    public void setHttpPoolIdleEvictionTimeout(Duration httpPoolIdleEvictionTimeout) {
+        this.httpPoolIdleEvictionTimeout = httpPoolIdleEvictionTimeout;
+    }
+
+    public Duration getHttpPoolConnectionTtl() {
+        return httpPoolConnectionTtl;
+    }
+
+    public void setHttpPoolConnectionTtl(Duration httpPoolConnectionTtl) {
+        this.httpPoolConnectionTtl = httpPoolConnectionTtl;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public RetryMode getRetryMode() {
+        return retryMode;
+    }
+
+    public void setRetryMode(RetryMode retryMode) {
+        this.retryMode = retryMode;
+    }
+
+    public Duration getRetryDeadline() {
+        return retryDeadline;
+    }
+
+    public void setRetryDeadline(Duration retryDeadline) {
+        this.retryDeadline = retryDeadline;
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    public void setCircuitBreakerEnabled(boolean circuitBreakerEnabled) {
+        this.circuitBreakerEnabled = circuitBreakerEnabled;
+    }
+
+    public int getCircuitBreakerFailureRateThreshold() {
+        return circuitBreakerFailureRateThreshold;
+    }
+
+    public void setCircuitBreakerFailureRateThreshold(int circuitBreakerFailureRateThreshold) {
+        this.circuitBreakerFailureRateThreshold = circuitBreakerFailureRateThreshold;
+    }
+
+    public int getCircuitBreakerSlidingWindowSize() {
+        return circuitBreakerSlidingWindowSize;
+    }
+
+    public void setCircuitBreakerSlidingWindowSize(int circuitBreakerSlidingWindowSize) {
+        this.circuitBreakerSlidingWindowSize = circuitBreakerSlidingWindowSize;
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public void setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+    }
+
+    public int getCircuitBreakerHalfOpenProbes() {
+        return circuitBreakerHalfOpenProbes;
+    }
+
+    public void setCircuitBreakerHalfOpenProbes(int circuitBreakerHalfOpenProbes) {
+        this.circuitBreakerHalfOpenProbes = circuitBreakerHalfOpenProbes;
+    }
+
+    public boolean isRequestMemoizationEnabled() {
+        return requestMemoizationEnabled;
+    }
+
+    public void setRequestMemoizationEnabled(boolean requestMemoizationEnabled) {
+        this.requestMemoizationEnabled = requestMemoizationEnabled;
+    }
+
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        this.prefetchEnabled = prefetchEnabled;
+    }
+
+    public List<String> getPrefetchFeatures() {
+        return prefetchFeatures;
+    }
+
+    public void setPrefetchFeatures(List<String> prefetchFeatures) {
+        this.prefetchFeatures = prefetchFeatures;
+    }
+
+    public Map<String, String> getPrefetchContextHeaders() {
+        return prefetchContextHeaders;
+    }
+
+    public void setPrefetchContextHeaders(Map<String, String> prefetchContextHeaders) {
+        this.prefetchContextHeaders = prefetchContextHeaders;
+    }
+
+    public boolean isStreamingPayloadEnabled() {
+        return streamingPayloadEnabled;
+    }
+
+    public void setStreamingPayloadEnabled(boolean streamingPayloadEnabled) {
+        this.streamingPayloadEnabled = streamingPayloadEnabled;
+    }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public boolean isRequestCompressionEnabled() {
+        return requestCompressionEnabled;
+    }
+
+    public void setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+        this.requestCompressionEnabled = requestCompressionEnabled;
+    }
+
+    public DataSize getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public void setRequestCompressionThreshold(DataSize requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
     @Override
     public String toString() {
         return "FeatureToggleProperties{" +
@@ -291,6 +919,114 @@ public class FeatureToggleProperties {
                 ", cachingEnabled=" + cachingEnabled +
                 ", cacheEntryTtl=" + cacheEntryTtl +
                 ", cacheMaxSize=" + cacheMaxSize +
+                ", requestCoalescingEnabled=" + requestCoalescingEnabled +
+                ", cacheStaleWhileRevalidate=" + cacheStaleWhileRevalidate +
+                ", cacheMaxStaleness=" + cacheMaxStaleness +
+                ", batchEvaluationEnabled=" + batchEvaluationEnabled +
+                ", microBatchingEnabled=" + microBatchingEnabled +
+                ", microBatchMaxSize=" + microBatchMaxSize +
+                ", microBatchMaxLinger=" + microBatchMaxLinger +
+                ", reactiveClientEnabled=" + reactiveClientEnabled +
+                ", evaluationMode=" + evaluationMode +
+                ", environmentId='" + environmentId + '\'' +
+                ", rulesetPollingEnabled=" + rulesetPollingEnabled +
+                ", rulesetPollInterval=" + rulesetPollInterval +
+                ", rulesetStreamingEnabled=" + rulesetStreamingEnabled +
+                ", rulesetStreamReconnectDelay=" + rulesetStreamReconnectDelay +
+                ", rulesetStreamMaxReconnectDelay=" + rulesetStreamMaxReconnectDelay +
+                ", rulesetStreamIdleTimeout=" + rulesetStreamIdleTimeout +
+                ", rulesetSnapshotFile='" + rulesetSnapshotFile + '\'' +
+                ", virtualThreadsEnabled=" + virtualThreadsEnabled +
+                ", httpPoolMaxConnections=" + httpPoolMaxConnections +
+                ", httpPoolMaxConnectionsPerRoute=" + httpPoolMaxConnectionsPerRoute +
+                ", httpPoolKeepAlive=" + httpPoolKeepAlive +
+                ", httpPoolIdleEvictionTimeout=" + httpPoolIdleEvictionTimeout +
+                ", httpPoolConnectionTtl=" + httpPoolConnectionTtl +
+                ", transport=" + transport +
+                ", retryMode=" + retryMode +
+                ", retryDeadline=" + retryDeadline +
+                ", circuitBreakerEnabled=" + circuitBreakerEnabled +
+                ", circuitBreakerFailureRateThreshold=" + circuitBreakerFailureRateThreshold +
+                ", circuitBreakerSlidingWindowSize=" + circuitBreakerSlidingWindowSize +
+                ", circuitBreakerOpenDuration=" + circuitBreakerOpenDuration +
+                ", circuitBreakerHalfOpenProbes=" + circuitBreakerHalfOpenProbes +
+                ", requestMemoizationEnabled=" + requestMemoizationEnabled +
+                ", prefetchEnabled=" + prefetchEnabled +
+                ", prefetchFeatures=" + prefetchFeatures +
+                ", prefetchContextHeaders=" + prefetchContextHeaders +
+                ", streamingPayloadEnabled=" + streamingPayloadEnabled +
+                ", wireFormat=" + wireFormat +
+                ", compressionEnabled=" + compressionEnabled +
+                ", requestCompressionEnabled=" + requestCompressionEnabled +
+                ", requestCompressionThreshold=" + requestCompressionThreshold +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * Where feature flags are evaluated.
+     */
+    public enum EvaluationMode {
+        /**
+         * Every evaluation is sent to the edge server.
+         */
+        REMOTE,
+        /**
+         * Flags are evaluated in-process against a downloaded ruleset.
+         */
+        LOCAL
+    }
+
+    /**
+     * HTTP transport used to call the edge server.
+     */
+    public enum Transport {
+        /**
+         * HTTP/1.1, over pooled keep-alive connections when Apache HttpClient 5
+         * is on the classpath.
+         */
+        HTTP1,
+        /**
+         * HTTP/2 through the JDK HttpClient, multiplexing concurrent requests
+         * over a shared connection.
+         */
+        HTTP2
+    }
+
+    /**
+     * How failed evaluations are retried.
+     */
+    public enum RetryMode {
+        /**
+         * Blocking methods retry on the calling thread and async methods on the
+         * async executor, sleeping between attempts. Async methods backed by
+         * the reactive client retry on a timer.
+         */
+        BLOCKING,
+        /**
+         * Async methods retry on a timer, completing their result once an
+         * attempt succeeds or the retries are exhausted. Blocking methods
+         * still retry on the calling thread.
+         */
+        SCHEDULED
+    }
+
+    /**
+     * Encoding of request and response bodies exchanged with the edge server.
+     */
+    public enum WireFormat {
+        /**
+         * JSON only.
+         */
+        JSON,
+        /**
+         * CBOR, negotiated with the edge server; requires
+         * jackson-dataformat-cbor.
+         */
+        CBOR,
+        /**
+         * Jackson Smile, negotiated with the edge server; requires
+         * jackson-dataformat-smile.
+         */
+        SMILE
+    }
+}
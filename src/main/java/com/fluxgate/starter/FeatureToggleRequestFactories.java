@@ -0,0 +1,94 @@
+package com.fluxgate.starter;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+
+/**
+ * Creates the {@link ClientHttpRequestFactory} instances used by the
+ * auto-configured RestTemplate.
+ */
+final class FeatureToggleRequestFactories {
+
+    private FeatureToggleRequestFactories() {
+    }
+
+    /**
+     * Creates a request factory backed by a pooled Apache HttpClient that
+     * keeps connections to the edge server alive for reuse. Must only be
+     * called when Apache HttpClient 5 is on the classpath.
+     *
+     * @param properties the starter configuration
+     * @return the pooled request factory
+     */
+    static HttpComponentsClientHttpRequestFactory pooled(FeatureToggleProperties properties) {
+        return PooledHttpClient.requestFactory(properties);
+    }
+
+    /**
+     * Creates a request factory backed by the JDK HttpClient speaking HTTP/2,
+     * so concurrent requests are multiplexed over a shared connection. The
+     * client falls back to HTTP/1.1 when the edge server does not support
+     * HTTP/2.
+     *
+     * @param properties the starter configuration
+     * @return the HTTP/2 request factory
+     */
+    static JdkClientHttpRequestFactory http2(FeatureToggleProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectionTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return requestFactory;
+    }
+
+    /**
+     * Holds the Apache HttpClient specific code, so that it is only loaded
+     * when the pooled transport is actually used.
+     */
+    private static final class PooledHttpClient {
+
+        static HttpComponentsClientHttpRequestFactory requestFactory(FeatureToggleProperties properties) {
+            ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.of(properties.getConnectionTimeout()))
+                    .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                    .setTimeToLive(TimeValue.of(properties.getHttpPoolConnectionTtl()))
+                    .build();
+
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(properties.getHttpPoolMaxConnections())
+                    .setMaxConnPerRoute(properties.getHttpPoolMaxConnectionsPerRoute())
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .build();
+
+            TimeValue keepAlive = TimeValue.of(properties.getHttpPoolKeepAlive());
+            CloseableHttpClient httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> {
+                        TimeValue requested = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                .getKeepAliveDuration(response, context);
+                        return TimeValue.isPositive(requested) && requested.compareTo(keepAlive) < 0
+                                ? requested
+                                : keepAlive;
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.of(properties.getHttpPoolIdleEvictionTimeout()))
+                    .build();
+
+            return new HttpComponentsClientHttpRequestFactory(httpClient);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.fluxgate.starter;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.policy.CompositeRetryPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.policy.TimeoutRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+/**
+ * Creates the {@link RetryTemplate} the blocking client uses around its
+ * evaluations.
+ *
+ * The template is used directly by the client rather than through a
+ * {@code @Retryable} proxy, so every entry point gets the same retries no
+ * matter which overload the caller used or how the client was created.
+ */
+final class FeatureToggleRetryTemplates {
+
+    private FeatureToggleRetryTemplates() {
+    }
+
+    /**
+     * Returns a template that retries network errors and 5xx responses with
+     * exponential backoff, for up to {@code retry-attempts} attempts and no
+     * longer than {@code retry-deadline}.
+     */
+    static RetryTemplate blocking(FeatureToggleProperties properties) {
+        CompositeRetryPolicy retryPolicy = new CompositeRetryPolicy();
+        retryPolicy.setPolicies(new RetryPolicy[] {
+                new TransientFailureRetryPolicy(Math.max(1, properties.getRetryAttempts())),
+                deadline(properties)
+        });
+
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(properties.getRetryDelay().toMillis());
+        backOffPolicy.setMaxInterval(properties.getMaxRetryDelay().toMillis());
+        backOffPolicy.setMultiplier(Math.max(1.0, properties.getRetryMultiplier()));
+
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(retryPolicy);
+        retryTemplate.setBackOffPolicy(backOffPolicy);
+        retryTemplate.setThrowLastExceptionOnExhausted(true);
+        return retryTemplate;
+    }
+
+    private static TimeoutRetryPolicy deadline(FeatureToggleProperties properties) {
+        TimeoutRetryPolicy deadline = new TimeoutRetryPolicy();
+        deadline.setTimeout(properties.getRetryDeadline().toMillis());
+        return deadline;
+    }
+
+    /**
+     * Retries failures that {@link ScheduledRetryPolicy#isRetryable} accepts,
+     * so the blocking and the scheduled retries agree on what is transient.
+     */
+    private static final class TransientFailureRetryPolicy extends SimpleRetryPolicy {
+
+        private static final long serialVersionUID = 1L;
+
+        TransientFailureRetryPolicy(int maxAttempts) {
+            super(maxAttempts);
+        }
+
+        @Override
+        public boolean canRetry(RetryContext context) {
+            Throwable lastThrowable = context.getLastThrowable();
+            return (lastThrowable == null || ScheduledRetryPolicy.isRetryable(lastThrowable))
+                    && context.getRetryCount() < getMaxAttempts();
+        }
+    }
+}
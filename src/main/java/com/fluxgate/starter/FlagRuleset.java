@@ -0,0 +1,296 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Snapshot of all flag, rule and segment definitions of one environment, as
+ * downloaded from the FluxGate Edge Server for local evaluation.
+ * Instances are immutable and index their flags and segments by key.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class FlagRuleset {
+
+    private final String environmentId;
+    private final long version;
+    private final List<FlagDefinition> flags;
+    private final List<Segment> segments;
+    private final Map<String, FlagDefinition> flagsByKey;
+    private final Map<String, Segment> segmentsByKey;
+
+    @JsonCreator
+    public FlagRuleset(@JsonProperty("environment_id") String environmentId,
+            @JsonProperty("version") long version,
+            @JsonProperty("flags") List<FlagDefinition> flags,
+            @JsonProperty("segments") List<Segment> segments) {
+        this.environmentId = environmentId;
+        this.version = version;
+        this.flags = flags != null ? List.copyOf(flags) : List.of();
+        this.segments = segments != null ? List.copyOf(segments) : List.of();
+
+        Map<String, FlagDefinition> flagIndex = new HashMap<>();
+        for (FlagDefinition flag : this.flags) {
+            flagIndex.put(flag.key(), flag);
+        }
+        Map<String, Segment> segmentIndex = new HashMap<>();
+        for (Segment segment : this.segments) {
+            segmentIndex.put(segment.key(), segment);
+        }
+        this.flagsByKey = Map.copyOf(flagIndex);
+        this.segmentsByKey = Map.copyOf(segmentIndex);
+    }
+
+    @JsonProperty("environment_id")
+    public String getEnvironmentId() {
+        return environmentId;
+    }
+
+    @JsonProperty("version")
+    public long getVersion() {
+        return version;
+    }
+
+    @JsonProperty("flags")
+    public List<FlagDefinition> getFlags() {
+        return flags;
+    }
+
+    @JsonProperty("segments")
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns the definition of the given flag.
+     *
+     * @param featureKey the feature key
+     * @return the flag definition, or null if the ruleset does not define it
+     */
+    @JsonIgnore
+    public FlagDefinition getFlag(String featureKey) {
+        return flagsByKey.get(featureKey);
+    }
+
+    /**
+     * Returns the definition of the given segment.
+     *
+     * @param segmentKey the segment key
+     * @return the segment definition, or null if the ruleset does not define it
+     */
+    @JsonIgnore
+    public Segment getSegment(String segmentKey) {
+        return segmentsByKey.get(segmentKey);
+    }
+
+    /**
+     * Returns a copy of this ruleset in which the given flag is added or
+     * replaced.
+     *
+     * @param flag    the new flag definition
+     * @param version the version of the resulting ruleset
+     * @return the updated ruleset
+     */
+    public FlagRuleset withFlag(FlagDefinition flag, long version) {
+        Map<String, FlagDefinition> updated = new LinkedHashMap<>();
+        flags.forEach(existing -> updated.put(existing.key(), existing));
+        updated.put(flag.key(), flag);
+        return new FlagRuleset(environmentId, version, new ArrayList<>(updated.values()), segments);
+    }
+
+    /**
+     * Returns a copy of this ruleset without the given flag.
+     *
+     * @param featureKey the key of the flag to remove
+     * @param version    the version of the resulting ruleset
+     * @return the updated ruleset
+     */
+    public FlagRuleset withoutFlag(String featureKey, long version) {
+        List<FlagDefinition> updated = new ArrayList<>(flags);
+        updated.removeIf(flag -> flag.key().equals(featureKey));
+        return new FlagRuleset(environmentId, version, updated, segments);
+    }
+
+    /**
+     * Returns a copy of this ruleset in which the given segment is added or
+     * replaced.
+     *
+     * @param segment the new segment definition
+     * @param version the version of the resulting ruleset
+     * @return the updated ruleset
+     */
+    public FlagRuleset withSegment(Segment segment, long version) {
+        Map<String, Segment> updated = new LinkedHashMap<>();
+        segments.forEach(existing -> updated.put(existing.key(), existing));
+        updated.put(segment.key(), segment);
+        return new FlagRuleset(environmentId, version, flags, new ArrayList<>(updated.values()));
+    }
+
+    /**
+     * Returns a copy of this ruleset without the given segment.
+     *
+     * @param segmentKey the key of the segment to remove
+     * @param version    the version of the resulting ruleset
+     * @return the updated ruleset
+     */
+    public FlagRuleset withoutSegment(String segmentKey, long version) {
+        List<Segment> updated = new ArrayList<>(segments);
+        updated.removeIf(segment -> segment.key().equals(segmentKey));
+        return new FlagRuleset(environmentId, version, flags, updated);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FlagRuleset that = (FlagRuleset) o;
+        return version == that.version
+                && Objects.equals(environmentId, that.environmentId)
+                && Objects.equals(flags, that.flags)
+                && Objects.equals(segments, that.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(environmentId, version, flags, segments);
+    }
+
+    @Override
+    public String toString() {
+        return "FlagRuleset{" +
+                "environmentId='" + environmentId + '\'' +
+                ", version=" + version +
+                ", flags=" + flags.size() +
+                ", segments=" + segments.size() +
+                '}';
+    }
+
+    /**
+     * Definition of a single feature flag.
+     *
+     * If the flag is switched off it always evaluates to false. Otherwise its
+     * rules are checked in order and the first matching rule decides the
+     * result; if no rule matches, the default value is returned.
+     *
+     * @param key          the feature key
+     * @param enabled      whether the flag is switched on
+     * @param defaultValue the result when the flag is on but no rule matches
+     * @param rules        the targeting rules, in evaluation order
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record FlagDefinition(@JsonProperty("key") String key,
+            @JsonProperty("enabled") boolean enabled,
+            @JsonProperty("default_value") boolean defaultValue,
+            @JsonProperty("rules") List<TargetingRule> rules) {
+
+        public FlagDefinition {
+            rules = rules != null ? List.copyOf(rules) : List.of();
+        }
+    }
+
+    /**
+     * A targeting rule. The rule matches when all of its conditions match.
+     *
+     * When a rollout percentage is set, only that share of matching contexts
+     * receives the rule's value; the rest receive the flag's default value.
+     * Contexts are assigned to the rollout deterministically by hashing the
+     * feature key together with the value of the {@code bucketBy} attribute.
+     *
+     * @param conditions        the conditions that must all match
+     * @param value             the result served when the rule matches
+     * @param rolloutPercentage the share of matching contexts, from 0 to 100,
+     *                          that receive the value, or null for all of them
+     * @param bucketBy          the context attribute used for rollout
+     *                          assignment
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record TargetingRule(@JsonProperty("conditions") List<TargetingCondition> conditions,
+            @JsonProperty("value") boolean value,
+            @JsonProperty("rollout_percentage") Integer rolloutPercentage,
+            @JsonProperty("bucket_by") String bucketBy) {
+
+        public TargetingRule {
+            conditions = conditions != null ? List.copyOf(conditions) : List.of();
+        }
+    }
+
+    /**
+     * A condition comparing one context attribute against a list of values.
+     * For the segment operators the values are segment keys and the attribute
+     * is ignored.
+     *
+     * @param attribute the context attribute key
+     * @param operator  the comparison operator
+     * @param values    the values to compare against
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record TargetingCondition(@JsonProperty("attribute") String attribute,
+            @JsonProperty("operator") Operator operator,
+            @JsonProperty("values") List<String> values) {
+
+        public TargetingCondition {
+            values = values != null ? List.copyOf(values) : List.of();
+        }
+    }
+
+    /**
+     * A named group of contexts, matched when all of its conditions match.
+     *
+     * @param key        the segment key
+     * @param conditions the conditions that must all match
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Segment(@JsonProperty("key") String key,
+            @JsonProperty("conditions") List<TargetingCondition> conditions) {
+
+        public Segment {
+            conditions = conditions != null ? List.copyOf(conditions) : List.of();
+        }
+    }
+
+    /**
+     * Operators supported in targeting conditions.
+     */
+    public enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        IN,
+        NOT_IN,
+        CONTAINS,
+        STARTS_WITH,
+        ENDS_WITH,
+        MATCHES,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        IN_SEGMENT,
+        NOT_IN_SEGMENT,
+        /**
+         * Any operator this client does not know; conditions using it never
+         * match.
+         */
+        UNKNOWN;
+
+        @JsonCreator
+        public static Operator fromValue(String value) {
+            if (value == null) {
+                return UNKNOWN;
+            }
+            for (Operator operator : values()) {
+                if (operator.name().equalsIgnoreCase(value)) {
+                    return operator;
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Downloads the flag ruleset of the configured environment from the FluxGate
+ * Edge Server.
+ *
+ * The fetcher remembers the ETag of the last ruleset it received and sends it
+ * as {@code If-None-Match} on conditional fetches, so an unchanged ruleset
+ * costs a 304 response without a body.
+ */
+public class FlagRulesetFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlagRulesetFetcher.class);
+    private static final String RULESET_ENDPOINT = "/ruleset?environment_id={environmentId}";
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    static final String CLIENT_SECRET_HEADER = "X-Client-Secret";
+
+    private final RestTemplate restTemplate;
+    private final FeatureToggleProperties properties;
+    private volatile String etag;
+
+    public FlagRulesetFetcher(RestTemplate restTemplate, FeatureToggleProperties properties) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Fetches the complete ruleset of the configured environment.
+     *
+     * @return the downloaded ruleset
+     * @throws FeatureToggleException if the ruleset cannot be downloaded
+     */
+    public FlagRuleset fetch() {
+        return fetch(null);
+    }
+
+    /**
+     * Fetches the ruleset of the configured environment unless it is unchanged
+     * since the last fetch.
+     *
+     * @return the downloaded ruleset, or null if the edge server reported it as
+     *         not modified
+     * @throws FeatureToggleException if the ruleset cannot be downloaded
+     */
+    public FlagRuleset fetchIfModified() {
+        return fetch(etag);
+    }
+
+    private FlagRuleset fetch(String ifNoneMatch) {
+        String environmentId = properties.getEnvironmentId();
+        try {
+            logger.debug("Fetching flag ruleset: environment={}, ifNoneMatch={}", environmentId, ifNoneMatch);
+
+            ResponseEntity<FlagRuleset> response = restTemplate.exchange(
+                    properties.getBaseUrl() + RULESET_ENDPOINT, HttpMethod.GET,
+                    new HttpEntity<>(headers(ifNoneMatch)), FlagRuleset.class, environmentId);
+
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                logger.debug("Flag ruleset not modified: environment={}", environmentId);
+                return null;
+            }
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                throw new FeatureToggleException(
+                        "Invalid ruleset response from edge server: " + response.getStatusCode(),
+                        null, environmentId, response.getStatusCode().value());
+            }
+
+            FlagRuleset ruleset = response.getBody();
+            etag = response.getHeaders().getETag();
+            logger.debug("Fetched flag ruleset: environment={}, version={}, flags={}",
+                    environmentId, ruleset.getVersion(), ruleset.getFlags().size());
+            return ruleset;
+
+        } catch (HttpClientErrorException e) {
+            throw new FeatureToggleException(
+                    "Client error from edge server: " + e.getMessage(),
+                    e, null, environmentId, e.getStatusCode().value());
+
+        } catch (HttpServerErrorException e) {
+            throw new FeatureToggleException(
+                    "Server error from edge server: " + e.getMessage(),
+                    e, null, environmentId, e.getStatusCode().value());
+
+        } catch (ResourceAccessException e) {
+            throw new FeatureToggleException(
+                    "Network error connecting to edge server: " + e.getMessage(),
+                    e, null, environmentId);
+
+        } catch (FeatureToggleException e) {
+            throw e;
+
+        } catch (Exception e) {
+            throw new FeatureToggleException(
+                    "Unexpected error fetching flag ruleset: " + e.getMessage(),
+                    e, null, environmentId);
+        }
+    }
+
+    private HttpHeaders headers(String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(WireFormatNegotiator.acceptedTypes(properties.getWireFormat()));
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        if (StringUtils.hasText(properties.getClientId()) && StringUtils.hasText(properties.getClientSecret())) {
+            headers.set(CLIENT_ID_HEADER, properties.getClientId());
+            headers.set(CLIENT_SECRET_HEADER, properties.getClientSecret());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,101 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link FlagRulesetStore} in sync with the edge server by polling
+ * the ruleset endpoint at a fixed interval.
+ *
+ * Polls are conditional: as long as the ruleset is unchanged the edge server
+ * answers with a 304 and nothing is parsed or swapped, so the cost of a poll
+ * does not grow with the number of flags. A changed ruleset replaces the
+ * stored one atomically, unless the stored one is already as new, for
+ * example because the event stream applied it first. Failed polls are logged
+ * and the current ruleset is kept until a later poll succeeds.
+ */
+public class FlagRulesetPoller implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlagRulesetPoller.class);
+
+    private final FlagRulesetFetcher fetcher;
+    private final FlagRulesetStore store;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a poller.
+     *
+     * @param fetcher  the fetcher used to download the ruleset
+     * @param store    the store receiving changed rulesets
+     * @param interval the delay between the end of one poll and the start of
+     *                 the next
+     */
+    public FlagRulesetPoller(FlagRulesetFetcher fetcher, FlagRulesetStore store, Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Ruleset poll interval must be positive");
+        }
+        this.fetcher = fetcher;
+        this.store = store;
+        this.interval = interval;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "feature-toggle-ruleset-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Polls once on the calling thread, so a ruleset is available as soon as
+     * this method returns if the edge server is reachable, then schedules the
+     * periodic polls. When the store already holds a ruleset, for example one
+     * restored from a snapshot, the first poll runs in the background instead.
+     */
+    public void start() {
+        long intervalMillis = interval.toMillis();
+        long initialDelayMillis = intervalMillis;
+        if (store.isLoaded()) {
+            initialDelayMillis = 0;
+        } else {
+            poll();
+        }
+        scheduler.scheduleWithFixedDelay(this::poll, initialDelayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.debug("Polling flag ruleset every {}", interval);
+    }
+
+    /**
+     * Fetches the ruleset if it changed since the last poll and stores it.
+     *
+     * @return true if a new ruleset was stored
+     */
+    public boolean poll() {
+        try {
+            FlagRuleset ruleset = store.isLoaded() ? fetcher.fetchIfModified() : fetcher.fetch();
+            if (ruleset == null) {
+                return false;
+            }
+            if (!store.updateIfNewer(ruleset)) {
+                return false;
+            }
+            logger.info("Loaded flag ruleset version {} for environment {}",
+                    ruleset.getVersion(), ruleset.getEnvironmentId());
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh flag ruleset: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops polling.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,226 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the last known flag ruleset to a local file, so an application can
+ * evaluate flags from it at startup before the edge server has answered, or
+ * while the edge server is unreachable.
+ *
+ * The file starts with a fixed binary header holding a magic number, the
+ * format version, the ruleset version, a CRC32 checksum and the payload
+ * length, followed by the ruleset as UTF-8 JSON. It is read through a
+ * memory-mapped buffer and written to a temporary file that then replaces the
+ * previous snapshot, so readers never see a partially written file. A file
+ * that is truncated, corrupt, or belongs to another environment is ignored.
+ *
+ * Registered as a {@link FlagRulesetStore.Listener}, the snapshot is
+ * rewritten on a background thread after every ruleset update. Updates that
+ * arrive while a write is pending are coalesced, so only the latest ruleset is
+ * written.
+ */
+public class FlagRulesetSnapshot implements FlagRulesetStore.Listener, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlagRulesetSnapshot.class);
+
+    static final int MAGIC = 0x46475253; // "FGRS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private final Path file;
+    private final String environmentId;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService writer;
+    private final AtomicReference<FlagRuleset> pending = new AtomicReference<>();
+
+    /**
+     * Creates a snapshot backed by the given file.
+     *
+     * @param file          the snapshot file
+     * @param environmentId the environment whose ruleset is persisted, or null
+     *                      to accept a snapshot of any environment
+     * @param objectMapper  the mapper used to read and write the ruleset
+     */
+    public FlagRulesetSnapshot(Path file, String environmentId, ObjectMapper objectMapper) {
+        if (file == null) {
+            throw new IllegalArgumentException("Snapshot file cannot be null");
+        }
+        this.file = file;
+        this.environmentId = environmentId;
+        this.objectMapper = objectMapper;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feature-toggle-ruleset-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the snapshot file.
+     *
+     * @return the snapshot file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the ruleset from the snapshot file.
+     *
+     * @return the persisted ruleset, or null if there is no usable snapshot
+     */
+    public FlagRuleset load() {
+        if (!Files.isRegularFile(file)) {
+            logger.debug("No flag ruleset snapshot at {}", file);
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return invalid("unexpected file size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                return invalid("not a flag ruleset snapshot");
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                return invalid("unsupported format version " + formatVersion);
+            }
+            long version = buffer.getLong();
+            int checksum = buffer.getInt();
+            int length = buffer.getInt();
+            if (length != size - HEADER_SIZE) {
+                return invalid("payload length " + length + " does not match file size " + size);
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_SIZE, length);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return invalid("checksum mismatch");
+            }
+
+            FlagRuleset ruleset = objectMapper.readValue(new ByteBufferBackedInputStream(payload), FlagRuleset.class);
+            if (ruleset.getVersion() != version) {
+                return invalid("ruleset version " + ruleset.getVersion() + " does not match header " + version);
+            }
+            if (environmentId != null && !environmentId.equals(ruleset.getEnvironmentId())) {
+                logger.info("Ignoring flag ruleset snapshot at {} for environment {}", file,
+                        ruleset.getEnvironmentId());
+                return null;
+            }
+
+            logger.debug("Read flag ruleset snapshot: file={}, environment={}, version={}, flags={}",
+                    file, ruleset.getEnvironmentId(), ruleset.getVersion(), ruleset.getFlags().size());
+            return ruleset;
+        } catch (IOException | RuntimeException e) {
+            return invalid(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the ruleset to the snapshot file on the calling thread.
+     *
+     * @param ruleset the ruleset to persist
+     * @throws IOException if the file cannot be written
+     */
+    public void write(FlagRuleset ruleset) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(ruleset);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(ruleset.getVersion())
+                .putInt((int) crc.getValue())
+                .putInt(payload.length)
+                .flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] buffers = { header, ByteBuffer.wrap(payload) };
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.debug("Wrote flag ruleset snapshot: file={}, environment={}, version={}",
+                file, ruleset.getEnvironmentId(), ruleset.getVersion());
+    }
+
+    @Override
+    public void rulesetUpdated(FlagRuleset previous, FlagRuleset current) {
+        if (pending.getAndSet(current) == null) {
+            try {
+                writer.execute(this::flush);
+            } catch (RuntimeException e) {
+                pending.set(null);
+                logger.debug("Could not schedule flag ruleset snapshot write: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        FlagRuleset ruleset = pending.getAndSet(null);
+        if (ruleset == null) {
+            return;
+        }
+        try {
+            write(ruleset);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write flag ruleset snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private FlagRuleset invalid(String reason) {
+        logger.warn("Ignoring flag ruleset snapshot at {}: {}", file, reason);
+        return null;
+    }
+
+    /**
+     * Finishes any pending write and stops the background writer.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the flag ruleset currently used for local evaluation.
+ * Readers always see a complete snapshot; a new snapshot replaces the previous
+ * one atomically and registered listeners are notified afterwards. Rulesets
+ * only move forward through {@link #updateIfNewer}, which the poller and the
+ * event stream use. A ruleset stored through {@link #restore}, such as one
+ * read from a snapshot file, is provisional: it may be older than the edge
+ * server's, or carry a version the edge server no longer counts from, so the
+ * next ruleset passed to {@link #updateIfNewer} replaces it whatever its
+ * version.
+ */
+public class FlagRulesetStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlagRulesetStore.class);
+
+    private final AtomicReference<FlagRuleset> current = new AtomicReference<>();
+    private volatile FlagRuleset provisional;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the current ruleset.
+     *
+     * @return the current ruleset, or null if none has been loaded yet
+     */
+    public FlagRuleset current() {
+        return current.get();
+    }
+
+    /**
+     * Returns whether a ruleset has been loaded.
+     *
+     * @return true if a ruleset is available
+     */
+    public boolean isLoaded() {
+        return current.get() != null;
+    }
+
+    /**
+     * Returns whether the current ruleset is provisional, that is restored
+     * and not yet confirmed by the edge server.
+     *
+     * @return true if the current ruleset was stored through {@link #restore}
+     */
+    public boolean isProvisional() {
+        FlagRuleset ruleset = provisional;
+        return ruleset != null && ruleset == current.get();
+    }
+
+    /**
+     * Replaces the current ruleset unconditionally and notifies listeners.
+     *
+     * @param ruleset the new ruleset
+     */
+    public void update(FlagRuleset ruleset) {
+        if (ruleset == null) {
+            throw new IllegalArgumentException("Ruleset cannot be null");
+        }
+        notifyListeners(current.getAndSet(ruleset), ruleset);
+    }
+
+    /**
+     * Replaces the current ruleset with a provisional one, for example one
+     * restored from a snapshot, and notifies listeners. The next ruleset
+     * passed to {@link #updateIfNewer} replaces it regardless of version.
+     *
+     * @param ruleset the restored ruleset
+     */
+    public void restore(FlagRuleset ruleset) {
+        if (ruleset == null) {
+            throw new IllegalArgumentException("Ruleset cannot be null");
+        }
+        provisional = ruleset;
+        notifyListeners(current.getAndSet(ruleset), ruleset);
+    }
+
+    /**
+     * Replaces the current ruleset and notifies listeners, unless the current
+     * ruleset is for the same environment and at least as new. Rulesets from
+     * the poller and the event stream can arrive out of order, so a slow poll
+     * must not overwrite a newer ruleset the stream has already applied. A
+     * provisional ruleset is always replaced.
+     *
+     * @param ruleset the new ruleset
+     * @return true if the ruleset was stored, false if it was not newer
+     */
+    public boolean updateIfNewer(FlagRuleset ruleset) {
+        if (ruleset == null) {
+            throw new IllegalArgumentException("Ruleset cannot be null");
+        }
+        FlagRuleset previous;
+        do {
+            previous = current.get();
+            if (previous != null && previous != provisional && previous.getVersion() >= ruleset.getVersion()
+                    && previous.getEnvironmentId().equals(ruleset.getEnvironmentId())) {
+                logger.debug("Ignoring flag ruleset version {}, version {} is already loaded",
+                        ruleset.getVersion(), previous.getVersion());
+                return false;
+            }
+        } while (!current.compareAndSet(previous, ruleset));
+        provisional = null;
+        notifyListeners(previous, ruleset);
+        return true;
+    }
+
+    private void notifyListeners(FlagRuleset previous, FlagRuleset ruleset) {
+        logger.debug("Flag ruleset updated: environment={}, version={} (previous version={})",
+                ruleset.getEnvironmentId(), ruleset.getVersion(), previous != null ? previous.getVersion() : null);
+
+        for (Listener listener : listeners) {
+            try {
+                listener.rulesetUpdated(previous, ruleset);
+            } catch (RuntimeException e) {
+                logger.warn("Flag ruleset listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registers a listener called after every ruleset update.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Callback for ruleset updates.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called after the current ruleset has been replaced.
+         *
+         * @param previous the replaced ruleset, or null for the first ruleset
+         * @param current  the new ruleset
+         */
+        void rulesetUpdated(FlagRuleset previous, FlagRuleset current);
+    }
+}
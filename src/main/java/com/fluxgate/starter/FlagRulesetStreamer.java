@@ -0,0 +1,371 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.fluxgate.starter.FlagRuleset.Segment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link FlagRulesetStore} in sync with the edge server through a
+ * single long-lived Server-Sent Events connection.
+ *
+ * The edge server pushes a {@code ruleset} event with the complete ruleset,
+ * or incremental {@code flag_updated}, {@code flag_deleted},
+ * {@code segment_updated} and {@code segment_deleted} events that are applied
+ * to the stored ruleset as they arrive. The event id is taken as the version
+ * of the resulting ruleset; an incremental event whose id is not a version
+ * number is not applied but triggers a full ruleset fetch, so the stored
+ * version always comes from the edge server.
+ *
+ * When the connection drops, the streamer reconnects with exponential
+ * backoff and sends the id of the last applied event as
+ * {@code Last-Event-ID}, so the edge server can resume the stream where it
+ * left off. A connection that delivers nothing, not even a heartbeat comment,
+ * for {@code ruleset-stream-idle-timeout} is closed and reopened the same
+ * way, so a half-open connection cannot stall the stream. An event that
+ * cannot be applied triggers a full ruleset fetch. Rulesets are only stored
+ * if they are newer than the stored one.
+ */
+public class FlagRulesetStreamer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlagRulesetStreamer.class);
+    private static final String STREAM_ENDPOINT = "/ruleset/stream?environment_id=";
+
+    private final HttpClient httpClient;
+    private final FeatureToggleProperties properties;
+    private final FlagRulesetFetcher fetcher;
+    private final FlagRulesetStore store;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private volatile String lastEventId;
+    private volatile long reconnectDelayMillis;
+    private volatile long nextDelayMillis;
+    private volatile long lastActivityNanos;
+    private volatile boolean idleTimedOut;
+    private ScheduledExecutorService watchdog;
+
+    /**
+     * Creates a streamer.
+     *
+     * @param httpClient   the HTTP client used for the event stream
+     * @param properties   the starter configuration
+     * @param fetcher      the fetcher used for full ruleset downloads
+     * @param store        the store receiving ruleset changes
+     * @param objectMapper the mapper used to read event payloads
+     */
+    public FlagRulesetStreamer(HttpClient httpClient, FeatureToggleProperties properties,
+            FlagRulesetFetcher fetcher, FlagRulesetStore store, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.fetcher = fetcher;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.reconnectDelayMillis = properties.getRulesetStreamReconnectDelay().toMillis();
+        this.nextDelayMillis = reconnectDelayMillis;
+    }
+
+    /**
+     * Loads the ruleset on the calling thread if none is loaded yet, then
+     * opens the event stream in the background.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (!store.isLoaded()) {
+            resync();
+        }
+        running = true;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread watchdogThread = new Thread(runnable, "feature-toggle-ruleset-stream-watchdog");
+            watchdogThread.setDaemon(true);
+            return watchdogThread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        watchdog = executor;
+        Thread streamThread = new Thread(this::run, "feature-toggle-ruleset-stream");
+        streamThread.setDaemon(true);
+        thread = streamThread;
+        streamThread.start();
+    }
+
+    /**
+     * Returns the id of the last event applied.
+     *
+     * @return the last event id, or null if no event carried an id yet
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                connect();
+                logger.debug("Flag ruleset stream closed by edge server");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (idleTimedOut) {
+                    logger.warn("Flag ruleset stream received nothing for {}, reconnecting",
+                            properties.getRulesetStreamIdleTimeout());
+                } else {
+                    logger.warn("Flag ruleset stream failed: {}", e.getMessage());
+                }
+            }
+
+            long delay = nextDelayMillis;
+            nextDelayMillis = Math.min(delay * 2, properties.getRulesetStreamMaxReconnectDelay().toMillis());
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void connect() throws IOException, InterruptedException {
+        String environmentId = properties.getEnvironmentId();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(properties.getBaseUrl() + STREAM_ENDPOINT
+                        + URLEncoder.encode(environmentId, StandardCharsets.UTF_8)))
+                .header("Accept", "text/event-stream")
+                .GET();
+        if (StringUtils.hasText(properties.getClientId()) && StringUtils.hasText(properties.getClientSecret())) {
+            request.header(FlagRulesetFetcher.CLIENT_ID_HEADER, properties.getClientId());
+            request.header(FlagRulesetFetcher.CLIENT_SECRET_HEADER, properties.getClientSecret());
+        }
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+
+        logger.debug("Connecting to flag ruleset stream: environment={}, lastEventId={}", environmentId, lastEventId);
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new FeatureToggleException("Unexpected status from ruleset stream: " + response.statusCode(),
+                        null, environmentId, response.statusCode());
+            }
+            logger.info("Connected to flag ruleset stream for environment {}", environmentId);
+            ScheduledFuture<?> idleCheck = watchIdle(lines);
+            try {
+                consume(lines.iterator());
+            } finally {
+                idleCheck.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Closes the given stream once it has been idle for longer than the idle
+     * timeout. Closing the stream makes the blocked read on the stream thread
+     * fail, which reconnects.
+     */
+    private ScheduledFuture<?> watchIdle(Stream<String> lines) {
+        long idleTimeoutNanos = properties.getRulesetStreamIdleTimeout().toNanos();
+        long checkIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(10));
+        idleTimedOut = false;
+        lastActivityNanos = System.nanoTime();
+        return watchdog.scheduleAtFixedRate(() -> {
+            if (System.nanoTime() - lastActivityNanos > idleTimeoutNanos) {
+                idleTimedOut = true;
+                lines.close();
+            }
+        }, checkIntervalNanos, checkIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reads Server-Sent Events from the given lines and applies them until
+     * the input ends.
+     */
+    void consume(Iterator<String> lines) {
+        String event = null;
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            lastActivityNanos = System.nanoTime();
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    handleEvent(event != null ? event : "message", id, data.toString());
+                }
+                event = null;
+                id = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+
+            int colon = line.indexOf(':');
+            String field = colon >= 0 ? line.substring(0, colon) : line;
+            String value = colon >= 0 ? line.substring(colon + 1) : "";
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "event" -> event = value;
+                case "id" -> id = value;
+                case "data" -> {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                }
+                case "retry" -> updateReconnectDelay(value);
+                default -> {
+                    // Unknown fields are ignored as required by the SSE specification
+                }
+            }
+        }
+    }
+
+    void handleEvent(String event, String id, String data) {
+        try {
+            switch (event) {
+                case "ruleset" -> store.updateIfNewer(read(data, FlagRuleset.class, FlagRuleset::getEnvironmentId));
+                case "flag_updated" -> {
+                    FlagDefinition flag = read(data, FlagDefinition.class, FlagDefinition::key);
+                    apply(event, id, (ruleset, version) -> ruleset.withFlag(flag, version));
+                }
+                case "flag_deleted" -> {
+                    String featureKey = readKey(data);
+                    apply(event, id, (ruleset, version) -> ruleset.withoutFlag(featureKey, version));
+                }
+                case "segment_updated" -> {
+                    Segment segment = read(data, Segment.class, Segment::key);
+                    apply(event, id, (ruleset, version) -> ruleset.withSegment(segment, version));
+                }
+                case "segment_deleted" -> {
+                    String segmentKey = readKey(data);
+                    apply(event, id, (ruleset, version) -> ruleset.withoutSegment(segmentKey, version));
+                }
+                default -> logger.debug("Ignoring flag ruleset stream event: {}", event);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The event is still marked as applied below; otherwise the edge server
+            // would replay it on every reconnect
+            logger.warn("Could not apply flag ruleset event {} ({}), reloading ruleset", event, e.getMessage());
+            resync();
+        }
+        if (id != null) {
+            lastEventId = id;
+        }
+        // The connection delivered an event, so the next reconnect starts with the initial delay again
+        nextDelayMillis = reconnectDelayMillis;
+    }
+
+    private void apply(String event, String id, Change change) {
+        FlagRuleset current = store.current();
+        if (current == null || store.isProvisional()) {
+            // A restored ruleset may be stale, so changes are not applied on top of it
+            logger.debug("Received incremental event {} before a ruleset was loaded, reloading ruleset", event);
+            resync();
+            return;
+        }
+        Long version = version(id);
+        if (version == null) {
+            logger.debug("Received incremental event {} with non-numeric id {}, reloading ruleset", event, id);
+            resync();
+            return;
+        }
+        store.updateIfNewer(change.apply(current, version));
+    }
+
+    private <T> T read(String data, Class<T> type, Function<T, String> key) throws JsonProcessingException {
+        T value = objectMapper.readValue(data, type);
+        if (value == null) {
+            throw new IllegalArgumentException("event payload is null");
+        }
+        if (key.apply(value) == null) {
+            throw new IllegalArgumentException("event payload has no key");
+        }
+        return value;
+    }
+
+    private String readKey(String data) throws JsonProcessingException {
+        JsonNode key = objectMapper.readTree(data).get("key");
+        if (key == null || !key.isTextual()) {
+            throw new IllegalArgumentException("event payload has no key");
+        }
+        return key.asText();
+    }
+
+    private static Long version(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void updateReconnectDelay(String value) {
+        try {
+            reconnectDelayMillis = Long.parseLong(value.trim());
+            nextDelayMillis = reconnectDelayMillis;
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring invalid retry field in flag ruleset stream: {}", value);
+        }
+    }
+
+    private void resync() {
+        try {
+            store.updateIfNewer(fetcher.fetch());
+        } catch (FeatureToggleException e) {
+            logger.warn("Could not load flag ruleset: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the event stream and stops reconnecting.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        Thread streamThread = thread;
+        if (streamThread != null) {
+            streamThread.interrupt();
+        }
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Incremental change applied to the stored ruleset.
+     */
+    @FunctionalInterface
+    private interface Change {
+
+        FlagRuleset apply(FlagRuleset ruleset, long version);
+    }
+}
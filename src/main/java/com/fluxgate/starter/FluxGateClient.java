@@ -1,5 +1,7 @@
 package com.fluxgate.starter;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -49,6 +51,48 @@ public interface FluxGateClient {
      */
     boolean isEnabled(FeatureEvaluationRequest request);
 
+    /**
+     * Evaluates several feature flags at once. Implementations may send all
+     * evaluations to the edge server in a single round trip; the default
+     * implementation evaluates them one by one.
+     *
+     * @param requests the feature evaluation requests
+     * @return the evaluation result for each request, in iteration order of
+     *         the given collection
+     * @throws FeatureToggleException if any evaluation fails
+     */
+    default Map<FeatureEvaluationRequest, Boolean> isEnabledAll(Collection<FeatureEvaluationRequest> requests) {
+        Map<FeatureEvaluationRequest, Boolean> results = new LinkedHashMap<>();
+        for (FeatureEvaluationRequest request : requests) {
+            results.put(request, isEnabled(request));
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates several feature flags for the same environment and context at
+     * once.
+     *
+     * @param featureKeys   the unique identifiers of the feature flags
+     * @param environmentId the environment identifier (e.g., "prod", "staging",
+     *                      "dev")
+     * @param context       additional context for feature evaluation (user
+     *                      attributes, etc.), shared by all features
+     * @return the evaluation result keyed by feature key
+     * @throws FeatureToggleException if any evaluation fails
+     */
+    default Map<String, Boolean> isEnabledAll(Collection<String> featureKeys, String environmentId,
+            Map<String, String> context) {
+        Map<String, FeatureEvaluationRequest> requests = new LinkedHashMap<>();
+        for (String featureKey : featureKeys) {
+            requests.put(featureKey, FeatureEvaluationRequest.of(featureKey, environmentId, context));
+        }
+        Map<FeatureEvaluationRequest, Boolean> evaluated = isEnabledAll(requests.values());
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        requests.forEach((featureKey, request) -> results.put(featureKey, evaluated.get(request)));
+        return results;
+    }
+
     /**
      * Asynchronously evaluates whether a feature is enabled for the given feature
      * key and environment.
@@ -0,0 +1,69 @@
+package com.fluxgate.starter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for waiting on futures without wrapping the evaluation exceptions
+ * they complete with.
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for the future and returns its result, rethrowing the original
+     * unchecked exception if it completed exceptionally.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits at most the given time for the future and returns its result,
+     * rethrowing the original unchecked exception if it completed
+     * exceptionally.
+     *
+     * @param future    the future to wait for
+     * @param timeout   how long to wait
+     * @param onTimeout creates the exception thrown if the future is not
+     *                  completed in time
+     */
+    static <T> T join(CompletableFuture<T> future, Duration timeout,
+            Supplier<? extends RuntimeException> onTimeout) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(cause);
+        } catch (TimeoutException e) {
+            throw onTimeout.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FeatureToggleException("Interrupted while waiting for evaluation", e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.fluxgate.starter;
+
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.fluxgate.starter.FlagRuleset.Segment;
+import com.fluxgate.starter.FlagRuleset.TargetingCondition;
+import com.fluxgate.starter.FlagRuleset.TargetingRule;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.CRC32;
+
+/**
+ * Evaluates feature flags in-process against the ruleset held by a
+ * {@link FlagRulesetStore}, without contacting the edge server.
+ *
+ * Evaluation fails with a {@link FeatureToggleException} when no ruleset has
+ * been loaded yet, when the request targets a different environment than the
+ * loaded ruleset, or when the ruleset does not define the flag, so callers can
+ * rely on the usual fallback handling.
+ */
+public class LocalFeatureEvaluator {
+
+    private static final int MAX_SEGMENT_DEPTH = 8;
+    // Cached in place of a regex that does not compile, so it is rejected once
+    private static final Pattern INVALID_PATTERN = Pattern.compile("(?!)");
+
+    private final FlagRulesetStore store;
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    public LocalFeatureEvaluator(FlagRulesetStore store) {
+        this.store = store;
+        // Patterns of a replaced ruleset are dropped, so the cache only ever
+        // holds the regexes of the current one
+        store.addListener((previous, current) -> patterns.clear());
+    }
+
+    /**
+     * Returns whether a ruleset is available for evaluation.
+     *
+     * @return true if a ruleset has been loaded
+     */
+    public boolean isReady() {
+        return store.isLoaded();
+    }
+
+    /**
+     * Evaluates the request against the current ruleset.
+     *
+     * @param request the feature evaluation request
+     * @return the evaluation result
+     * @throws FeatureToggleException if the flag cannot be evaluated locally
+     */
+    public boolean evaluate(FeatureEvaluationRequest request) {
+        FlagRuleset ruleset = store.current();
+        if (ruleset == null) {
+            throw new FeatureToggleException("Flag ruleset has not been loaded yet",
+                    request.featureKey(), request.environmentId());
+        }
+        if (!request.environmentId().equals(ruleset.getEnvironmentId())) {
+            throw new FeatureToggleException("No flag ruleset loaded for environment " + request.environmentId(),
+                    request.featureKey(), request.environmentId());
+        }
+        FlagDefinition flag = ruleset.getFlag(request.featureKey());
+        if (flag == null) {
+            throw new FeatureToggleException("Feature flag not found in ruleset",
+                    request.featureKey(), request.environmentId(), 404);
+        }
+        return evaluate(ruleset, flag, attributes(request.context()));
+    }
+
+    private boolean evaluate(FlagRuleset ruleset, FlagDefinition flag, Map<String, String> attributes) {
+        if (!flag.enabled()) {
+            return false;
+        }
+        for (TargetingRule rule : flag.rules()) {
+            if (matchesAll(ruleset, rule.conditions(), attributes, 0)) {
+                if (rule.rolloutPercentage() == null || isInRollout(flag.key(), rule, attributes)) {
+                    return rule.value();
+                }
+                return flag.defaultValue();
+            }
+        }
+        return flag.defaultValue();
+    }
+
+    private boolean matchesAll(FlagRuleset ruleset, List<TargetingCondition> conditions,
+            Map<String, String> attributes, int depth) {
+        for (TargetingCondition condition : conditions) {
+            if (!matches(ruleset, condition, attributes, depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(FlagRuleset ruleset, TargetingCondition condition, Map<String, String> attributes,
+            int depth) {
+        if (condition.operator() == null) {
+            return false;
+        }
+        switch (condition.operator()) {
+            case IN_SEGMENT:
+                return isInAnySegment(ruleset, condition.values(), attributes, depth);
+            case NOT_IN_SEGMENT:
+                return !isInAnySegment(ruleset, condition.values(), attributes, depth);
+            default:
+                break;
+        }
+
+        // A condition on an attribute the context does not carry never matches
+        String actual = attributes.get(condition.attribute());
+        if (actual == null) {
+            return false;
+        }
+        List<String> values = condition.values();
+        switch (condition.operator()) {
+            case EQUALS:
+            case IN:
+                return values.contains(actual);
+            case NOT_EQUALS:
+            case NOT_IN:
+                return !values.contains(actual);
+            case CONTAINS:
+                return values.stream().anyMatch(actual::contains);
+            case STARTS_WITH:
+                return values.stream().anyMatch(actual::startsWith);
+            case ENDS_WITH:
+                return values.stream().anyMatch(actual::endsWith);
+            case MATCHES:
+                return values.stream().anyMatch(regex -> matchesPattern(regex, actual));
+            case GREATER_THAN:
+                return values.stream().anyMatch(value -> compare(actual, value) > 0);
+            case GREATER_THAN_OR_EQUAL:
+                return values.stream().anyMatch(value -> compare(actual, value) >= 0);
+            case LESS_THAN:
+                return values.stream().anyMatch(value -> compare(actual, value) < 0);
+            case LESS_THAN_OR_EQUAL:
+                return values.stream().anyMatch(value -> compare(actual, value) <= 0);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isInAnySegment(FlagRuleset ruleset, List<String> segmentKeys, Map<String, String> attributes,
+            int depth) {
+        if (depth >= MAX_SEGMENT_DEPTH) {
+            return false;
+        }
+        for (String segmentKey : segmentKeys) {
+            Segment segment = ruleset.getSegment(segmentKey);
+            if (segment != null && matchesAll(ruleset, segment.conditions(), attributes, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesPattern(String regex, String actual) {
+        Pattern pattern = patterns.computeIfAbsent(regex, LocalFeatureEvaluator::compile);
+        return pattern != INVALID_PATTERN && pattern.matcher(actual).find();
+    }
+
+    private static Pattern compile(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return INVALID_PATTERN;
+        }
+    }
+
+    /**
+     * Returns the number of cached patterns, including invalid ones.
+     */
+    int cachedPatternCount() {
+        return patterns.size();
+    }
+
+    /**
+     * Compares two attribute values numerically, or lexically if either of
+     * them is not a number.
+     */
+    private static int compare(String actual, String expected) {
+        try {
+            return new BigDecimal(actual).compareTo(new BigDecimal(expected));
+        } catch (NumberFormatException e) {
+            return actual.compareTo(expected);
+        }
+    }
+
+    private static boolean isInRollout(String featureKey, TargetingRule rule, Map<String, String> attributes) {
+        String bucketValue = attributes.get(rule.bucketBy());
+        if (bucketValue == null) {
+            return false;
+        }
+        return bucket(featureKey, bucketValue) < rule.rolloutPercentage();
+    }
+
+    /**
+     * Assigns a context to one of 100 rollout buckets. The assignment only
+     * depends on the feature key and the bucketing value, so a context stays
+     * in the same bucket across evaluations and application instances.
+     */
+    static int bucket(String featureKey, String bucketValue) {
+        CRC32 crc = new CRC32();
+        crc.update((featureKey + ":" + bucketValue).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % 100);
+    }
+
+    private static Map<String, String> attributes(List<FeatureContext> context) {
+        if (context == null || context.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> attributes = new HashMap<>();
+        for (FeatureContext entry : context) {
+            if (entry.key() != null && entry.value() != null) {
+                attributes.putIfAbsent(entry.key(), entry.value());
+            }
+        }
+        return attributes;
+    }
+}
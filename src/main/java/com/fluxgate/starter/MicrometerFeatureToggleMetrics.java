@@ -0,0 +1,143 @@
+package com.fluxgate.starter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FeatureToggleMetrics} implementation recording to a Micrometer
+ * {@link MeterRegistry}.
+ *
+ * <ul>
+ * <li>{@code feature_toggle.evaluation} - timer per evaluation, tagged with
+ * {@code feature} and {@code outcome}, publishing a percentile histogram</li>
+ * <li>{@code feature_toggle.retries} - counter of retried attempts, tagged
+ * with {@code feature}</li>
+ * <li>{@code feature_toggle.fallbacks} - counter of fallback values served,
+ * tagged with {@code feature}</li>
+ * <li>{@code feature_toggle.errors} - counter of failed evaluations, tagged
+ * with {@code feature} and the edge server {@code status} code, or
+ * {@code none} if no response was received</li>
+ * <li>{@code feature_toggle.short_circuits} - counter of calls rejected by the
+ * open circuit breaker, tagged with {@code feature}</li>
+ * <li>{@code feature_toggle.circuit_breaker.state} - gauge per {@code state}
+ * that is 1 for the current circuit breaker state and 0 otherwise</li>
+ * <li>{@code feature_toggle.circuit_breaker.failure_rate} - gauge of the
+ * failure percentage in the sliding window, -1 until the window is full</li>
+ * </ul>
+ */
+public class MicrometerFeatureToggleMetrics implements FeatureToggleMetrics {
+
+    static final String EVALUATION_TIMER = "feature_toggle.evaluation";
+    static final String RETRY_COUNTER = "feature_toggle.retries";
+    static final String FALLBACK_COUNTER = "feature_toggle.fallbacks";
+    static final String ERROR_COUNTER = "feature_toggle.errors";
+    static final String SHORT_CIRCUIT_COUNTER = "feature_toggle.short_circuits";
+    static final String CIRCUIT_BREAKER_STATE_GAUGE = "feature_toggle.circuit_breaker.state";
+    static final String CIRCUIT_BREAKER_FAILURE_RATE_GAUGE = "feature_toggle.circuit_breaker.failure_rate";
+
+    private final MeterRegistry registry;
+    // Meters are looked up by feature key without building a composite key, so
+    // recording a known meter allocates nothing. The outcome maps are replaced,
+    // never modified, once published.
+    private final Map<String, Map<Outcome, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> fallbacks = new ConcurrentHashMap<>();
+    private final Map<String, Counter> shortCircuits = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> errors = new ConcurrentHashMap<>();
+
+    public MicrometerFeatureToggleMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordEvaluation(String featureKey, Outcome outcome, long durationNanos) {
+        timer(featureKey, outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRetry(String featureKey) {
+        counter(retries, RETRY_COUNTER, "Retried feature flag evaluation attempts", featureKey).increment();
+    }
+
+    @Override
+    public void recordFallback(String featureKey) {
+        counter(fallbacks, FALLBACK_COUNTER, "Fallback values served for feature flags", featureKey).increment();
+    }
+
+    @Override
+    public void recordError(String featureKey, FeatureToggleException exception) {
+        String status = exception.hasStatusCode() ? String.valueOf(exception.getStatusCode()) : "none";
+        errors.computeIfAbsent(featureKey, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> Counter.builder(ERROR_COUNTER)
+                        .description("Failed feature flag evaluations")
+                        .tag("feature", featureKey)
+                        .tag("status", status)
+                        .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void recordShortCircuit(String featureKey) {
+        counter(shortCircuits, SHORT_CIRCUIT_COUNTER, "Edge server calls rejected by the open circuit breaker",
+                featureKey).increment();
+    }
+
+    /**
+     * Registers gauges reporting the state and failure rate of the given
+     * circuit breaker.
+     *
+     * @param circuitBreaker the circuit breaker to report on
+     */
+    public void bindCircuitBreaker(FeatureToggleCircuitBreaker circuitBreaker) {
+        for (FeatureToggleCircuitBreaker.State state : FeatureToggleCircuitBreaker.State.values()) {
+            Gauge.builder(CIRCUIT_BREAKER_STATE_GAUGE, circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("Whether the edge server circuit breaker is in the given state")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder(CIRCUIT_BREAKER_FAILURE_RATE_GAUGE, circuitBreaker, FeatureToggleCircuitBreaker::getFailureRate)
+                .description("Failure percentage of recent edge server calls")
+                .baseUnit("percent")
+                .register(registry);
+    }
+
+    private Timer timer(String featureKey, Outcome outcome) {
+        Map<Outcome, Timer> byOutcome = timers.get(featureKey);
+        Timer timer = byOutcome != null ? byOutcome.get(outcome) : null;
+        if (timer != null) {
+            return timer;
+        }
+        return timers.compute(featureKey, (key, existing) -> {
+            if (existing != null && existing.containsKey(outcome)) {
+                return existing;
+            }
+            Map<Outcome, Timer> updated = existing != null ? new EnumMap<>(existing) : new EnumMap<>(Outcome.class);
+            updated.put(outcome, Timer.builder(EVALUATION_TIMER)
+                    .description("Feature flag evaluations")
+                    .tag("feature", featureKey)
+                    .tag("outcome", outcome.tagValue())
+                    .publishPercentileHistogram()
+                    .register(registry));
+            return updated;
+        }).get(outcome);
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String featureKey) {
+        Counter counter = counters.get(featureKey);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(featureKey, key -> Counter.builder(name)
+                .description(description)
+                .tag("feature", featureKey)
+                .register(registry));
+    }
+}
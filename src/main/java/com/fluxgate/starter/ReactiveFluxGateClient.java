@@ -0,0 +1,90 @@
+package com.fluxgate.starter;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Non-blocking client interface for the FluxGate Feature Toggle Edge Server.
+ * All methods return lazily evaluated publishers; nothing is sent to the edge
+ * server until they are subscribed to.
+ */
+public interface ReactiveFluxGateClient {
+
+    /**
+     * Evaluates whether a feature is enabled for the given feature key and
+     * environment.
+     *
+     * @param featureKey    the unique identifier for the feature flag
+     * @param environmentId the environment identifier (e.g., "prod", "staging",
+     *                      "dev")
+     * @return a Mono emitting true if the feature is enabled, false otherwise,
+     *         or a {@link FeatureToggleException} if the evaluation fails
+     */
+    Mono<Boolean> isEnabled(String featureKey, String environmentId);
+
+    /**
+     * Evaluates whether a feature is enabled for the given feature key,
+     * environment, and context.
+     *
+     * @param featureKey    the unique identifier for the feature flag
+     * @param environmentId the environment identifier (e.g., "prod", "staging",
+     *                      "dev")
+     * @param context       additional context for feature evaluation (user
+     *                      attributes, etc.)
+     * @return a Mono emitting true if the feature is enabled, false otherwise,
+     *         or a {@link FeatureToggleException} if the evaluation fails
+     */
+    Mono<Boolean> isEnabled(String featureKey, String environmentId, Map<String, String> context);
+
+    /**
+     * Evaluates whether a feature is enabled using a detailed request object.
+     *
+     * @param request the feature evaluation request containing all necessary
+     *                parameters
+     * @return a Mono emitting true if the feature is enabled, false otherwise,
+     *         or a {@link FeatureToggleException} if the evaluation fails
+     */
+    Mono<Boolean> isEnabled(FeatureEvaluationRequest request);
+
+    /**
+     * Evaluates a stream of requests, emitting one result per request in the
+     * order the requests were received. Evaluations run concurrently.
+     *
+     * @param requests the feature evaluation requests
+     * @return a Flux emitting the evaluation result of each request
+     */
+    Flux<Boolean> isEnabled(Publisher<FeatureEvaluationRequest> requests);
+
+    /**
+     * Evaluates several feature flags at once.
+     *
+     * @param requests the feature evaluation requests
+     * @return a Mono emitting the evaluation result for each request, in
+     *         iteration order of the given collection
+     */
+    Mono<Map<FeatureEvaluationRequest, Boolean>> isEnabledAll(Collection<FeatureEvaluationRequest> requests);
+
+    /**
+     * Evaluates a feature with a fallback value if the evaluation fails. When
+     * fallback is enabled in the configuration the returned Mono never
+     * completes with a {@link FeatureToggleException}.
+     *
+     * @param request  the feature evaluation request containing all necessary
+     *                 parameters
+     * @param fallback the value to emit if evaluation fails
+     * @return a Mono emitting the evaluation result or the fallback value
+     */
+    Mono<Boolean> isEnabledWithFallback(FeatureEvaluationRequest request, boolean fallback);
+
+    /**
+     * Checks the health of the FluxGate Edge Server.
+     *
+     * @return a Mono emitting true if the edge server is healthy and reachable,
+     *         false otherwise
+     */
+    Mono<Boolean> isHealthy();
+}
@@ -0,0 +1,152 @@
+package com.fluxgate.starter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Retries failed evaluations on a timer instead of sleeping on the calling
+ * thread.
+ *
+ * Network errors and 5xx responses from the edge server are retried with
+ * exponential backoff, up to the configured number of attempts. A retry is
+ * only scheduled if it would start before the retry deadline, measured from
+ * the first attempt.
+ */
+public class ScheduledRetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledRetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final long deadlineNanos;
+    private final FeatureToggleMetrics metrics;
+
+    public ScheduledRetryPolicy(FeatureToggleProperties properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates a policy that counts every scheduled retry in the given metrics.
+     *
+     * @param properties the starter configuration
+     * @param metrics    the metrics to record to, or null to record none
+     */
+    public ScheduledRetryPolicy(FeatureToggleProperties properties, FeatureToggleMetrics metrics) {
+        this.maxAttempts = Math.max(1, properties.getRetryAttempts());
+        this.initialDelayNanos = properties.getRetryDelay().toNanos();
+        this.maxDelayNanos = properties.getMaxRetryDelay().toNanos();
+        this.multiplier = Math.max(1.0, properties.getRetryMultiplier());
+        this.deadlineNanos = properties.getRetryDeadline().toNanos();
+        this.metrics = metrics != null ? metrics : FeatureToggleMetrics.NOOP;
+    }
+
+    /**
+     * Runs the attempt, scheduling another one after each retryable failure.
+     * The attempt is expected to return without blocking; each retry is
+     * started from the shared timer thread of {@link CompletableFuture}.
+     *
+     * @param featureKey the feature being evaluated, used for metrics
+     * @param attempt    starts one attempt and returns its result
+     * @return the result of the first successful attempt, or the failure of
+     *         the last one
+     */
+    public <T> CompletableFuture<T> execute(String featureKey, Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(featureKey, attempt, result, 1, System.nanoTime());
+        return result;
+    }
+
+    private <T> void attempt(String featureKey, Supplier<CompletableFuture<T>> attempt, CompletableFuture<T> result,
+            int attemptNumber, long startTime) {
+        CompletableFuture<T> call;
+        try {
+            call = attempt.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable failure = unwrap(error);
+            Duration delay = nextDelay(failure, attemptNumber, System.nanoTime() - startTime);
+            if (delay == null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            logger.debug("Retrying evaluation of feature={} in {}ms after attempt {} failed: {}",
+                    featureKey, delay.toMillis(), attemptNumber, failure.getMessage());
+            metrics.recordRetry(featureKey);
+            CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> attempt(featureKey, attempt, result, attemptNumber + 1, startTime));
+        });
+    }
+
+    /**
+     * Returns how long to wait before retrying after the given failure.
+     *
+     * @param failure      the failure of the last attempt
+     * @param attempts     the number of attempts made so far
+     * @param elapsedNanos the time since the first attempt started
+     * @return the delay before the next attempt, or null if the failure must
+     *         not be retried
+     */
+    public Duration nextDelay(Throwable failure, int attempts, long elapsedNanos) {
+        if (attempts >= maxAttempts || !isRetryable(failure)) {
+            return null;
+        }
+        long delay = delayNanos(attempts);
+        if (elapsedNanos + delay >= deadlineNanos) {
+            logger.debug("Not retrying: retry deadline of {}ms would be exceeded",
+                    TimeUnit.NANOSECONDS.toMillis(deadlineNanos));
+            return null;
+        }
+        return Duration.ofNanos(delay);
+    }
+
+    private long delayNanos(int attempts) {
+        double delay = initialDelayNanos * Math.pow(multiplier, attempts - 1);
+        return (long) Math.min(delay, maxDelayNanos);
+    }
+
+    /**
+     * Returns whether the failure is a network error or a 5xx response from
+     * the edge server, which are worth retrying.
+     */
+    static boolean isRetryable(Throwable failure) {
+        if (!(failure instanceof FeatureToggleException exception)) {
+            return false;
+        }
+        if (exception.hasStatusCode()) {
+            return exception.getStatusCode() >= 500;
+        }
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceAccessException || cause instanceof IOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,458 @@
+package com.fluxgate.starter;
+
+import com.fluxgate.starter.FeatureToggleMetrics.Outcome;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link ReactiveFluxGateClient} implementation using Spring's WebClient to
+ * communicate with the FluxGate Edge Server without blocking any thread.
+ */
+public class WebClientFluxGateClient implements ReactiveFluxGateClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebClientFluxGateClient.class);
+    private static final String EVALUATE_ENDPOINT = "/evaluate";
+    private static final String BATCH_EVALUATE_ENDPOINT = "/evaluate/batch";
+
+    private final WebClient webClient;
+    private final FeatureToggleProperties properties;
+    private final FeatureEvaluationCache cache;
+    private final LocalFeatureEvaluator localEvaluator;
+    private final FeatureToggleMetrics metrics;
+    private final ScheduledRetryPolicy retryPolicy;
+    private final FeatureToggleCircuitBreaker circuitBreaker;
+    private final String evaluateUrl;
+    private final String batchEvaluateUrl;
+    private final Set<FeatureEvaluationKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean batchEndpointAvailable = true;
+
+    public WebClientFluxGateClient(WebClient webClient, FeatureToggleProperties properties) {
+        this(webClient, properties, null, null, null, null);
+    }
+
+    /**
+     * Creates a client with the optional collaborators the auto-configuration
+     * provides. Every collaborator may be null to leave its feature off.
+     *
+     * @param webClient      the WebClient used to call the edge server
+     * @param properties     the starter configuration
+     * @param cache          the evaluation cache, or null to disable caching
+     * @param localEvaluator the local evaluator, or null to evaluate remotely
+     * @param metrics        the metrics to record to, or null to record none
+     * @param circuitBreaker the circuit breaker, or null to always call the
+     *                       edge server
+     */
+    WebClientFluxGateClient(WebClient webClient, FeatureToggleProperties properties,
+            FeatureEvaluationCache cache, LocalFeatureEvaluator localEvaluator, FeatureToggleMetrics metrics,
+            FeatureToggleCircuitBreaker circuitBreaker) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.cache = cache;
+        this.localEvaluator = localEvaluator;
+        this.metrics = metrics != null ? metrics : FeatureToggleMetrics.NOOP;
+        // Reactive evaluations never block a thread, so they retry on a timer in either retry mode
+        this.retryPolicy = new ScheduledRetryPolicy(properties);
+        this.circuitBreaker = circuitBreaker;
+        this.evaluateUrl = properties.getBaseUrl() + EVALUATE_ENDPOINT;
+        this.batchEvaluateUrl = properties.getBaseUrl() + BATCH_EVALUATE_ENDPOINT;
+    }
+
+    @Override
+    public Mono<Boolean> isEnabled(String featureKey, String environmentId) {
+        return isEnabled(FeatureEvaluationRequest.of(featureKey, environmentId));
+    }
+
+    @Override
+    public Mono<Boolean> isEnabled(String featureKey, String environmentId, Map<String, String> context) {
+        return isEnabled(FeatureEvaluationRequest.of(featureKey, environmentId, context));
+    }
+
+    @Override
+    public Mono<Boolean> isEnabled(FeatureEvaluationRequest request) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return evaluate(request)
+                    .doOnNext(result -> metrics.recordEvaluation(request.featureKey(), Outcome.of(result),
+                            System.nanoTime() - startTime))
+                    .doOnError(FeatureToggleException.class, e -> {
+                        metrics.recordError(request.featureKey(), e);
+                        metrics.recordEvaluation(request.featureKey(), Outcome.ERROR, System.nanoTime() - startTime);
+                    });
+        });
+    }
+
+    /**
+     * Evaluates the request, at most once per inbound request when the
+     * subscriber context holds a {@link FeatureEvaluationMemo}.
+     */
+    private Mono<Boolean> evaluate(FeatureEvaluationRequest request) {
+        return Mono.deferContextual(context -> {
+            FeatureEvaluationMemo memo = context.getOrDefault(FeatureEvaluationMemo.CONTEXT_KEY, null);
+            if (memo == null) {
+                return evaluateUnmemoized(request);
+            }
+            DefaultFeatureToggleClient.validateRequest(request);
+            FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+            Boolean memoized = memo.get(key);
+            if (memoized != null) {
+                return Mono.just(memoized);
+            }
+            return evaluateUnmemoized(request).map(result -> memo.remember(key, result));
+        });
+    }
+
+    private Mono<Boolean> evaluateUnmemoized(FeatureEvaluationRequest request) {
+        return Mono.defer(() -> {
+            DefaultFeatureToggleClient.validateRequest(request);
+
+            if (localEvaluator != null) {
+                return Mono.just(localEvaluator.evaluate(request));
+            }
+
+            if (cache == null) {
+                return withRetry(request, evaluateRemotely(request));
+            }
+
+            FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+            Boolean cached = lookupCache(key, request);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return withRetry(request, evaluateRemotely(request)).doOnNext(result -> cache.put(key, result));
+        });
+    }
+
+    /**
+     * Returns the cached result for the request, scheduling a background
+     * refresh if it is stale, or null if nothing usable is cached.
+     */
+    private Boolean lookupCache(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        if (cache == null) {
+            return null;
+        }
+        FeatureEvaluationCache.CachedEvaluation cached = cache.lookup(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.stale()) {
+            refreshInBackground(key, request);
+        }
+        return cached.enabled();
+    }
+
+    @Override
+    public Flux<Boolean> isEnabled(Publisher<FeatureEvaluationRequest> requests) {
+        return Flux.from(requests).flatMapSequential(this::isEnabled);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Results already in the request memo or the evaluation cache are not
+     * requested again. The remaining evaluations are sent to the batch
+     * endpoint in one request, or as parallel single requests if batch
+     * evaluation is disabled or the edge server does not provide it.
+     */
+    @Override
+    public Mono<Map<FeatureEvaluationRequest, Boolean>> isEnabledAll(Collection<FeatureEvaluationRequest> requests) {
+        if (requests == null) {
+            return Mono.error(new IllegalArgumentException("Requests cannot be null"));
+        }
+        if (localEvaluator != null) {
+            return Flux.fromIterable(requests)
+                    .flatMapSequential(request -> isEnabled(request).map(result -> Map.entry(request, result)))
+                    .collect(LinkedHashMap::new, (results, entry) -> results.put(entry.getKey(), entry.getValue()));
+        }
+
+        return Mono.deferContextual(context -> {
+            long startTime = System.nanoTime();
+            FeatureEvaluationMemo memo = context.getOrDefault(FeatureEvaluationMemo.CONTEXT_KEY, null);
+            Map<FeatureEvaluationKey, Boolean> evaluated = new HashMap<>();
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending = new LinkedHashMap<>();
+            for (FeatureEvaluationRequest request : requests) {
+                DefaultFeatureToggleClient.validateRequest(request);
+                FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+                if (evaluated.containsKey(key) || pending.containsKey(key)) {
+                    continue;
+                }
+                Boolean cached = memo != null ? memo.get(key) : null;
+                if (cached == null) {
+                    cached = lookupCache(key, request);
+                }
+                if (cached != null) {
+                    evaluated.put(key, cached);
+                } else {
+                    pending.put(key, request);
+                }
+            }
+
+            return evaluateAll(pending)
+                    .map(remoteResults -> {
+                        remoteResults.forEach((key, result) ->
+                                evaluated.put(key, memo != null ? memo.remember(key, result) : result));
+                        // Every requested evaluation is recorded once, like a single isEnabled call
+                        long durationNanos = System.nanoTime() - startTime;
+                        Map<FeatureEvaluationRequest, Boolean> results = new LinkedHashMap<>();
+                        for (FeatureEvaluationRequest request : requests) {
+                            boolean result = evaluated.get(FeatureEvaluationKey.of(request));
+                            metrics.recordEvaluation(request.featureKey(), Outcome.of(result), durationNanos);
+                            results.put(request, result);
+                        }
+                        return results;
+                    })
+                    .doOnError(FeatureToggleException.class, e -> {
+                        long durationNanos = System.nanoTime() - startTime;
+                        for (FeatureEvaluationRequest request : requests) {
+                            metrics.recordError(request.featureKey(), e);
+                            metrics.recordEvaluation(request.featureKey(), Outcome.ERROR, durationNanos);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Map<FeatureEvaluationKey, Boolean>> evaluateAll(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        if (pending.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        Mono<Map<FeatureEvaluationKey, Boolean>> results;
+        if (pending.size() > 1 && properties.isBatchEvaluationEnabled() && batchEndpointAvailable) {
+            results = withRetry(pending.values(), evaluateBatchRemotely(pending))
+                    .switchIfEmpty(Mono.defer(() -> evaluateInParallel(pending)));
+        } else {
+            results = evaluateInParallel(pending);
+        }
+        return cache == null ? results : results.doOnNext(remoteResults -> remoteResults.forEach(cache::put));
+    }
+
+    private Mono<Map<FeatureEvaluationKey, Boolean>> evaluateInParallel(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        return Flux.fromIterable(pending.entrySet())
+                .flatMapSequential(entry -> withRetry(entry.getValue(), evaluateRemotely(entry.getValue()))
+                        .map(result -> Map.entry(entry.getKey(), result)))
+                .collect(LinkedHashMap::new, (results, entry) -> results.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public Mono<Boolean> isEnabledWithFallback(FeatureEvaluationRequest request, boolean fallback) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return evaluate(request)
+                    .doOnNext(result -> metrics.recordEvaluation(request.featureKey(), Outcome.of(result),
+                            System.nanoTime() - startTime))
+                    .onErrorResume(FeatureToggleException.class, e -> {
+                        metrics.recordError(request.featureKey(), e);
+                        if (!properties.isFallbackEnabled()) {
+                            metrics.recordEvaluation(request.featureKey(), Outcome.ERROR,
+                                    System.nanoTime() - startTime);
+                            return Mono.error(e);
+                        }
+                        logger.debug("Using fallback value {} for feature={}, environment={} due to error: {}",
+                                fallback, request.featureKey(), request.environmentId(), e.getMessage());
+                        metrics.recordFallback(request.featureKey());
+                        metrics.recordEvaluation(request.featureKey(), Outcome.FALLBACK, System.nanoTime() - startTime);
+                        return Mono.just(fallback);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Boolean> isHealthy() {
+        return webClient.get()
+                .uri(properties.getBaseUrl() + "/health")
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                .timeout(properties.getReadTimeout())
+                .onErrorResume(e -> {
+                    logger.debug("Health check failed: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    private Mono<Boolean> evaluateRemotely(FeatureEvaluationRequest request) {
+        if (circuitBreaker == null) {
+            return callEdgeServer(request);
+        }
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                metrics.recordShortCircuit(request.featureKey());
+                return Mono.error(new FeatureToggleException("Circuit breaker is open, not calling edge server",
+                        request.featureKey(), request.environmentId()));
+            }
+            return callEdgeServer(request)
+                    .doOnSuccess(result -> circuitBreaker.onSuccess())
+                    .doOnError(circuitBreaker::onError)
+                    .doOnCancel(circuitBreaker::releasePermission);
+        });
+    }
+
+    private Mono<Map<FeatureEvaluationKey, Boolean>> evaluateBatchRemotely(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        if (circuitBreaker == null) {
+            return callBatchEndpoint(pending);
+        }
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                pending.values().forEach(request -> metrics.recordShortCircuit(request.featureKey()));
+                return Mono.error(new FeatureToggleException("Circuit breaker is open, not calling edge server"));
+            }
+            return callBatchEndpoint(pending)
+                    .doOnSuccess(results -> circuitBreaker.onSuccess())
+                    .doOnError(circuitBreaker::onError)
+                    .doOnCancel(circuitBreaker::releasePermission);
+        });
+    }
+
+    /**
+     * Sends all pending evaluations to the batch endpoint in one request.
+     * Completes empty if the edge server does not support batch evaluation.
+     */
+    private Mono<Map<FeatureEvaluationKey, Boolean>> callBatchEndpoint(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> pending) {
+        List<FeatureEvaluationRequest> batch = new ArrayList<>(pending.size());
+        for (FeatureEvaluationRequest request : pending.values()) {
+            batch.add(DefaultFeatureToggleClient.enrichRequest(request, properties));
+        }
+
+        return webClient.post()
+                .uri(batchEvaluateUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchEvaluationRequest(batch))
+                .retrieve()
+                .bodyToMono(BatchEvaluationResponse.class)
+                .switchIfEmpty(Mono.error(() -> new FeatureToggleException("Empty batch response from edge server")))
+                .map(body -> {
+                    List<FeatureEvaluationResponse> responses = body.getResults();
+                    if (responses == null || responses.size() != batch.size()) {
+                        throw new FeatureToggleException("Batch response from edge server contained "
+                                + (responses == null ? 0 : responses.size()) + " results for "
+                                + batch.size() + " requests");
+                    }
+                    Map<FeatureEvaluationKey, Boolean> results = new LinkedHashMap<>();
+                    int index = 0;
+                    for (FeatureEvaluationKey key : pending.keySet()) {
+                        results.put(key, responses.get(index++).isEnabled());
+                    }
+                    return results;
+                })
+                .timeout(properties.getReadTimeout())
+                .doOnNext(results -> logger.debug("Batch evaluation successful: count={}", results.size()))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+                    if (status != HttpStatus.NOT_FOUND && status != HttpStatus.METHOD_NOT_ALLOWED
+                            && status != HttpStatus.NOT_IMPLEMENTED) {
+                        return Mono.error(e);
+                    }
+                    batchEndpointAvailable = false;
+                    logger.info("Edge server does not support batch evaluation ({}), falling back to parallel requests",
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .onErrorMap(e -> !(e instanceof FeatureToggleException), e -> translateException(e, null, null));
+    }
+
+    private Mono<Boolean> callEdgeServer(FeatureEvaluationRequest request) {
+        String featureKey = request.featureKey();
+        String environmentId = request.environmentId();
+        FeatureEvaluationRequest enrichedRequest = DefaultFeatureToggleClient.enrichRequest(request, properties);
+
+        return webClient.post()
+                .uri(evaluateUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(enrichedRequest)
+                .retrieve()
+                .bodyToMono(FeatureEvaluationResponse.class)
+                .switchIfEmpty(Mono.error(() -> new FeatureToggleException(
+                        "Empty response from edge server", featureKey, environmentId)))
+                .map(FeatureEvaluationResponse::isEnabled)
+                .timeout(properties.getReadTimeout())
+                .doOnNext(result -> logger.debug("Feature evaluation successful: feature={}, environment={}, result={}",
+                        featureKey, environmentId, result))
+                .onErrorMap(e -> !(e instanceof FeatureToggleException),
+                        e -> translateException(e, featureKey, environmentId));
+    }
+
+    /**
+     * Resubscribes to the evaluation after retryable failures, waiting on a
+     * Reactor timer between attempts. Attempts, backoff and deadline are the
+     * ones the blocking client's retry template uses.
+     */
+    private Mono<Boolean> withRetry(FeatureEvaluationRequest request, Mono<Boolean> evaluation) {
+        return withRetry(List.of(request), evaluation);
+    }
+
+    private <T> Mono<T> withRetry(Collection<FeatureEvaluationRequest> requests, Mono<T> evaluation) {
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return evaluation.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                Duration delay = retryPolicy.nextDelay(signal.failure(), (int) signal.totalRetries() + 1,
+                        System.nanoTime() - startTime);
+                if (delay == null) {
+                    return Mono.error(signal.failure());
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Retrying evaluation of {} in {}ms: {}", requests.size() == 1
+                                    ? "feature=" + requests.iterator().next().featureKey()
+                                    : requests.size() + " feature flags",
+                            delay.toMillis(), signal.failure().getMessage());
+                }
+                for (FeatureEvaluationRequest request : requests) {
+                    metrics.recordRetry(request.featureKey());
+                }
+                return Mono.delay(delay);
+            })));
+        });
+    }
+
+    private void refreshInBackground(FeatureEvaluationKey key, FeatureEvaluationRequest request) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        evaluateRemotely(request)
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(result -> cache.put(key, result),
+                        e -> logger.debug("Background refresh failed for feature={}, environment={}: {}",
+                                request.featureKey(), request.environmentId(), e.getMessage()));
+    }
+
+    private static FeatureToggleException translateException(Throwable e, String featureKey, String environmentId) {
+        if (e instanceof WebClientResponseException responseException) {
+            String kind = responseException.getStatusCode().is4xxClientError() ? "Client" : "Server";
+            return new FeatureToggleException(
+                    kind + " error from edge server: " + e.getMessage(),
+                    e, featureKey, environmentId, responseException.getStatusCode().value());
+        }
+        if (e instanceof WebClientRequestException || e instanceof TimeoutException) {
+            return new FeatureToggleException(
+                    "Network error connecting to edge server: " + e.getMessage(),
+                    e, featureKey, environmentId);
+        }
+        return new FeatureToggleException(
+                "Unexpected error evaluating feature flag: " + e.getMessage(),
+                e, featureKey, environmentId);
+    }
+}
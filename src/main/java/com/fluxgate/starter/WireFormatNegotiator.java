@@ -0,0 +1,138 @@
+package com.fluxgate.starter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Negotiates the encoding of evaluate and batch evaluate calls with the edge
+ * server when a binary {@link FeatureToggleProperties.WireFormat} is
+ * configured.
+ *
+ * Responses are negotiated on every call: the Accept header lists the binary
+ * media type before JSON, so the edge server answers in whichever it
+ * supports. Request bodies start out as JSON and switch to the binary format
+ * once the edge server has answered in it. If it then rejects a binary body
+ * with 415 Unsupported Media Type, request bodies go back to JSON for the
+ * lifetime of the client.
+ */
+final class WireFormatNegotiator {
+
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final MediaType binaryType;
+    private final HttpHeaders jsonHeaders;
+    private final HttpHeaders binaryHeaders;
+    private volatile boolean binaryRequests;
+    private volatile boolean binaryRejected;
+
+    private WireFormatNegotiator(MediaType binaryType) {
+        this.binaryType = binaryType;
+        this.jsonHeaders = headers(MediaType.APPLICATION_JSON, binaryType);
+        this.binaryHeaders = binaryType != null ? headers(binaryType, binaryType) : jsonHeaders;
+    }
+
+    /**
+     * Creates a negotiator for the configured wire format.
+     *
+     * @param properties the starter configuration
+     * @return the negotiator
+     */
+    static WireFormatNegotiator from(FeatureToggleProperties properties) {
+        return new WireFormatNegotiator(mediaType(properties.getWireFormat()));
+    }
+
+    /**
+     * Returns the media types accepted in responses for the given format, in
+     * order of preference.
+     *
+     * @param wireFormat the configured wire format
+     * @return the accepted media types
+     */
+    static List<MediaType> acceptedTypes(FeatureToggleProperties.WireFormat wireFormat) {
+        MediaType binaryType = mediaType(wireFormat);
+        return binaryType != null ? List.of(binaryType, MediaType.APPLICATION_JSON) : List.of(MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Returns the binary media type of the given format.
+     *
+     * @param wireFormat the configured wire format
+     * @return the media type, or null for JSON
+     */
+    static MediaType mediaType(FeatureToggleProperties.WireFormat wireFormat) {
+        if (wireFormat == null) {
+            return null;
+        }
+        return switch (wireFormat) {
+            case JSON -> null;
+            case CBOR -> MediaType.APPLICATION_CBOR;
+            case SMILE -> APPLICATION_SMILE;
+        };
+    }
+
+    private static HttpHeaders headers(MediaType contentType, MediaType binaryType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setAccept(binaryType != null
+                ? List.of(binaryType, MediaType.APPLICATION_JSON)
+                : List.of(MediaType.APPLICATION_JSON));
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * Returns the headers for the next request body.
+     *
+     * @return read-only headers naming the current request encoding and the
+     *         accepted response encodings
+     */
+    HttpHeaders requestHeaders() {
+        return binaryRequests ? binaryHeaders : jsonHeaders;
+    }
+
+    /**
+     * Returns whether request bodies are currently sent in the binary format.
+     */
+    boolean isBinaryRequests() {
+        return binaryRequests;
+    }
+
+    /**
+     * Switches request bodies to the binary format when the edge server
+     * answered in it and has not rejected it before.
+     *
+     * @param responseHeaders the headers of a successful response, may be
+     *                        null
+     */
+    void onResponse(HttpHeaders responseHeaders) {
+        if (binaryType == null || binaryRequests || binaryRejected || responseHeaders == null) {
+            return;
+        }
+        MediaType contentType = responseHeaders.getContentType();
+        if (contentType != null && binaryType.isCompatibleWith(contentType)) {
+            binaryRequests = true;
+        }
+    }
+
+    /**
+     * Handles a 415 Unsupported Media Type response by going back to JSON
+     * request bodies for good. The decision to repeat depends only on how the
+     * rejected request was sent, so concurrent requests that were all sent in
+     * the binary format are each repeated, whichever of them is rejected
+     * first.
+     *
+     * @param sentHeaders the headers the rejected request was sent with
+     * @return the headers to repeat the request with as JSON, or null if the
+     *         rejected request was already JSON
+     */
+    HttpHeaders onUnsupportedMediaType(HttpHeaders sentHeaders) {
+        MediaType sentType = sentHeaders.getContentType();
+        if (binaryType == null || sentType == null || !binaryType.isCompatibleWith(sentType)) {
+            return null;
+        }
+        binaryRejected = true;
+        binaryRequests = false;
+        return jsonHeaders;
+    }
+}
@@ -0,0 +1,114 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecompressingRequestFactoryTest {
+
+    private static final URI EVALUATE_URI = URI.create("http://localhost/api/v1/evaluate");
+    private static final byte[] PAYLOAD = "{\"feature_key\":\"new-checkout\",\"enabled\":true}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void execute_shouldAcceptCompressedResponsesAndDecompressGzip() throws IOException {
+        // Given
+        MockClientHttpResponse compressed = new MockClientHttpResponse(gzip(PAYLOAD), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        MockClientHttpRequest sent = new MockClientHttpRequest(HttpMethod.POST, EVALUATE_URI);
+        sent.setResponse(compressed);
+        DecompressingRequestFactory factory = new DecompressingRequestFactory((uri, method) -> sent);
+
+        // When
+        ClientHttpResponse response = factory.createRequest(EVALUATE_URI, HttpMethod.POST).execute();
+
+        // Then
+        assertEquals(DecompressingRequestFactory.ACCEPT_ENCODING, sent.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertArrayEquals(PAYLOAD, StreamUtils.copyToByteArray(response.getBody()));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void setBody_shouldWriteBodyToWrappedRequest() throws IOException {
+        // Given
+        MockClientHttpRequest sent = new MockClientHttpRequest(HttpMethod.POST, EVALUATE_URI);
+        DecompressingRequestFactory factory = new DecompressingRequestFactory((uri, method) -> sent);
+        ClientHttpRequest request = factory.createRequest(EVALUATE_URI, HttpMethod.POST);
+
+        // When
+        ((StreamingHttpOutputMessage) request).setBody(output -> output.write(PAYLOAD));
+
+        // Then
+        assertArrayEquals(PAYLOAD, sent.getBodyAsBytes());
+    }
+
+    @Test
+    void close_shouldNotDecompressRemainingBody() throws IOException {
+        // Given
+        byte[] large = new byte[256 * 1024];
+        new Random(42).nextBytes(large);
+        AtomicLong bytesRead = new AtomicLong();
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream compressedBody = new FilterInputStream(new ByteArrayInputStream(gzip(large))) {
+            @Override
+            public int read() throws IOException {
+                int read = super.read();
+                bytesRead.addAndGet(read == -1 ? 0 : 1);
+                return read;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        MockClientHttpResponse compressed = new MockClientHttpResponse(compressedBody, HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        ClientHttpResponse response = DecompressingRequestFactory.decompress(compressed);
+        response.getBody().read();
+
+        // When
+        response.close();
+
+        // Then
+        assertTrue(closed.get());
+        assertTrue(bytesRead.get() < 4096, "read " + bytesRead.get() + " compressed bytes");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
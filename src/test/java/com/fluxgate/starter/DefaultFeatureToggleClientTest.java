@@ -1,17 +1,32 @@
 package com.fluxgate.starter;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -36,6 +51,7 @@ class DefaultFeatureToggleClientTest {
         properties = new FeatureToggleProperties();
         properties.setBaseUrl("http://localhost:8081");
         properties.setFallbackEnabled(true);
+        properties.setRetryDelay(Duration.ofMillis(1));
 
         client = new DefaultFeatureToggleClient(restTemplate, properties, asyncExecutor);
     }
@@ -658,6 +674,841 @@ class DefaultFeatureToggleClientTest {
         assertTrue(result);
     }
 
+    @Test
+    void isEnabled_shouldServeRepeatedEvaluationsFromCache_whenCacheIsConfigured() {
+        // Given
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(Duration.ofMinutes(1), 10);
+        DefaultFeatureToggleClient cachingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor, cache, null, null, null, null);
+        ResponseEntity<FeatureEvaluationResponse> responseEntity = new ResponseEntity<>(
+                new FeatureEvaluationResponse(true), HttpStatus.OK);
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenReturn(responseEntity);
+
+        // When
+        boolean first = cachingClient.isEnabled("test-feature", "prod", Map.of("userId", "123"));
+        boolean second = cachingClient.isEnabled("test-feature", "prod", Map.of("userId", "123"));
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(restTemplate, times(1)).exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void isEnabled_shouldEvaluateOncePerRequest_whenMemoIsBound() {
+        // Given
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(false), HttpStatus.OK));
+
+        FeatureEvaluationMemo previous = FeatureEvaluationMemo.bind(new FeatureEvaluationMemo());
+        try {
+            // When
+            boolean first = client.isEnabled("test-feature", "prod", Map.of("userId", "123"));
+            boolean second = client.isEnabledWithFallback("test-feature", "prod", Map.of("userId", "123"), false);
+            Map<FeatureEvaluationRequest, Boolean> all = client.isEnabledAll(
+                    List.of(FeatureEvaluationRequest.of("test-feature", "prod", Map.of("userId", "123"))));
+
+            // Then
+            assertTrue(first);
+            assertTrue(second);
+            assertEquals(List.of(true), List.copyOf(all.values()));
+            verify(restTemplate, times(1)).exchange(
+                    anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+        } finally {
+            FeatureEvaluationMemo.bind(previous);
+        }
+
+        // A later request evaluates again
+        assertFalse(client.isEnabled("test-feature", "prod", Map.of("userId", "123")));
+    }
+
+    @Test
+    void isEnabled_shouldNotCacheFailures_whenCacheIsConfigured() {
+        // Given
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(Duration.ofMinutes(1), 10);
+        DefaultFeatureToggleClient cachingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor, cache, null, null, null, null);
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenThrow(new RuntimeException("Network error"));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> cachingClient.isEnabled("test-feature", "prod"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void isEnabled_shouldReturnStaleValueAndRefreshInBackground_whenEntryIsStale() {
+        // Given
+        FeatureEvaluationCacheTest.MutableClock clock = new FeatureEvaluationCacheTest.MutableClock();
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(
+                Duration.ofSeconds(10), Duration.ofMinutes(1), 10, clock);
+        DefaultFeatureToggleClient cachingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor, cache, null, null, null, null);
+        cache.put(FeatureEvaluationKey.of(FeatureEvaluationRequest.of("test-feature", "prod")), true);
+        clock.advance(Duration.ofSeconds(15));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenReturn(
+                        new ResponseEntity<>(new FeatureEvaluationResponse(false), HttpStatus.OK));
+        List<Runnable> scheduled = new ArrayList<>();
+        doAnswer(invocation -> scheduled.add(invocation.getArgument(0)))
+                .when(asyncExecutor).execute(any(Runnable.class));
+
+        // When
+        boolean stale = cachingClient.isEnabled("test-feature", "prod");
+        boolean staleAgain = cachingClient.isEnabled("test-feature", "prod");
+        scheduled.forEach(Runnable::run);
+        boolean refreshed = cachingClient.isEnabled("test-feature", "prod");
+
+        // Then
+        assertTrue(stale);
+        assertTrue(staleAgain);
+        assertEquals(1, scheduled.size());
+        assertFalse(refreshed);
+    }
+
+    @Test
+    void isEnabled_shouldKeepServingStaleValue_whenBackgroundRefreshFails() {
+        // Given
+        FeatureEvaluationCacheTest.MutableClock clock = new FeatureEvaluationCacheTest.MutableClock();
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(
+                Duration.ofSeconds(10), Duration.ofMinutes(1), 10, clock);
+        DefaultFeatureToggleClient cachingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor, cache, null, null, null, null);
+        cache.put(FeatureEvaluationKey.of(FeatureEvaluationRequest.of("test-feature", "prod")), true);
+        clock.advance(Duration.ofSeconds(15));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenThrow(new RuntimeException("Network error"));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(asyncExecutor).execute(any(Runnable.class));
+
+        // When
+        boolean first = cachingClient.isEnabled("test-feature", "prod");
+        boolean second = cachingClient.isEnabled("test-feature", "prod");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(asyncExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void isEnabledAll_shouldEvaluateAllRequestsInOneBatchCall() {
+        // Given
+        FeatureEvaluationRequest first = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest second = FeatureEvaluationRequest.of("feature-b", "prod");
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(true), new FeatureEvaluationResponse(false)));
+
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate/batch"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = client.isEnabledAll(List.of(first, second));
+
+        // Then
+        assertEquals(Boolean.TRUE, results.get(first));
+        assertEquals(Boolean.FALSE, results.get(second));
+        verify(restTemplate, never()).exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+    }
+
+    @Test
+    void isEnabledAll_withSharedContext_shouldReturnResultsKeyedByFeature() {
+        // Given
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(false), new FeatureEvaluationResponse(true)));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        // When
+        Map<String, Boolean> results = client.isEnabledAll(
+                List.of("feature-a", "feature-b"), "prod", Map.of("userId", "123"));
+
+        // Then
+        assertEquals(Map.of("feature-a", false, "feature-b", true), results);
+        verify(restTemplate).exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                argThat(httpEntity -> {
+                    BatchEvaluationRequest body = (BatchEvaluationRequest) httpEntity.getBody();
+                    return body != null && body.requests().size() == 2
+                            && body.requests().get(0).context().equals(
+                                    List.of(new FeatureContext("userId", "123")));
+                }),
+                eq(BatchEvaluationResponse.class));
+    }
+
+    @Test
+    void isEnabledAll_shouldFanOutInParallel_whenBatchEndpointIsNotSupported() {
+        // Given
+        FeatureEvaluationRequest first = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest second = FeatureEvaluationRequest.of("feature-b", "prod");
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenThrow(
+                        org.springframework.web.client.HttpClientErrorException.create(
+                                HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenReturn(
+                        new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK));
+        doAnswer(invocation -> {
+            Runnable task = invocation.getArgument(0);
+            task.run();
+            return null;
+        }).when(asyncExecutor).execute(any(Runnable.class));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> firstResults = client.isEnabledAll(List.of(first, second));
+        Map<FeatureEvaluationRequest, Boolean> secondResults = client.isEnabledAll(List.of(first, second));
+
+        // Then
+        assertEquals(Boolean.TRUE, firstResults.get(first));
+        assertEquals(Boolean.TRUE, firstResults.get(second));
+        assertEquals(firstResults, secondResults);
+        // The batch endpoint is only probed once
+        verify(restTemplate, times(1)).exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchEvaluationResponse.class));
+        verify(restTemplate, times(4)).exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+    }
+
+    @Test
+    void isEnabledAll_shouldOnlyRequestUncachedFeatures_whenCacheIsConfigured() {
+        // Given
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(Duration.ofMinutes(1), 10);
+        DefaultFeatureToggleClient cachingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor, cache, null, null, null, null);
+        FeatureEvaluationRequest cached = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest uncached = FeatureEvaluationRequest.of("feature-b", "prod");
+        cache.put(FeatureEvaluationKey.of(cached), true);
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenReturn(
+                        new ResponseEntity<>(new FeatureEvaluationResponse(false), HttpStatus.OK));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = cachingClient.isEnabledAll(
+                List.of(cached, uncached));
+
+        // Then
+        assertEquals(Boolean.TRUE, results.get(cached));
+        assertEquals(Boolean.FALSE, results.get(uncached));
+        verify(restTemplate, never()).exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchEvaluationResponse.class));
+        assertEquals(Boolean.FALSE, cache.get(FeatureEvaluationKey.of(uncached)));
+    }
+
+    @Test
+    void isEnabledAll_shouldThrowException_whenBatchResponseSizeDoesNotMatch() {
+        // Given
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(true)));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> client.isEnabledAll(List.of(
+                FeatureEvaluationRequest.of("feature-a", "prod"),
+                FeatureEvaluationRequest.of("feature-b", "prod"))));
+    }
+
+    @Test
+    void isEnabled_shouldCombineConcurrentCallsIntoOneBatch_whenMicroBatchingIsEnabled() throws Exception {
+        // Given
+        properties.setMicroBatchingEnabled(true);
+        properties.setMicroBatchMaxSize(2);
+        properties.setMicroBatchMaxLinger(Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(true), new FeatureEvaluationResponse(true)));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        try (DefaultFeatureToggleClient batchingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, executor)) {
+            // When
+            Future<Boolean> first = executor.submit(
+                    () -> batchingClient.isEnabled("feature-a", "prod"));
+            Future<Boolean> second = executor.submit(
+                    () -> batchingClient.isEnabled("feature-b", "prod"));
+
+            // Then
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+            verify(restTemplate, times(1)).exchange(
+                    anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchEvaluationResponse.class));
+            verify(restTemplate, never()).exchange(
+                    anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void isEnabled_shouldBatch_whenOnlyMicroBatchingIsEnabled() throws Exception {
+        // Given
+        properties.setRequestCoalescingEnabled(false);
+        properties.setMicroBatchingEnabled(true);
+        properties.setMicroBatchMaxSize(2);
+        properties.setMicroBatchMaxLinger(Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(true), new FeatureEvaluationResponse(false)));
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        try (DefaultFeatureToggleClient batchingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor)) {
+            // When
+            Future<Boolean> first = executor.submit(() -> batchingClient.isEnabled("feature-a", "prod"));
+            Future<Boolean> second = executor.submit(() -> batchingClient.isEnabled("feature-b", "prod"));
+
+            // Then
+            assertNotEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            verify(restTemplate, times(1)).exchange(
+                    anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(BatchEvaluationResponse.class));
+            verify(restTemplate, never()).exchange(
+                    anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+            verifyNoInteractions(asyncExecutor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void isEnabled_shouldFailOnlyFailedEvaluations_whenBatchFallsBackToSingleRequests() throws Exception {
+        // Given
+        properties.setRetryAttempts(1);
+        properties.setMicroBatchingEnabled(true);
+        properties.setMicroBatchMaxSize(2);
+        properties.setMicroBatchMaxLinger(Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenAnswer(invocation -> {
+                    FeatureEvaluationRequest body = (FeatureEvaluationRequest) invocation
+                            .getArgument(2, HttpEntity.class).getBody();
+                    if (body.featureKey().equals("feature-b")) {
+                        throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+                    }
+                    return new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK);
+                });
+
+        try (DefaultFeatureToggleClient batchingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor)) {
+            // When
+            Future<Boolean> first = executor.submit(() -> batchingClient.isEnabled("feature-a", "prod"));
+            Future<Boolean> second = executor.submit(() -> batchingClient.isEnabled("feature-b", "prod"));
+
+            // Then
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            ExecutionException error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(FeatureToggleException.class, error.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void isEnabled_shouldStopWaitingForBatch_afterLingerAndTimeouts() {
+        // Given
+        properties.setRetryAttempts(1);
+        properties.setMicroBatchingEnabled(true);
+        properties.setMicroBatchMaxSize(1);
+        properties.setMicroBatchMaxLinger(Duration.ZERO);
+        properties.setConnectionTimeout(Duration.ofMillis(50));
+        properties.setReadTimeout(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class))).thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK);
+                });
+
+        try (DefaultFeatureToggleClient batchingClient = new DefaultFeatureToggleClient(
+                restTemplate, properties, asyncExecutor)) {
+            // When
+            long start = System.nanoTime();
+            FeatureToggleException error = assertThrows(FeatureToggleException.class,
+                    () -> batchingClient.isEnabled("feature-a", "prod"));
+
+            // Then
+            assertTrue(error.getMessage().contains("Timed out"));
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void isEnabled_shouldEvaluateLocally_whenLocalEvaluatorIsConfigured() {
+        // Given
+        FlagRulesetStore store = new FlagRulesetStore();
+        store.update(new FlagRuleset("prod", 1, List.of(
+                new FlagRuleset.FlagDefinition("test-feature", true, true, List.of())), List.of()));
+        DefaultFeatureToggleClient localClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, new LocalFeatureEvaluator(store), null, null);
+
+        // When
+        boolean result = localClient.isEnabled("test-feature", "prod");
+        CompletableFuture<Boolean> asyncResult = localClient.isEnabledAsync("test-feature", "prod");
+
+        // Then
+        assertTrue(result);
+        assertTrue(asyncResult.isDone());
+        assertTrue(asyncResult.join());
+        verifyNoInteractions(restTemplate, asyncExecutor);
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldReturnFallback_whenLocalRulesetIsNotLoaded() {
+        // Given
+        DefaultFeatureToggleClient localClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, new LocalFeatureEvaluator(new FlagRulesetStore()), null, null);
+
+        // When
+        boolean result = localClient.isEnabledWithFallback("test-feature", "prod", true);
+
+        // Then
+        assertTrue(result);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void isEnabled_shouldRecordEvaluationOutcome_whenMetricsAreConfigured() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DefaultFeatureToggleClient meteredClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, null, new MicrometerFeatureToggleMetrics(registry), null);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK));
+
+        // When
+        meteredClient.isEnabled("test-feature", "prod");
+
+        // Then
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "test-feature", "outcome", "enabled").timer().count());
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldRecordErrorAndFallback_whenEvaluationFails() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DefaultFeatureToggleClient meteredClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, null, new MicrometerFeatureToggleMetrics(registry), null);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When
+        boolean result = meteredClient.isEnabledWithFallback("test-feature", "prod", true);
+
+        // Then
+        assertTrue(result);
+        assertEquals(1.0, registry.get("feature_toggle.fallbacks").tag("feature", "test-feature").counter().count());
+        assertEquals(1.0, registry.get("feature_toggle.errors").tag("feature", "test-feature").counter().count());
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "test-feature", "outcome", "fallback").timer().count());
+    }
+
+    @Test
+    void executeAndReturnWithFallback_shouldRecordFallbackOutcome_whenEvaluationFails() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DefaultFeatureToggleClient meteredClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, null, new MicrometerFeatureToggleMetrics(registry), null);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When
+        String result = meteredClient.executeAndReturnWithFallback(
+                FeatureEvaluationRequest.of("test-feature", "prod"), () -> "new", "old");
+
+        // Then
+        assertEquals("old", result);
+        assertEquals(1.0, registry.get("feature_toggle.fallbacks").tag("feature", "test-feature").counter().count());
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "test-feature", "outcome", "fallback").timer().count());
+        assertNull(registry.find("feature_toggle.evaluation")
+                .tags("feature", "test-feature", "outcome", "error").timer());
+    }
+
+    @Test
+    void isEnabledAll_shouldRecordOutcomeOfEveryEvaluation() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DefaultFeatureToggleClient meteredClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, null, new MicrometerFeatureToggleMetrics(registry), null);
+        BatchEvaluationResponse batchResponse = new BatchEvaluationResponse(List.of(
+                new FeatureEvaluationResponse(true), new FeatureEvaluationResponse(false)));
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(BatchEvaluationResponse.class))).thenReturn(new ResponseEntity<>(batchResponse, HttpStatus.OK));
+
+        // When
+        meteredClient.isEnabledAll(List.of(
+                FeatureEvaluationRequest.of("feature-a", "prod"),
+                FeatureEvaluationRequest.of("feature-b", "prod")));
+
+        // Then
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "feature-a", "outcome", "enabled").timer().count());
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "feature-b", "outcome", "disabled").timer().count());
+    }
+
+    @Test
+    void isEnabledAsync_shouldRetryOnTimer_whenRetryModeIsScheduled() {
+        // Given
+        properties.setRetryMode(FeatureToggleProperties.RetryMode.SCHEDULED);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        DefaultFeatureToggleClient retryingClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                Runnable::run);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK));
+
+        // When
+        boolean result = retryingClient.isEnabledAsync("test-feature", "prod").join();
+
+        // Then
+        assertTrue(result);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class));
+    }
+
+    @Test
+    void isEnabledAsync_shouldRetryOnExecutorThread_whenRetryModeIsBlocking() {
+        // Given
+        DefaultFeatureToggleClient directClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                Runnable::run);
+        givenEdgeServerIsUnreachable();
+
+        // When
+        CompletableFuture<Boolean> result = directClient.isEnabledAsync("test-feature", "prod");
+
+        // Then
+        assertThrows(CompletionException.class, result::join);
+        verifyEvaluateCalls(3);
+    }
+
+    @Test
+    void isEnabled_shouldRetryUpToRetryAttempts_forEveryOverload() {
+        // Given
+        givenEdgeServerIsUnreachable();
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> client.isEnabled("test-feature", "prod"));
+        verifyEvaluateCalls(3);
+        assertThrows(FeatureToggleException.class,
+                () -> client.isEnabled("test-feature", "prod", Map.of("userId", "123")));
+        verifyEvaluateCalls(6);
+        assertThrows(FeatureToggleException.class,
+                () -> client.isEnabled(FeatureEvaluationRequest.of("test-feature", "prod")));
+        verifyEvaluateCalls(9);
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldRetryBeforeReturningFallback_forEveryOverload() {
+        // Given
+        givenEdgeServerIsUnreachable();
+
+        // When & Then
+        assertTrue(client.isEnabledWithFallback("test-feature", "prod", true));
+        verifyEvaluateCalls(3);
+        assertTrue(client.isEnabledWithFallback("test-feature", "prod", Map.of("userId", "123"), true));
+        verifyEvaluateCalls(6);
+        assertTrue(client.isEnabledWithFallback(FeatureEvaluationRequest.of("test-feature", "prod"), true));
+        verifyEvaluateCalls(9);
+    }
+
+    @Test
+    void executeMethods_shouldRetryUpToRetryAttempts() {
+        // Given
+        givenEdgeServerIsUnreachable();
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("test-feature", "prod");
+
+        // When & Then
+        client.execute(request, ignored -> fail("Consumer must not run"));
+        verifyEvaluateCalls(3);
+        assertThrows(FeatureToggleException.class, () -> client.executeAndReturn(request, () -> "enabled"));
+        verifyEvaluateCalls(6);
+        assertEquals("fallback", client.executeAndReturnWithFallback(request, () -> "enabled", "fallback"));
+        verifyEvaluateCalls(9);
+    }
+
+    @Test
+    void isEnabled_shouldSucceed_whenRetryAttemptSucceeds() {
+        // Given
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK));
+
+        // When
+        boolean result = client.isEnabled("test-feature", "prod");
+
+        // Then
+        assertTrue(result);
+        verifyEvaluateCalls(2);
+    }
+
+    @Test
+    void isEnabled_shouldNotRetry_whenEdgeServerRejectsRequest() {
+        // Given
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> client.isEnabled("test-feature", "prod"));
+        verifyEvaluateCalls(1);
+    }
+
+    @Test
+    void isEnabled_shouldStopRetrying_whenRetryDeadlineHasPassed() {
+        // Given
+        properties.setRetryAttempts(10);
+        properties.setRetryDelay(Duration.ofMillis(50));
+        properties.setMaxRetryDelay(Duration.ofMillis(50));
+        properties.setRetryDeadline(Duration.ofMillis(120));
+        DefaultFeatureToggleClient deadlineClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor);
+        givenEdgeServerIsUnreachable();
+
+        // When
+        assertThrows(FeatureToggleException.class, () -> deadlineClient.isEnabled("test-feature", "prod"));
+
+        // Then
+        verify(restTemplate, atMost(4)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class));
+    }
+
+    private void givenEdgeServerIsUnreachable() {
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+    }
+
+    private void verifyEvaluateCalls(int expected) {
+        verify(restTemplate, times(expected)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class));
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldReturnFallbackWithoutCallingEdgeServer_whenCircuitBreakerIsOpen() {
+        // Given
+        FeatureToggleCircuitBreaker circuitBreaker = new FeatureToggleCircuitBreaker(50, 2, Duration.ofMinutes(1), 1);
+        DefaultFeatureToggleClient guardedClient = new DefaultFeatureToggleClient(restTemplate, properties,
+                asyncExecutor, null, null, null, null, circuitBreaker);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        guardedClient.isEnabledWithFallback("test-feature", "prod", true);
+        guardedClient.isEnabledWithFallback("test-feature", "prod", true);
+
+        // When
+        boolean result = guardedClient.isEnabledWithFallback("test-feature", "prod", true);
+
+        // Then
+        assertTrue(result);
+        assertEquals(FeatureToggleCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class));
+    }
+
+    @Test
+    void enrichRequest_shouldAddConfiguredCredentialsAndShareContext() {
+        // Given
+        properties.setClientId("client");
+        properties.setClientSecret("secret");
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("test-feature", "prod",
+                Map.of("userId", "123"));
+
+        // When
+        FeatureEvaluationRequest enriched = DefaultFeatureToggleClient.enrichRequest(request, properties);
+
+        // Then
+        assertEquals("client", enriched.clientId());
+        assertEquals("secret", enriched.clientSecret());
+        assertSame(request.context(), enriched.context());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isEnabled_shouldSendBinaryBodiesAfterBinaryResponse_andFallBackToJsonOn415() {
+        // Given
+        properties.setWireFormat(FeatureToggleProperties.WireFormat.CBOR);
+        DefaultFeatureToggleClient cborClient = new DefaultFeatureToggleClient(restTemplate, properties, asyncExecutor);
+        HttpHeaders cborHeaders = new HttpHeaders();
+        cborHeaders.setContentType(MediaType.APPLICATION_CBOR);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), cborHeaders, HttpStatus.OK))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+                        HttpHeaders.EMPTY, null, null))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK));
+
+        // When
+        boolean first = cborClient.isEnabled("test-feature", "prod");
+        boolean second = cborClient.isEnabled("other-feature", "prod");
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        ArgumentCaptor<HttpEntity<?>> entities = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(3)).exchange(eq("http://localhost:8081/evaluate"), eq(HttpMethod.POST),
+                entities.capture(), eq(FeatureEvaluationResponse.class));
+        assertEquals(List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON),
+                entities.getAllValues().stream().map(entity -> entity.getHeaders().getContentType()).toList());
+        assertEquals(List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON),
+                entities.getValue().getHeaders().getAccept());
+    }
+
+    @Test
+    void isEnabled_shouldRepeatEveryConcurrentBinaryRequestAsJson_whenEachIsRejectedWith415() throws Exception {
+        // Given
+        properties.setWireFormat(FeatureToggleProperties.WireFormat.CBOR);
+        properties.setRetryAttempts(1);
+        DefaultFeatureToggleClient cborClient = new DefaultFeatureToggleClient(restTemplate, properties, asyncExecutor);
+        HttpHeaders cborHeaders = new HttpHeaders();
+        cborHeaders.setContentType(MediaType.APPLICATION_CBOR);
+        CountDownLatch bothSentBinary = new CountDownLatch(2);
+        when(restTemplate.exchange(
+                eq("http://localhost:8081/evaluate"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(FeatureEvaluationResponse.class)))
+                .thenReturn(new ResponseEntity<>(new FeatureEvaluationResponse(true), cborHeaders, HttpStatus.OK))
+                .thenAnswer(invocation -> {
+                    HttpEntity<?> entity = invocation.getArgument(2);
+                    if (!MediaType.APPLICATION_CBOR.equals(entity.getHeaders().getContentType())) {
+                        return new ResponseEntity<>(new FeatureEvaluationResponse(true), HttpStatus.OK);
+                    }
+                    bothSentBinary.countDown();
+                    bothSentBinary.await(5, TimeUnit.SECONDS);
+                    throw HttpClientErrorException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+                            HttpHeaders.EMPTY, null, null);
+                });
+        cborClient.isEnabled("warm-up", "prod");
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<Boolean> first = callers.submit(() -> cborClient.isEnabled("feature-a", "prod"));
+            Future<Boolean> second = callers.submit(() -> cborClient.isEnabled("feature-b", "prod"));
+
+            // Then
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(second.get(5, TimeUnit.SECONDS));
+            verify(restTemplate, times(5)).exchange(eq("http://localhost:8081/evaluate"), eq(HttpMethod.POST),
+                    any(HttpEntity.class), eq(FeatureEvaluationResponse.class));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
     // Helper class for testing complex objects
     private static class TestObject {
         final String name;
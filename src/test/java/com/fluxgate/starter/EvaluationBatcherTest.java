@@ -0,0 +1,180 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationBatcherTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Map<FeatureEvaluationKey, FeatureEvaluationRequest>> dispatched = new ArrayList<>();
+    private EvaluationBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_shouldDispatchImmediately_whenBatchIsFull() throws Exception {
+        // Given
+        batcher = new EvaluationBatcher(2, Duration.ofMinutes(1), this::enableAll, executor);
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(key("feature-a"), request("feature-a"));
+        CompletableFuture<Boolean> second = batcher.submit(key("feature-b"), request("feature-b"));
+
+        // Then
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatchedCount());
+        assertEquals(2, dispatched.get(0).size());
+    }
+
+    @Test
+    void submit_shouldDispatchPartialBatch_whenLingerTimeElapses() throws Exception {
+        // Given
+        batcher = new EvaluationBatcher(10, Duration.ofMillis(5), this::enableAll, executor);
+
+        // When
+        CompletableFuture<Boolean> result = batcher.submit(key("feature-a"), request("feature-a"));
+
+        // Then
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatchedCount());
+    }
+
+    @Test
+    void submit_shouldShareResult_whenSameKeyIsSubmittedTwiceInOneBatch() throws Exception {
+        // Given
+        batcher = new EvaluationBatcher(10, Duration.ofMinutes(1), this::enableAll, executor);
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(key("feature-a"), request("feature-a"));
+        CompletableFuture<Boolean> second = batcher.submit(key("feature-a"), request("feature-a"));
+        batcher.flush();
+
+        // Then
+        assertSame(first, second);
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dispatched.get(0).size());
+    }
+
+    @Test
+    void submit_shouldFailEveryEvaluationInBatch_whenDispatchFails() {
+        // Given
+        FeatureToggleException failure = new FeatureToggleException("edge server down");
+        batcher = new EvaluationBatcher(2, Duration.ofMinutes(1), requests -> {
+            throw failure;
+        }, executor);
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(key("feature-a"), request("feature-a"));
+        CompletableFuture<Boolean> second = batcher.submit(key("feature-b"), request("feature-b"));
+
+        // Then
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondError = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertSame(failure, firstError.getCause());
+        assertSame(failure, secondError.getCause());
+    }
+
+    @Test
+    void submit_shouldFailOnlyTheFailedEvaluation_whenOneResultFails() throws Exception {
+        // Given
+        FeatureToggleException failure = new FeatureToggleException("feature-b failed");
+        batcher = new EvaluationBatcher(2, Duration.ofMinutes(1), requests -> Map.of(
+                key("feature-a"), CompletableFuture.completedFuture(true),
+                key("feature-b"), CompletableFuture.failedFuture(failure)), executor);
+
+        // When
+        CompletableFuture<Boolean> first = batcher.submit(key("feature-a"), request("feature-a"));
+        CompletableFuture<Boolean> second = batcher.submit(key("feature-b"), request("feature-b"));
+
+        // Then
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertSame(failure, error.getCause());
+    }
+
+    @Test
+    void submit_shouldDispatchOnOwnThreads_whenNoExecutorIsGiven() throws Exception {
+        // Given
+        AtomicReference<String> dispatchThread = new AtomicReference<>();
+        batcher = new EvaluationBatcher(1, Duration.ofMinutes(1), requests -> {
+            dispatchThread.set(Thread.currentThread().getName());
+            return enableAll(requests);
+        }, 1);
+
+        // When
+        CompletableFuture<Boolean> result = batcher.submit(key("feature-a"), request("feature-a"));
+
+        // Then
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        assertTrue(dispatchThread.get().startsWith("feature-toggle-batch-dispatch-"));
+    }
+
+    @Test
+    void submit_shouldFail_whenResultIsMissingForKey() {
+        // Given
+        batcher = new EvaluationBatcher(1, Duration.ofMinutes(1), requests -> Map.of(), executor);
+
+        // When
+        CompletableFuture<Boolean> result = batcher.submit(key("feature-a"), request("feature-a"));
+
+        // Then
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(FeatureToggleException.class, error.getCause());
+    }
+
+    @Test
+    void close_shouldDispatchPendingEvaluationsAndRejectNewOnes() throws Exception {
+        // Given
+        batcher = new EvaluationBatcher(10, Duration.ofMinutes(1), this::enableAll, executor);
+        CompletableFuture<Boolean> pending = batcher.submit(key("feature-a"), request("feature-a"));
+
+        // When
+        batcher.close();
+        CompletableFuture<Boolean> rejected = batcher.submit(key("feature-b"), request("feature-b"));
+
+        // Then
+        assertTrue(pending.get(5, TimeUnit.SECONDS));
+        assertTrue(rejected.isCompletedExceptionally());
+    }
+
+    private synchronized Map<FeatureEvaluationKey, CompletableFuture<Boolean>> enableAll(
+            Map<FeatureEvaluationKey, FeatureEvaluationRequest> requests) {
+        dispatched.add(requests);
+        Map<FeatureEvaluationKey, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        requests.keySet().forEach(key -> results.put(key, CompletableFuture.completedFuture(true)));
+        return results;
+    }
+
+    private synchronized int dispatchedCount() {
+        return dispatched.size();
+    }
+
+    private static FeatureEvaluationKey key(String featureKey) {
+        return FeatureEvaluationKey.of(request(featureKey));
+    }
+
+    private static FeatureEvaluationRequest request(String featureKey) {
+        return FeatureEvaluationRequest.of(featureKey, "prod");
+    }
+}
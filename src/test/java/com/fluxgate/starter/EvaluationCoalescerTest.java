@@ -0,0 +1,135 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final EvaluationCoalescer coalescer = new EvaluationCoalescer();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldShareSingleEvaluation_whenCallsAreConcurrent() throws Exception {
+        // Given
+        FeatureEvaluationKey key = key("checkout-v2");
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<Boolean>> results = submitConcurrently(() -> coalescer.execute(key, () -> {
+            evaluations.incrementAndGet();
+            await(release);
+            return true;
+        }));
+        waitUntilAllCallersJoined();
+        release.countDown();
+
+        // Then
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, evaluations.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void execute_shouldPropagateErrorToAllCallers_whenSharedEvaluationFails() throws Exception {
+        // Given
+        FeatureEvaluationKey key = key("checkout-v2");
+        CountDownLatch release = new CountDownLatch(1);
+        FeatureToggleException failure = new FeatureToggleException("edge server down");
+
+        // When
+        List<Future<Boolean>> results = submitConcurrently(() -> coalescer.execute(key, () -> {
+            await(release);
+            throw failure;
+        }));
+        waitUntilAllCallersJoined();
+        release.countDown();
+
+        // Then
+        for (Future<Boolean> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void execute_shouldEvaluateAgain_whenPreviousEvaluationHasCompleted() {
+        // Given
+        FeatureEvaluationKey key = key("checkout-v2");
+        AtomicInteger evaluations = new AtomicInteger();
+
+        // When
+        coalescer.execute(key, () -> evaluations.incrementAndGet() > 0);
+        coalescer.execute(key, () -> evaluations.incrementAndGet() > 0);
+
+        // Then
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void execute_shouldNotShareEvaluations_whenKeysDiffer() {
+        // Given
+        AtomicInteger evaluations = new AtomicInteger();
+
+        // When
+        boolean first = coalescer.execute(key("feature-a"), () -> evaluations.incrementAndGet() == 1);
+        boolean second = coalescer.execute(key("feature-b"), () -> evaluations.incrementAndGet() == 1);
+
+        // Then
+        assertTrue(first);
+        assertFalse(second);
+    }
+
+    private List<Future<Boolean>> submitConcurrently(Callable<Boolean> call) {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private void waitUntilAllCallersJoined() throws InterruptedException {
+        // The leader registers the key first; give the followers time to find it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FeatureEvaluationKey key(String featureKey) {
+        return new FeatureEvaluationKey(featureKey, "prod", List.of());
+    }
+}
@@ -0,0 +1,88 @@
+package com.fluxgate.starter;
+
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.fluxgate.starter.FlagRuleset.Segment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureEvaluationCacheInvalidatorTest {
+
+    private FeatureEvaluationCache cache;
+    private FeatureEvaluationCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cache = new FeatureEvaluationCache(Duration.ofMinutes(1), 100);
+        invalidator = new FeatureEvaluationCacheInvalidator(cache);
+        cache.put(key("checkout-v2"), true);
+        cache.put(key("dark-mode"), false);
+    }
+
+    @Test
+    void rulesetUpdated_shouldInvalidateOnlyChangedFlags() {
+        // Given
+        FlagRuleset previous = ruleset(1, List.of(flag("checkout-v2", false), flag("dark-mode", true)), List.of());
+        FlagRuleset current = ruleset(2, List.of(flag("checkout-v2", true), flag("dark-mode", true)), List.of());
+
+        // When
+        invalidator.rulesetUpdated(previous, current);
+
+        // Then
+        assertNull(cache.get(key("checkout-v2")));
+        assertEquals(Boolean.FALSE, cache.get(key("dark-mode")));
+    }
+
+    @Test
+    void rulesetUpdated_shouldInvalidateRemovedFlags() {
+        // Given
+        FlagRuleset previous = ruleset(1, List.of(flag("checkout-v2", true), flag("dark-mode", true)), List.of());
+        FlagRuleset current = ruleset(2, List.of(flag("dark-mode", true)), List.of());
+
+        // When
+        invalidator.rulesetUpdated(previous, current);
+
+        // Then
+        assertNull(cache.get(key("checkout-v2")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void rulesetUpdated_shouldInvalidateEverything_whenSegmentsChange() {
+        // Given
+        List<FlagDefinition> flags = List.of(flag("checkout-v2", true));
+        FlagRuleset previous = ruleset(1, flags, List.of());
+        FlagRuleset current = ruleset(2, flags, List.of(new Segment("beta", List.of())));
+
+        // When
+        invalidator.rulesetUpdated(previous, current);
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rulesetUpdated_shouldInvalidateEverything_whenFirstRulesetIsLoaded() {
+        // When
+        invalidator.rulesetUpdated(null, ruleset(1, List.of(), List.of()));
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    private static FlagRuleset ruleset(long version, List<FlagDefinition> flags, List<Segment> segments) {
+        return new FlagRuleset("prod", version, flags, segments);
+    }
+
+    private static FlagDefinition flag(String key, boolean enabled) {
+        return new FlagDefinition(key, enabled, true, List.of());
+    }
+
+    private static FeatureEvaluationKey key(String featureKey) {
+        return new FeatureEvaluationKey(featureKey, "prod", List.of());
+    }
+}
@@ -0,0 +1,338 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureEvaluationCacheTest {
+
+    private MutableClock clock;
+    private FeatureEvaluationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new FeatureEvaluationCache(Duration.ofSeconds(10), 2, clock);
+    }
+
+    @Test
+    void get_shouldReturnNull_whenKeyIsNotCached() {
+        // When
+        Boolean result = cache.get(key("feature-a"));
+
+        // Then
+        assertNull(result);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void get_shouldReturnCachedValue_whenEntryIsLive() {
+        // Given
+        cache.put(key("feature-a"), true);
+
+        // When
+        Boolean result = cache.get(key("feature-a"));
+
+        // Then
+        assertEquals(Boolean.TRUE, result);
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void get_shouldReturnNull_whenEntryHasExpired() {
+        // Given
+        cache.put(key("feature-a"), true);
+        clock.advance(Duration.ofSeconds(10));
+
+        // When
+        Boolean result = cache.get(key("feature-a"));
+
+        // Then
+        assertNull(result);
+        assertEquals(1, cache.stats().evictionCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntry_whenMaxSizeIsExceeded() {
+        // Given
+        cache.put(key("feature-a"), true);
+        cache.put(key("feature-b"), false);
+        cache.get(key("feature-a"));
+
+        // When
+        cache.put(key("feature-c"), true);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().evictionCount());
+        assertEquals(Boolean.TRUE, cache.get(key("feature-a")));
+        assertNull(cache.get(key("feature-b")));
+    }
+
+    @Test
+    void evictExpired_shouldRemoveOnlyExpiredEntries() {
+        // Given
+        cache.put(key("feature-a"), true);
+        clock.advance(Duration.ofSeconds(5));
+        cache.put(key("feature-b"), true);
+        clock.advance(Duration.ofSeconds(5));
+
+        // When
+        cache.evictExpired();
+
+        // Then
+        assertEquals(1, cache.size());
+        assertEquals(Boolean.TRUE, cache.get(key("feature-b")));
+    }
+
+    @Test
+    void invalidateAll_shouldRemoveAllEntries() {
+        // Given
+        cache.put(key("feature-a"), true);
+        cache.put(key("feature-b"), true);
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidateFeature_shouldRemoveEntriesOfThatFeatureOnly() {
+        // Given
+        FeatureEvaluationCache largeCache = new FeatureEvaluationCache(Duration.ofSeconds(10), 10, clock);
+        largeCache.put(key("feature-a"), true);
+        largeCache.put(new FeatureEvaluationKey("feature-a", "staging", List.of()), true);
+        largeCache.put(key("feature-b"), true);
+
+        // When
+        largeCache.invalidateFeature("feature-a");
+
+        // Then
+        assertEquals(1, largeCache.size());
+        assertEquals(Boolean.TRUE, largeCache.get(key("feature-b")));
+    }
+
+    @Test
+    void key_shouldIgnoreContextOrder() {
+        // Given
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("userId", "123");
+        first.put("country", "US");
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("country", "US");
+        second.put("userId", "123");
+
+        // When
+        FeatureEvaluationKey firstKey = FeatureEvaluationKey.of(FeatureEvaluationRequest.of("f", "prod", first));
+        FeatureEvaluationKey secondKey = FeatureEvaluationKey.of(FeatureEvaluationRequest.of("f", "prod", second));
+
+        // Then
+        assertEquals(firstKey, secondKey);
+        assertEquals(firstKey.hashCode(), secondKey.hashCode());
+    }
+
+    @Test
+    void key_shouldMatchKeyOfEquivalentListContext() {
+        // Given
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("userId", "123");
+        context.put("country", "US");
+        FeatureEvaluationRequest fromList = new FeatureEvaluationRequest("f", "prod",
+                List.of(new FeatureContext("userId", "123"), new FeatureContext("country", "US")));
+
+        // When
+        FeatureEvaluationKey mapKey = FeatureEvaluationKey.of(FeatureEvaluationRequest.of("f", "prod", context));
+        FeatureEvaluationKey listKey = FeatureEvaluationKey.of(fromList);
+
+        // Then
+        assertEquals(listKey, mapKey);
+        assertEquals(listKey.hashCode(), mapKey.hashCode());
+    }
+
+    @Test
+    void key_shouldReuseSortedContext_whenKeyedRepeatedly() {
+        // Given
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("userId", "123");
+        context.put("country", "US");
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("f", "prod", context);
+
+        // When
+        FeatureEvaluationKey first = FeatureEvaluationKey.of(request);
+        FeatureEvaluationKey second = FeatureEvaluationKey.of(request);
+
+        // Then
+        assertSame(first.context(), second.context());
+        assertEquals("country", first.context().get(0).key());
+    }
+
+    @Test
+    void key_shouldLeaveRequestContextInMapOrder() {
+        // Given
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("userId", "123");
+        context.put("country", "US");
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("f", "prod", context);
+
+        // When
+        FeatureEvaluationKey key = FeatureEvaluationKey.of(request);
+
+        // Then
+        assertEquals(List.of(new FeatureContext("userId", "123"), new FeatureContext("country", "US")),
+                request.context());
+        assertEquals(List.of(new FeatureContext("country", "US"), new FeatureContext("userId", "123")),
+                key.context());
+    }
+
+    @Test
+    void key_shouldIgnoreClientCredentials() {
+        // Given
+        FeatureEvaluationRequest withCredentials = FeatureEvaluationRequest.builder()
+                .featureKey("f")
+                .environmentId("prod")
+                .clientId("client")
+                .clientSecret("secret")
+                .build();
+
+        // When & Then
+        assertEquals(FeatureEvaluationKey.of(FeatureEvaluationRequest.of("f", "prod")),
+                FeatureEvaluationKey.of(withCredentials));
+    }
+
+    @Test
+    void stats_shouldReportHitRate() {
+        // Given
+        cache.put(key("feature-a"), true);
+        cache.get(key("feature-a"));
+        cache.get(key("feature-b"));
+
+        // When
+        FeatureEvaluationCache.Stats stats = cache.stats();
+
+        // Then
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void lookup_shouldReturnStaleEntry_whenWithinMaxStaleness() {
+        // Given
+        FeatureEvaluationCache staleCache = new FeatureEvaluationCache(
+                Duration.ofSeconds(10), Duration.ofSeconds(30), 10, clock);
+        staleCache.put(key("feature-a"), true);
+        clock.advance(Duration.ofSeconds(15));
+
+        // When
+        FeatureEvaluationCache.CachedEvaluation cached = staleCache.lookup(key("feature-a"));
+
+        // Then
+        assertNotNull(cached);
+        assertTrue(cached.enabled());
+        assertTrue(cached.stale());
+        assertNull(staleCache.get(key("feature-a")));
+        assertEquals(1, staleCache.stats().staleHitCount());
+    }
+
+    @Test
+    void lookup_shouldReturnNull_whenMaxStalenessIsExceeded() {
+        // Given
+        FeatureEvaluationCache staleCache = new FeatureEvaluationCache(
+                Duration.ofSeconds(10), Duration.ofSeconds(30), 10, clock);
+        staleCache.put(key("feature-a"), true);
+        clock.advance(Duration.ofSeconds(40));
+
+        // When
+        FeatureEvaluationCache.CachedEvaluation cached = staleCache.lookup(key("feature-a"));
+
+        // Then
+        assertNull(cached);
+        assertEquals(0, staleCache.size());
+    }
+
+    @Test
+    void lookup_shouldReturnFreshEntry_whenWithinTtl() {
+        // Given
+        cache.put(key("feature-a"), false);
+
+        // When
+        FeatureEvaluationCache.CachedEvaluation cached = cache.lookup(key("feature-a"));
+
+        // Then
+        assertNotNull(cached);
+        assertFalse(cached.enabled());
+        assertFalse(cached.stale());
+    }
+
+    @Test
+    void from_shouldKeepStaleEntries_whenStaleWhileRevalidateIsEnabled() {
+        // Given
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        properties.setCacheEntryTtl(Duration.ofMillis(1));
+        properties.setCacheStaleWhileRevalidate(true);
+        properties.setCacheMaxStaleness(Duration.ofMinutes(1));
+        FeatureEvaluationCache staleCache = FeatureEvaluationCache.from(properties);
+        staleCache.put(key("feature-a"), true);
+
+        // When
+        sleepMillis(5);
+        FeatureEvaluationCache.CachedEvaluation cached = staleCache.lookup(key("feature-a"));
+
+        // Then
+        assertNotNull(cached);
+        assertTrue(cached.stale());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new FeatureEvaluationCache(Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new FeatureEvaluationCache(Duration.ofSeconds(1), 0));
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static FeatureEvaluationKey key(String featureKey) {
+        return new FeatureEvaluationKey(featureKey, "prod", List.of());
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.fluxgate.starter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureEvaluationMemoTest {
+
+    private static final FeatureEvaluationKey KEY = new FeatureEvaluationKey("feature", "prod", List.of());
+
+    @AfterEach
+    void tearDown() {
+        FeatureEvaluationMemo.bind(null);
+    }
+
+    @Test
+    void remember_shouldKeepFirstResult() {
+        // Given
+        FeatureEvaluationMemo memo = new FeatureEvaluationMemo();
+
+        // When
+        boolean first = memo.remember(KEY, true);
+        boolean second = memo.remember(KEY, false);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(Boolean.TRUE, memo.get(KEY));
+        assertEquals(1, memo.size());
+    }
+
+    @Test
+    void bind_shouldReturnPreviousMemo() {
+        // Given
+        FeatureEvaluationMemo outer = new FeatureEvaluationMemo();
+        FeatureEvaluationMemo inner = new FeatureEvaluationMemo();
+        FeatureEvaluationMemo.bind(outer);
+
+        // When
+        FeatureEvaluationMemo previous = FeatureEvaluationMemo.bind(inner);
+
+        // Then
+        assertSame(outer, previous);
+        assertSame(inner, FeatureEvaluationMemo.current());
+    }
+
+    @Test
+    void servletFilter_shouldBindFreshMemoForEachRequest() throws Exception {
+        // Given
+        FeatureEvaluationMemoFilter filter = new FeatureEvaluationMemoFilter();
+        List<FeatureEvaluationMemo> seen = new ArrayList<>();
+        FilterChain chain = (request, response) -> seen.add(FeatureEvaluationMemo.current());
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(2, seen.size());
+        assertNotNull(seen.get(0));
+        assertNotNull(seen.get(1));
+        assertNotSame(seen.get(0), seen.get(1));
+        assertNull(FeatureEvaluationMemo.current());
+    }
+
+    @Test
+    void webFilter_shouldStoreMemoInReactorContext() {
+        // Given
+        FeatureEvaluationMemoWebFilter filter = new FeatureEvaluationMemoWebFilter();
+        AtomicReference<FeatureEvaluationMemo> seen = new AtomicReference<>();
+        WebFilterChain chain = exchange -> Mono.deferContextual(context -> {
+            seen.set(context.getOrDefault(FeatureEvaluationMemo.CONTEXT_KEY, null));
+            return Mono.empty();
+        });
+
+        // When
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/")), chain).block();
+
+        // Then
+        assertNotNull(seen.get());
+    }
+}
@@ -0,0 +1,106 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureEvaluationPayloadConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FeatureToggleProperties properties;
+    private FeatureEvaluationPayloadConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeatureToggleProperties();
+        properties.setClientId("client");
+        properties.setClientSecret("se\"cret");
+        converter = new FeatureEvaluationPayloadConverter(properties);
+    }
+
+    @Test
+    void write_shouldMatchDataBinding_whenRequestUsesConfiguredCredentials() throws Exception {
+        // Given
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("user_id", "42");
+        context.put("name", "Zoë \"Z\" \\ O'Neil");
+        FeatureEvaluationRequest request = DefaultFeatureToggleClient.enrichRequest(
+                FeatureEvaluationRequest.of("new-checkout", "prod", context), properties);
+
+        // When
+        JsonNode first = write(request);
+        JsonNode second = write(request);
+
+        // Then
+        assertEquals(objectMapper.valueToTree(request), first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void write_shouldWriteFieldsIndividually_whenRequestHasOtherCredentials() throws Exception {
+        // Given
+        FeatureEvaluationRequest request = new FeatureEvaluationRequest("new-checkout", "prod",
+                List.of(new FeatureContext("tier", null)), "other-client", "other-secret");
+
+        // When
+        JsonNode json = write(request);
+
+        // Then
+        assertEquals(objectMapper.valueToTree(request), json);
+        assertEquals("other-client", json.get("client_id").asText());
+    }
+
+    @Test
+    void write_shouldWriteNullCredentials_whenNoneAreConfigured() throws Exception {
+        // Given
+        converter = new FeatureEvaluationPayloadConverter(new FeatureToggleProperties());
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("new-checkout", "prod");
+
+        // When
+        JsonNode json = write(request);
+
+        // Then
+        assertEquals(objectMapper.valueToTree(request), json);
+        assertTrue(json.get("client_secret").isNull());
+    }
+
+    @Test
+    void write_shouldWriteBatchRequests() throws Exception {
+        // Given
+        BatchEvaluationRequest batch = new BatchEvaluationRequest(List.of(
+                DefaultFeatureToggleClient.enrichRequest(FeatureEvaluationRequest.of("feature-a", "prod"), properties),
+                DefaultFeatureToggleClient.enrichRequest(FeatureEvaluationRequest.of("feature-b", "staging",
+                        Map.of("user_id", "42")), properties)));
+
+        // When
+        JsonNode json = write(batch);
+
+        // Then
+        assertEquals(objectMapper.valueToTree(batch), json);
+    }
+
+    @Test
+    void canRead_shouldBeFalse() {
+        // When & Then
+        assertFalse(converter.canRead(FeatureEvaluationRequest.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(FeatureEvaluationRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(FeatureEvaluationResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    private JsonNode write(Object payload) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(payload, MediaType.APPLICATION_JSON, message);
+        return objectMapper.readTree(message.getBodyAsBytes());
+    }
+}
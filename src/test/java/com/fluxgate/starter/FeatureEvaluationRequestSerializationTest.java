@@ -3,6 +3,8 @@ package com.fluxgate.starter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -106,4 +108,52 @@ class FeatureEvaluationRequestSerializationTest {
         assertNotNull(request4.context());
         assertEquals(0, request4.context().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSerializeMapContextInIterationOrder() throws Exception {
+        // Given
+        Map<String, String> contextMap = new LinkedHashMap<>();
+        contextMap.put("user.type", "premium");
+        contextMap.put("user.id", "123");
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("test-feature", "prod", contextMap);
+
+        // When
+        String json = objectMapper.writeValueAsString(request);
+
+        // Then
+        assertTrue(json.contains("\"context\":[{\"key\":\"user.type\",\"value\":\"premium\"},"
+                + "{\"key\":\"user.id\",\"value\":\"123\"}]"),
+                "Context should keep the map's iteration order. JSON: " + json);
+        assertThrows(UnsupportedOperationException.class,
+                () -> request.context().add(new FeatureContext("other", "value")));
+    }
+
+    @Test
+    void shouldSerializeBatchRequestAsListOfRequests() throws Exception {
+        // Given
+        BatchEvaluationRequest batch = new BatchEvaluationRequest(List.of(
+                FeatureEvaluationRequest.of("feature-a", "prod"),
+                FeatureEvaluationRequest.of("feature-b", "prod")));
+
+        // When
+        String json = objectMapper.writeValueAsString(batch);
+
+        // Then
+        assertTrue(json.startsWith("{\"requests\":[{\"feature_key\":\"feature-a\""),
+                "Batch should wrap requests in a requests array. JSON: " + json);
+        assertTrue(json.contains("\"feature_key\":\"feature-b\""),
+                "Batch should contain every request. JSON: " + json);
+    }
+
+    @Test
+    void shouldDeserializeBatchResponseResultsInOrder() throws Exception {
+        // When
+        BatchEvaluationResponse response = objectMapper.readValue(
+                "{\"results\":[{\"enabled\":true},{\"enabled\":false}]}", BatchEvaluationResponse.class);
+
+        // Then
+        assertEquals(2, response.getResults().size());
+        assertTrue(response.getResults().get(0).isEnabled());
+        assertFalse(response.getResults().get(1).isEnabled());
+    }
+}
@@ -0,0 +1,141 @@
+package com.fluxgate.starter;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class FeatureSnapshotTest {
+
+    private static final Map<String, String> CONTEXT_HEADERS = new LinkedHashMap<>(Map.of(
+            "user_id", "X-User-Id",
+            "country", "X-Country"));
+
+    private final FeatureContextExtractor extractor = FeatureContextExtractor.fromHeaders(CONTEXT_HEADERS);
+
+    @AfterEach
+    void tearDown() {
+        FeatureSnapshot.bind(null);
+        FeatureEvaluationMemo.bind(null);
+    }
+
+    @Test
+    void fromHeaders_shouldCopyPresentHeadersIntoContext() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-User-Id", "42");
+
+        // When
+        Map<String, String> context = extractor.extract(headers);
+
+        // Then
+        assertEquals(Map.of("user_id", "42"), context);
+    }
+
+    @Test
+    void servletFilter_shouldPrefetchFlagsInOneBulkCallAndSeedMemo() throws Exception {
+        // Given
+        FluxGateClient client = mock(FluxGateClient.class);
+        Map<String, String> context = Map.of("user_id", "42", "country", "NZ");
+        FeatureEvaluationRequest checkout = FeatureEvaluationRequest.of("new-checkout", "prod", context);
+        FeatureEvaluationRequest search = FeatureEvaluationRequest.of("new-search", "prod", context);
+        when(client.isEnabledAll(anyCollection())).thenReturn(Map.of(checkout, true, search, false));
+
+        FeatureSnapshotFilter filter = new FeatureSnapshotFilter(client, extractor, "prod",
+                List.of("new-checkout", "new-search"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "42");
+        request.addHeader("X-Country", "NZ");
+        AtomicReference<FeatureSnapshot> snapshot = new AtomicReference<>();
+        AtomicReference<Boolean> memoized = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            snapshot.set(FeatureSnapshot.current());
+            memoized.set(FeatureEvaluationMemo.current().get(FeatureEvaluationKey.of(checkout)));
+        };
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        verify(client, times(1)).isEnabledAll(anyCollection());
+        assertEquals(context, snapshot.get().getContext());
+        assertTrue(snapshot.get().isEnabled("new-checkout", false));
+        assertFalse(snapshot.get().isEnabled("new-search", true));
+        assertEquals(Boolean.TRUE, memoized.get());
+        assertSame(snapshot.get(), request.getAttribute(FeatureSnapshot.CONTEXT_KEY));
+        assertNull(FeatureSnapshot.current());
+        assertNull(FeatureEvaluationMemo.current());
+    }
+
+    @Test
+    void servletFilter_shouldContinueWithEmptySnapshot_whenPrefetchFails() throws Exception {
+        // Given
+        FluxGateClient client = mock(FluxGateClient.class);
+        when(client.isEnabledAll(anyCollection())).thenThrow(new FeatureToggleException("edge server down"));
+        FeatureSnapshotFilter filter = new FeatureSnapshotFilter(client, extractor, "prod", List.of("new-checkout"));
+        AtomicReference<FeatureSnapshot> snapshot = new AtomicReference<>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (req, res) -> snapshot.set(FeatureSnapshot.current()));
+
+        // Then
+        assertNotNull(snapshot.get());
+        assertNull(snapshot.get().get("new-checkout"));
+    }
+
+    @Test
+    void webFilter_shouldStoreSnapshotAndMemoInReactorContext() {
+        // Given
+        ReactiveFluxGateClient client = mock(ReactiveFluxGateClient.class);
+        Map<String, String> context = Map.of("user_id", "42");
+        FeatureEvaluationRequest checkout = FeatureEvaluationRequest.of("new-checkout", "prod", context);
+        when(client.isEnabledAll(anyCollection())).thenReturn(Mono.just(Map.of(checkout, true)));
+
+        FeatureSnapshotWebFilter filter = new FeatureSnapshotWebFilter(client, extractor, "prod",
+                List.of("new-checkout"));
+        AtomicReference<FeatureSnapshot> snapshot = new AtomicReference<>();
+        AtomicReference<FeatureEvaluationMemo> memo = new AtomicReference<>();
+        WebFilterChain chain = exchange -> Mono.deferContextual(reactorContext -> {
+            snapshot.set(reactorContext.get(FeatureSnapshot.CONTEXT_KEY));
+            memo.set(reactorContext.get(FeatureEvaluationMemo.CONTEXT_KEY));
+            return Mono.empty();
+        });
+
+        // When
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/").header("X-User-Id", "42")), chain)
+                .block();
+
+        // Then
+        assertTrue(snapshot.get().isEnabled("new-checkout", false));
+        assertEquals(Boolean.TRUE, memo.get().get(FeatureEvaluationKey.of(checkout)));
+    }
+
+    @Test
+    void request_shouldMatchSnapshotContext() {
+        // Given
+        FeatureSnapshot snapshot = new FeatureSnapshot("prod", Map.of("user_id", "42"), Map.of("new-checkout", true));
+
+        // When
+        FeatureEvaluationRequest request = snapshot.request("new-checkout");
+
+        // Then
+        assertEquals(FeatureEvaluationKey.of(FeatureEvaluationRequest.of("new-checkout", "prod",
+                Map.of("user_id", "42"))), FeatureEvaluationKey.of(request));
+    }
+}
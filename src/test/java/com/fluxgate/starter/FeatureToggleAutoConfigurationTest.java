@@ -1,16 +1,32 @@
 package com.fluxgate.starter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -92,6 +108,125 @@ class FeatureToggleAutoConfigurationTest {
                 });
     }
 
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldConfigurePlatformThreadPoolBeforeJava21() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context.getBean("featureToggleAsyncExecutor"))
+                        .isInstanceOf(ThreadPoolTaskExecutor.class));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldConfigureVirtualThreadExecutorOnJava21() {
+        // When & Then
+        contextRunner
+                .run(context -> {
+                    assertThat(context).hasSingleBean(Executor.class);
+                    Executor executor = context.getBean("featureToggleAsyncExecutor", Executor.class);
+                    assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+
+                    // Thread.isVirtual() is looked up reflectively as the tests are compiled for Java 17
+                    Method isVirtual = Thread.class.getMethod("isVirtual");
+                    CompletableFuture<Object> virtual = new CompletableFuture<>();
+                    executor.execute(() -> {
+                        try {
+                            virtual.complete(isVirtual.invoke(Thread.currentThread()));
+                        } catch (ReflectiveOperationException e) {
+                            virtual.completeExceptionally(e);
+                        }
+                    });
+                    assertThat(virtual.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+                });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldConfigurePlatformThreadPoolWhenVirtualThreadsAreDisabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.virtual-threads-enabled=false")
+                .run(context -> assertThat(context.getBean("featureToggleAsyncExecutor"))
+                        .isInstanceOf(ThreadPoolTaskExecutor.class));
+    }
+
+    @Test
+    void shouldConfigurePooledRestTemplateWhenApacheHttpClientIsPresent() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.http-pool-max-connections=100")
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getRequestFactory())
+                        .isInstanceOf(HttpComponentsClientHttpRequestFactory.class));
+    }
+
+    @Test
+    void shouldConfigureHttp2RestTemplateWhenTransportIsHttp2() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.transport=http2")
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getRequestFactory())
+                        .isInstanceOf(JdkClientHttpRequestFactory.class));
+    }
+
+    @Test
+    void shouldWriteEvaluationPayloadsWithStreamingConverterFirst() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getMessageConverters().get(0))
+                        .isInstanceOf(FeatureEvaluationPayloadConverter.class));
+    }
+
+    @Test
+    void shouldNotAddStreamingConverterWhenDisabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.streaming-payload-enabled=false")
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getMessageConverters())
+                        .noneMatch(FeatureEvaluationPayloadConverter.class::isInstance));
+    }
+
+    @Test
+    void shouldAddBinaryConverterWhenWireFormatIsSmile() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.wire-format=smile")
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getMessageConverters())
+                        .anyMatch(converter -> converter.getSupportedMediaTypes()
+                                .contains(WireFormatNegotiator.APPLICATION_SMILE)));
+    }
+
+    @Test
+    void shouldNotAddCompressionInterceptorByDefault() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getInterceptors())
+                        .noneMatch(FeatureToggleCompressionInterceptor.class::isInstance));
+    }
+
+    @Test
+    void shouldDecompressResponsesWithoutInterceptor_whenOnlyResponseCompressionIsEnabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.compression-enabled=true")
+                .run(context -> {
+                    RestTemplate restTemplate = context.getBean(RestTemplate.class);
+                    assertThat(restTemplate.getInterceptors()).isEmpty();
+                    assertThat(restTemplate.getRequestFactory()).isInstanceOf(DecompressingRequestFactory.class);
+                });
+    }
+
+    @Test
+    void shouldAddCompressionInterceptorWhenEnabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.compression-enabled=true",
+                        "fluxgate.request-compression-enabled=true",
+                        "fluxgate.request-compression-threshold=4KB")
+                .run(context -> assertThat(context.getBean(RestTemplate.class).getInterceptors())
+                        .anyMatch(FeatureToggleCompressionInterceptor.class::isInstance));
+    }
+
     @Test
     void shouldConfigureFeatureToggleClientWithDependencies() {
         // When & Then
@@ -259,6 +394,304 @@ class FeatureToggleAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void shouldConfigureEvaluationCacheWhenCachingIsEnabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.caching-enabled=true",
+                        "fluxgate.cache-max-size=50")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureEvaluationCache.class);
+                    assertThat(context).hasSingleBean(FluxGateClient.class);
+                });
+    }
+
+    @Test
+    void shouldNotConfigureEvaluationCacheByDefault() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(FeatureEvaluationCache.class));
+    }
+
+    @Test
+    void shouldConfigureReactiveClientWhenWebFluxIsPresent() {
+        // When & Then
+        contextRunner
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ReactiveFluxGateClient.class);
+                    assertThat(context.getBean(ReactiveFluxGateClient.class))
+                            .isInstanceOf(WebClientFluxGateClient.class);
+                });
+    }
+
+    @Test
+    void shouldNotConfigureReactiveClientWhenDisabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.reactive-client-enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(ReactiveFluxGateClient.class);
+                    assertThat(context).hasSingleBean(FluxGateClient.class);
+                });
+    }
+
+    @Test
+    void shouldConfigureLocalEvaluationWhenEvaluationModeIsLocal() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.evaluation-mode=local",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FlagRulesetStore.class);
+                    assertThat(context).hasSingleBean(LocalFeatureEvaluator.class);
+                    assertThat(context).hasSingleBean(FluxGateClient.class);
+                    // The edge server is unreachable, so no ruleset could be loaded
+                    assertThat(context.getBean(LocalFeatureEvaluator.class).isReady()).isFalse();
+                });
+    }
+
+    @Test
+    void shouldFailToStartWhenLocalEvaluationHasNoEnvironment() {
+        // When & Then
+        contextRunner
+                .withPropertyValues("fluxgate.evaluation-mode=local")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void shouldPollRulesetToInvalidateCacheWhenCachingIsEnabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.caching-enabled=true",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FlagRulesetPoller.class);
+                    assertThat(context).doesNotHaveBean(LocalFeatureEvaluator.class);
+
+                    FeatureEvaluationCache cache = context.getBean(FeatureEvaluationCache.class);
+                    cache.put(new FeatureEvaluationKey("feature", "prod", List.of()), true);
+                    context.getBean(FlagRulesetStore.class).update(new FlagRuleset("prod", 2, List.of(), List.of()));
+                    assertThat(cache.size()).isZero();
+                });
+    }
+
+    @Test
+    void shouldNotPollRulesetWhenPollingIsDisabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.evaluation-mode=local",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.ruleset-polling-enabled=false",
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(FlagRulesetPoller.class);
+                    assertThat(context).hasSingleBean(LocalFeatureEvaluator.class);
+                });
+    }
+
+    @Test
+    void shouldConfigureRulesetStreamerWhenStreamingIsEnabled() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.evaluation-mode=local",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.ruleset-streaming-enabled=true",
+                        "fluxgate.ruleset-polling-enabled=false",
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FlagRulesetStreamer.class);
+                    assertThat(context).doesNotHaveBean(FlagRulesetPoller.class);
+                });
+    }
+
+    @Test
+    void shouldRestoreRulesetFromSnapshotWhenEdgeServerIsUnreachable(@TempDir Path directory) throws Exception {
+        // Given
+        Path file = directory.resolve("ruleset.bin");
+        try (FlagRulesetSnapshot snapshot = new FlagRulesetSnapshot(file, "prod", new ObjectMapper())) {
+            snapshot.write(new FlagRuleset("prod", 5, List.of(), List.of()));
+        }
+
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.evaluation-mode=local",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.ruleset-snapshot-file=" + file,
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FlagRulesetSnapshot.class);
+                    assertThat(context.getBean(LocalFeatureEvaluator.class).isReady()).isTrue();
+                    assertThat(context.getBean(FlagRulesetStore.class).current().getVersion()).isEqualTo(5);
+                });
+    }
+
+    @Test
+    void shouldNotConfigureRulesetSnapshotByDefault() {
+        // When & Then
+        contextRunner
+                .withPropertyValues(
+                        "fluxgate.evaluation-mode=local",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.ruleset-polling-enabled=false",
+                        "fluxgate.base-url=http://localhost:1",
+                        "fluxgate.connection-timeout=PT0.2S")
+                .run(context -> assertThat(context).doesNotHaveBean(FlagRulesetSnapshot.class));
+    }
+
+    @Test
+    void shouldConfigureMemoFilter_whenRequestMemoizationIsEnabledInServletApplication() {
+        // When & Then
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .withPropertyValues("fluxgate.request-memoization-enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureEvaluationMemoFilter.class);
+                    assertThat(context).doesNotHaveBean(FeatureEvaluationMemoWebFilter.class);
+                });
+    }
+
+    @Test
+    void shouldConfigureMemoWebFilter_whenRequestMemoizationIsEnabledInReactiveApplication() {
+        // When & Then
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .withPropertyValues("fluxgate.request-memoization-enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureEvaluationMemoWebFilter.class);
+                    assertThat(context).doesNotHaveBean(FeatureEvaluationMemoFilter.class);
+                });
+    }
+
+    @Test
+    void shouldConfigureSnapshotFilter_whenPrefetchIsEnabledInServletApplication() {
+        // When & Then
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .withPropertyValues(
+                        "fluxgate.prefetch-enabled=true",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.prefetch-features=new-checkout,new-search",
+                        "fluxgate.prefetch-context-headers.user_id=X-User-Id")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureSnapshotFilter.class);
+                    assertThat(context).hasSingleBean(FeatureContextExtractor.class);
+                    assertThat(context.getBean(FeatureToggleProperties.class).getPrefetchFeatures())
+                            .containsExactly("new-checkout", "new-search");
+                });
+    }
+
+    @Test
+    void shouldFailToStart_whenPrefetchIsEnabledWithoutEnvironment() {
+        // When & Then
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .withPropertyValues("fluxgate.prefetch-enabled=true", "fluxgate.prefetch-features=new-checkout")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void shouldConfigureSnapshotWebFilter_whenPrefetchIsEnabledInReactiveApplication() {
+        // When & Then
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .withPropertyValues(
+                        "fluxgate.prefetch-enabled=true",
+                        "fluxgate.environment-id=prod",
+                        "fluxgate.prefetch-features=new-checkout")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureSnapshotWebFilter.class);
+                    assertThat(context).doesNotHaveBean(FeatureSnapshotFilter.class);
+                });
+    }
+
+    @Test
+    void shouldNotConfigureMemoFilterByDefault() {
+        // When & Then
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(FeatureToggleAutoConfiguration.class))
+                .withUserConfiguration(TestConfiguration.class)
+                .run(context -> assertThat(context).doesNotHaveBean(FeatureEvaluationMemoFilter.class));
+    }
+
+    @Test
+    void shouldConfigureMicrometerMetrics_whenMeterRegistryIsAvailable() {
+        // When & Then
+        contextRunner
+                .withBean(SimpleMeterRegistry.class)
+                .run(context -> assertThat(context.getBean(FeatureToggleMetrics.class))
+                        .isInstanceOf(MicrometerFeatureToggleMetrics.class));
+    }
+
+    @Test
+    void shouldNotConfigureMetrics_whenDisabled() {
+        // When & Then
+        contextRunner
+                .withBean(SimpleMeterRegistry.class)
+                .withPropertyValues("fluxgate.metrics-enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(FeatureToggleMetrics.class));
+    }
+
+    @Test
+    void shouldNotConfigureMetrics_whenNoMeterRegistryIsAvailable() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(FeatureToggleMetrics.class));
+    }
+
+    @Test
+    void shouldConfigureCircuitBreaker_whenEnabled() {
+        // When & Then
+        contextRunner
+                .withBean(SimpleMeterRegistry.class)
+                .withPropertyValues("fluxgate.circuit-breaker-enabled=true",
+                        "fluxgate.circuit-breaker-sliding-window-size=10")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FeatureToggleCircuitBreaker.class);
+                    assertThat(context.getBean(SimpleMeterRegistry.class)
+                            .find("feature_toggle.circuit_breaker.state").tag("state", "closed").gauge())
+                            .isNotNull();
+                });
+    }
+
+    @Test
+    void shouldNotConfigureCircuitBreakerByDefault() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(FeatureToggleCircuitBreaker.class));
+    }
+
+    @Test
+    void shouldNotPollRulesetByDefault() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(FlagRulesetStore.class));
+    }
+
+    @Test
+    void shouldNotConfigureLocalEvaluationByDefault() {
+        // When & Then
+        contextRunner
+                .run(context -> assertThat(context).doesNotHaveBean(LocalFeatureEvaluator.class));
+    }
+
     // Helper configuration classes for testing conditional beans
 
     @Configuration
@@ -0,0 +1,154 @@
+package com.fluxgate.starter;
+
+import com.fluxgate.starter.FeatureEvaluationCacheTest.MutableClock;
+import com.fluxgate.starter.FeatureToggleCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureToggleCircuitBreakerTest {
+
+    private MutableClock clock;
+    private FeatureToggleCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        circuitBreaker = new FeatureToggleCircuitBreaker(50, 4, Duration.ofSeconds(30), 2, clock);
+    }
+
+    @Test
+    void onFailure_shouldNotOpen_untilSlidingWindowIsFull() {
+        // When
+        recordCalls(true, true, true);
+
+        // Then
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_shouldOpen_whenFailureRateReachesThreshold() {
+        // When
+        recordCalls(false, true, false, true);
+
+        // Then
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onSuccess_shouldKeepBreakerClosed_whenFailureRateIsBelowThreshold() {
+        // When
+        recordCalls(true, false, false, false, true);
+
+        // Then
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(25f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    void tryAcquirePermission_shouldLetProbesThrough_whenOpenDurationHasPassed() {
+        // Given
+        recordCalls(true, true, true, true);
+        clock.advance(Duration.ofSeconds(30));
+
+        // When & Then
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onSuccess_shouldCloseBreaker_whenAllProbesSucceed() {
+        // Given
+        openAndLetProbesThrough();
+
+        // When
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Then
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onFailure_shouldReopenBreaker_whenProbeFails() {
+        // Given
+        openAndLetProbesThrough();
+
+        // When
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // Then
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void releasePermission_shouldAllowAnotherProbe_whenProbeWasCancelled() {
+        // Given
+        openAndLetProbesThrough();
+
+        // When
+        circuitBreaker.releasePermission();
+
+        // Then
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onError_shouldCountOnlyNetworkAndServerErrorsAsFailures() {
+        // When
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onError(new FeatureToggleException("Not found", "checkout-v2", "prod", 404));
+        }
+
+        // Then
+        assertEquals(0f, circuitBreaker.getFailureRate());
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            circuitBreaker.onError(new FeatureToggleException("Bad gateway", "checkout-v2", "prod", 502));
+        }
+
+        // Then
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FeatureToggleCircuitBreaker(0, 4, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FeatureToggleCircuitBreaker(50, 0, Duration.ofSeconds(1), 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FeatureToggleCircuitBreaker(50, 4, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FeatureToggleCircuitBreaker(50, 4, Duration.ofSeconds(1), 0));
+    }
+
+    private void openAndLetProbesThrough() {
+        recordCalls(true, true, true, true);
+        clock.advance(Duration.ofSeconds(30));
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+    }
+
+    private void recordCalls(boolean... failures) {
+        for (boolean failure : failures) {
+            if (failure) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureToggleCompressionInterceptorTest {
+
+    private static final byte[] PAYLOAD = "{\"feature_key\":\"new-checkout\",\"enabled\":true}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicReference<HttpRequest> sentRequest = new AtomicReference<>();
+    private final AtomicReference<byte[]> sentBody = new AtomicReference<>();
+
+    @Test
+    void intercept_shouldAcceptCompressedResponses() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(-1);
+
+        // When
+        interceptor.intercept(request(), PAYLOAD, respondWith(new MockClientHttpResponse(PAYLOAD, HttpStatus.OK)));
+
+        // Then
+        assertEquals(FeatureToggleCompressionInterceptor.ACCEPT_ENCODING,
+                sentRequest.get().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertNull(sentRequest.get().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(PAYLOAD, sentBody.get());
+    }
+
+    @Test
+    void intercept_shouldDecompressGzipResponse() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(-1);
+        MockClientHttpResponse compressed = new MockClientHttpResponse(gzip(PAYLOAD), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        compressed.getHeaders().setContentLength(gzip(PAYLOAD).length);
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], respondWith(compressed));
+
+        // Then
+        assertArrayEquals(PAYLOAD, StreamUtils.copyToByteArray(response.getBody()));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void intercept_shouldDecompressDeflateResponse() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(-1);
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(deflated)) {
+            deflater.write(PAYLOAD);
+        }
+        MockClientHttpResponse compressed = new MockClientHttpResponse(deflated.toByteArray(), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "deflate");
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], respondWith(compressed));
+
+        // Then
+        assertArrayEquals(PAYLOAD, StreamUtils.copyToByteArray(response.getBody()));
+    }
+
+    @Test
+    void intercept_shouldReturnEmptyBody_whenEncodedResponseHasNoBody() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(-1);
+        MockClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        notModified.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], respondWith(notModified));
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(-1, response.getBody().read());
+    }
+
+    @Test
+    void intercept_shouldGzipRequestBody_whenAtLeastThreshold() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(PAYLOAD.length);
+
+        // When
+        interceptor.intercept(request(), PAYLOAD, respondWith(new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        // Then
+        HttpHeaders headers = sentRequest.get().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(sentBody.get().length, headers.getContentLength());
+        assertArrayEquals(PAYLOAD, gunzip(sentBody.get()));
+    }
+
+    @Test
+    void intercept_shouldSendRequestBodyAsIs_whenBelowThreshold() throws IOException {
+        // Given
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(PAYLOAD.length + 1);
+
+        // When
+        interceptor.intercept(request(), PAYLOAD, respondWith(new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        // Then
+        assertNull(sentRequest.get().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(PAYLOAD, sentBody.get());
+    }
+
+    @Test
+    void constructor_shouldNotCompressRequests_whenRequestCompressionIsDisabled() throws IOException {
+        // Given
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        properties.setCompressionEnabled(true);
+        FeatureToggleCompressionInterceptor interceptor = new FeatureToggleCompressionInterceptor(properties);
+
+        // When
+        interceptor.intercept(request(), new byte[64 * 1024],
+                respondWith(new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        // Then
+        assertNull(sentRequest.get().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private static HttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost/api/v1/evaluate"));
+    }
+
+    private ClientHttpRequestExecution respondWith(ClientHttpResponse response) {
+        return (request, body) -> {
+            sentRequest.set(request);
+            sentBody.set(body);
+            return response;
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return StreamUtils.copyToByteArray(gzip);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -22,6 +24,24 @@ class FeatureToggleHealthIndicatorTest {
         healthIndicator = new FeatureToggleHealthIndicator(featureToggleClient);
     }
 
+    @Test
+    void shouldReportCircuitBreakerState_whenCircuitBreakerIsConfigured() {
+        // Given
+        FeatureToggleCircuitBreaker circuitBreaker = new FeatureToggleCircuitBreaker(50, 1, Duration.ofMinutes(1), 1);
+        circuitBreaker.onFailure();
+        FeatureToggleHealthIndicator indicator = new FeatureToggleHealthIndicator(featureToggleClient, circuitBreaker);
+        when(featureToggleClient.isHealthy()).thenReturn(false);
+
+        // When
+        var health = indicator.health();
+
+        // Then
+        assertEquals("DOWN", health.getStatus().getCode());
+        assertEquals("OPEN", health.getDetails().get("circuitBreaker"));
+        assertTrue(health.getDetails().containsKey("circuitBreakerFailureRate"));
+        assertEquals("Edge server is not reachable", health.getDetails().get("status"));
+    }
+
     @Test
     void shouldReportUpWhenClientIsHealthy() {
         // Given
@@ -1,6 +1,7 @@
 package com.fluxgate.starter;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 
@@ -31,6 +32,46 @@ class FeatureTogglePropertiesTest {
         assertFalse(properties.isCachingEnabled());
         assertEquals(Duration.ofMinutes(5), properties.getCacheEntryTtl());
         assertEquals(1000, properties.getCacheMaxSize());
+        assertTrue(properties.isRequestCoalescingEnabled());
+        assertFalse(properties.isCacheStaleWhileRevalidate());
+        assertEquals(Duration.ofMinutes(5), properties.getCacheMaxStaleness());
+        assertTrue(properties.isBatchEvaluationEnabled());
+        assertFalse(properties.isMicroBatchingEnabled());
+        assertEquals(50, properties.getMicroBatchMaxSize());
+        assertEquals(Duration.ofMillis(2), properties.getMicroBatchMaxLinger());
+        assertTrue(properties.isReactiveClientEnabled());
+        assertEquals(FeatureToggleProperties.EvaluationMode.REMOTE, properties.getEvaluationMode());
+        assertNull(properties.getEnvironmentId());
+        assertTrue(properties.isRulesetPollingEnabled());
+        assertEquals(Duration.ofSeconds(30), properties.getRulesetPollInterval());
+        assertFalse(properties.isRulesetStreamingEnabled());
+        assertEquals(Duration.ofSeconds(1), properties.getRulesetStreamReconnectDelay());
+        assertEquals(Duration.ofSeconds(30), properties.getRulesetStreamMaxReconnectDelay());
+        assertEquals(Duration.ofSeconds(60), properties.getRulesetStreamIdleTimeout());
+        assertNull(properties.getRulesetSnapshotFile());
+        assertTrue(properties.isVirtualThreadsEnabled());
+        assertEquals(50, properties.getHttpPoolMaxConnections());
+        assertEquals(20, properties.getHttpPoolMaxConnectionsPerRoute());
+        assertEquals(Duration.ofSeconds(30), properties.getHttpPoolKeepAlive());
+        assertEquals(Duration.ofSeconds(60), properties.getHttpPoolIdleEvictionTimeout());
+        assertEquals(Duration.ofMinutes(5), properties.getHttpPoolConnectionTtl());
+        assertEquals(FeatureToggleProperties.Transport.HTTP1, properties.getTransport());
+        assertEquals(FeatureToggleProperties.RetryMode.BLOCKING, properties.getRetryMode());
+        assertEquals(Duration.ofSeconds(15), properties.getRetryDeadline());
+        assertFalse(properties.isCircuitBreakerEnabled());
+        assertEquals(50, properties.getCircuitBreakerFailureRateThreshold());
+        assertEquals(20, properties.getCircuitBreakerSlidingWindowSize());
+        assertEquals(Duration.ofSeconds(30), properties.getCircuitBreakerOpenDuration());
+        assertEquals(3, properties.getCircuitBreakerHalfOpenProbes());
+        assertFalse(properties.isRequestMemoizationEnabled());
+        assertFalse(properties.isPrefetchEnabled());
+        assertTrue(properties.getPrefetchFeatures().isEmpty());
+        assertTrue(properties.getPrefetchContextHeaders().isEmpty());
+        assertTrue(properties.isStreamingPayloadEnabled());
+        assertEquals(FeatureToggleProperties.WireFormat.JSON, properties.getWireFormat());
+        assertFalse(properties.isCompressionEnabled());
+        assertFalse(properties.isRequestCompressionEnabled());
+        assertEquals(DataSize.ofKilobytes(8), properties.getRequestCompressionThreshold());
     }
 
     @Test
@@ -0,0 +1,94 @@
+package com.fluxgate.starter;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureToggleRequestFactoriesTest {
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/health", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "UP".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void pooled_shouldReuseConnectionAcrossSequentialRequests() throws Exception {
+        // Given
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/health";
+
+        HttpComponentsClientHttpRequestFactory factory = FeatureToggleRequestFactories.pooled(properties);
+        RestTemplate restTemplate = new RestTemplate(factory);
+
+        // When
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertEquals("UP", restTemplate.getForObject(url, String.class));
+            }
+        } finally {
+            factory.destroy();
+        }
+
+        // Then
+        assertEquals(1, clientPorts.size(), "Expected all requests on one kept-alive connection");
+    }
+
+    @Test
+    void http2_shouldConfigureJdkClientForHttp2() {
+        // Given
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+
+        // When
+        JdkClientHttpRequestFactory factory = FeatureToggleRequestFactories.http2(properties);
+
+        // Then
+        HttpClient httpClient = (HttpClient) ReflectionTestUtils.getField(factory, "httpClient");
+        assertNotNull(httpClient);
+        assertEquals(HttpClient.Version.HTTP_2, httpClient.version());
+        assertEquals(properties.getConnectionTimeout(), httpClient.connectTimeout().orElseThrow());
+    }
+
+    @Test
+    void http2_shouldFallBackToHttp11_whenServerDoesNotSupportHttp2() {
+        // Given
+        String url = "http://localhost:" + server.getAddress().getPort() + "/health";
+        RestTemplate restTemplate = new RestTemplate(FeatureToggleRequestFactories.http2(new FeatureToggleProperties()));
+
+        // When
+        String body = restTemplate.getForObject(url, String.class);
+
+        // Then
+        assertEquals("UP", body);
+    }
+}
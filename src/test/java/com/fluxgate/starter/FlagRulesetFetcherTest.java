@@ -0,0 +1,152 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlagRulesetFetcherTest {
+
+    private static final String RULESET_URL = "http://localhost:8081/ruleset?environment_id={environmentId}";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private FeatureToggleProperties properties;
+    private FlagRulesetFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeatureToggleProperties();
+        properties.setBaseUrl("http://localhost:8081");
+        properties.setEnvironmentId("prod");
+        fetcher = new FlagRulesetFetcher(restTemplate, properties);
+    }
+
+    @Test
+    void fetch_shouldReturnRuleset_whenEdgeServerResponds() {
+        // Given
+        FlagRuleset ruleset = new FlagRuleset("prod", 5, List.of(), List.of());
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod"))).thenReturn(new ResponseEntity<>(ruleset, HttpStatus.OK));
+
+        // When
+        FlagRuleset result = fetcher.fetch();
+
+        // Then
+        assertSame(ruleset, result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fetch_shouldSendClientCredentialsAsHeaders_whenConfigured() {
+        // Given
+        properties.setClientId("client");
+        properties.setClientSecret("secret");
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod")))
+                .thenReturn(new ResponseEntity<>(new FlagRuleset("prod", 1, List.of(), List.of()), HttpStatus.OK));
+
+        // When
+        fetcher.fetch();
+
+        // Then
+        ArgumentCaptor<HttpEntity<Void>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(RULESET_URL), eq(HttpMethod.GET), entity.capture(),
+                eq(FlagRuleset.class), eq("prod"));
+        assertEquals("client", entity.getValue().getHeaders().getFirst(FlagRulesetFetcher.CLIENT_ID_HEADER));
+        assertEquals("secret", entity.getValue().getHeaders().getFirst(FlagRulesetFetcher.CLIENT_SECRET_HEADER));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fetch_shouldAcceptBinaryWireFormatBeforeJson_whenConfigured() {
+        // Given
+        properties.setWireFormat(FeatureToggleProperties.WireFormat.CBOR);
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod")))
+                .thenReturn(new ResponseEntity<>(new FlagRuleset("prod", 1, List.of(), List.of()), HttpStatus.OK));
+
+        // When
+        fetcher.fetch();
+
+        // Then
+        ArgumentCaptor<HttpEntity<Void>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(RULESET_URL), eq(HttpMethod.GET), entity.capture(),
+                eq(FlagRuleset.class), eq("prod"));
+        assertEquals(List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON),
+                entity.getValue().getHeaders().getAccept());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fetchIfModified_shouldSendEtagOfPreviousRuleset() {
+        // Given
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"v5\"");
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod")))
+                .thenReturn(new ResponseEntity<>(new FlagRuleset("prod", 5, List.of(), List.of()), responseHeaders,
+                        HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+        fetcher.fetch();
+
+        // When
+        FlagRuleset result = fetcher.fetchIfModified();
+
+        // Then
+        assertNull(result);
+        ArgumentCaptor<HttpEntity<Void>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(eq(RULESET_URL), eq(HttpMethod.GET), entity.capture(),
+                eq(FlagRuleset.class), eq("prod"));
+        assertTrue(entity.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"v5\""), entity.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
+    @Test
+    void fetch_shouldThrowFeatureToggleException_whenClientErrorOccurs() {
+        // Given
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod")))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null));
+
+        // When
+        FeatureToggleException exception = assertThrows(FeatureToggleException.class, fetcher::fetch);
+
+        // Then
+        assertEquals(401, exception.getStatusCode());
+        assertEquals("prod", exception.getEnvironmentId());
+    }
+
+    @Test
+    void fetch_shouldThrowFeatureToggleException_whenNetworkErrorOccurs() {
+        // Given
+        when(restTemplate.exchange(eq(RULESET_URL), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(FlagRuleset.class), eq("prod")))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        FeatureToggleException exception = assertThrows(FeatureToggleException.class, fetcher::fetch);
+
+        // Then
+        assertTrue(exception.getMessage().contains("Network error"));
+    }
+}
@@ -0,0 +1,178 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlagRulesetPollerTest {
+
+    @Mock
+    private FlagRulesetFetcher fetcher;
+
+    private FlagRulesetStore store;
+    private FlagRulesetPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        store = new FlagRulesetStore();
+        poller = new FlagRulesetPoller(fetcher, store, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.close();
+    }
+
+    @Test
+    void poll_shouldFetchUnconditionally_whenNoRulesetIsLoaded() {
+        // Given
+        FlagRuleset ruleset = ruleset(1);
+        when(fetcher.fetch()).thenReturn(ruleset);
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertTrue(updated);
+        assertSame(ruleset, store.current());
+        verify(fetcher, never()).fetchIfModified();
+    }
+
+    @Test
+    void poll_shouldKeepCurrentRuleset_whenNotModified() {
+        // Given
+        FlagRuleset ruleset = ruleset(1);
+        store.update(ruleset);
+        when(fetcher.fetchIfModified()).thenReturn(null);
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertFalse(updated);
+        assertSame(ruleset, store.current());
+    }
+
+    @Test
+    void poll_shouldReplaceRestoredSnapshot_whenItsVersionIsAboveServerVersion() {
+        // Given
+        store.restore(ruleset(42));
+        FlagRuleset server = ruleset(3);
+        when(fetcher.fetchIfModified()).thenReturn(server, (FlagRuleset) null);
+
+        // When
+        boolean replaced = poller.poll();
+        boolean unchanged = poller.poll();
+
+        // Then
+        assertTrue(replaced);
+        assertFalse(unchanged);
+        assertSame(server, store.current());
+    }
+
+    @Test
+    void poll_shouldSwapRuleset_whenVersionChanged() {
+        // Given
+        store.update(ruleset(1));
+        FlagRuleset changed = ruleset(2);
+        when(fetcher.fetchIfModified()).thenReturn(changed);
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertTrue(updated);
+        assertSame(changed, store.current());
+    }
+
+    @Test
+    void poll_shouldNotNotifyListeners_whenSameVersionIsReturned() {
+        // Given
+        store.update(ruleset(1));
+        Runnable listener = mock(Runnable.class);
+        store.addListener((previous, current) -> listener.run());
+        when(fetcher.fetchIfModified()).thenReturn(ruleset(1));
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertFalse(updated);
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    void poll_shouldKeepNewerRuleset_whenPollReturnsOlderVersion() {
+        // Given
+        FlagRuleset streamed = ruleset(3);
+        store.update(streamed);
+        when(fetcher.fetchIfModified()).thenReturn(ruleset(2));
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertFalse(updated);
+        assertSame(streamed, store.current());
+    }
+
+    @Test
+    void poll_shouldKeepCurrentRuleset_whenFetchFails() {
+        // Given
+        FlagRuleset ruleset = ruleset(1);
+        store.update(ruleset);
+        when(fetcher.fetchIfModified()).thenThrow(new FeatureToggleException("edge server down"));
+
+        // When
+        boolean updated = poller.poll();
+
+        // Then
+        assertFalse(updated);
+        assertSame(ruleset, store.current());
+    }
+
+    @Test
+    void start_shouldLoadRulesetBeforeReturning() {
+        // Given
+        when(fetcher.fetch()).thenReturn(ruleset(1));
+
+        // When
+        poller.start();
+
+        // Then
+        assertTrue(store.isLoaded());
+    }
+
+    @Test
+    void start_shouldPollInBackground_whenRulesetIsAlreadyLoaded() {
+        // Given
+        store.update(ruleset(1));
+        when(fetcher.fetchIfModified()).thenReturn(ruleset(2));
+
+        // When
+        poller.start();
+
+        // Then
+        verify(fetcher, timeout(1000)).fetchIfModified();
+        verify(fetcher, never()).fetch();
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new FlagRulesetPoller(fetcher, store, Duration.ZERO));
+    }
+
+    private static FlagRuleset ruleset(long version) {
+        return new FlagRuleset("prod", version, List.of(), List.of());
+    }
+}
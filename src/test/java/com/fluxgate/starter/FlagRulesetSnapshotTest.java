@@ -0,0 +1,121 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.fluxgate.starter.FlagRuleset.Operator;
+import com.fluxgate.starter.FlagRuleset.Segment;
+import com.fluxgate.starter.FlagRuleset.TargetingCondition;
+import com.fluxgate.starter.FlagRuleset.TargetingRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlagRulesetSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private FlagRulesetSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("snapshots").resolve("ruleset.bin");
+        snapshot = new FlagRulesetSnapshot(file, "prod", new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.close();
+    }
+
+    @Test
+    void load_shouldReturnWrittenRuleset() throws Exception {
+        // Given
+        FlagRuleset ruleset = ruleset("prod", 7);
+        snapshot.write(ruleset);
+
+        // When
+        FlagRuleset loaded = snapshot.load();
+
+        // Then
+        assertEquals(ruleset, loaded);
+        assertNotNull(loaded.getFlag("new-checkout"));
+    }
+
+    @Test
+    void load_shouldReturnNull_whenFileDoesNotExist() {
+        // When & Then
+        assertNull(snapshot.load());
+    }
+
+    @Test
+    void load_shouldReturnNull_whenFileIsCorrupt() throws Exception {
+        // Given
+        snapshot.write(ruleset("prod", 7));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        // When & Then
+        assertNull(snapshot.load());
+    }
+
+    @Test
+    void load_shouldReturnNull_whenFileIsTruncated() throws Exception {
+        // Given
+        snapshot.write(ruleset("prod", 7));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        // When & Then
+        assertNull(snapshot.load());
+    }
+
+    @Test
+    void load_shouldReturnNull_whenSnapshotBelongsToAnotherEnvironment() throws Exception {
+        // Given
+        snapshot.write(ruleset("staging", 7));
+
+        // When & Then
+        assertNull(snapshot.load());
+    }
+
+    @Test
+    void rulesetUpdated_shouldWriteLatestRulesetInBackground() {
+        // Given
+        FlagRulesetStore store = new FlagRulesetStore();
+        store.addListener(snapshot);
+
+        // When
+        store.update(ruleset("prod", 1));
+        store.update(ruleset("prod", 2));
+        snapshot.close();
+
+        // Then
+        FlagRuleset loaded = snapshot.load();
+        assertNotNull(loaded);
+        assertEquals(2, loaded.getVersion());
+    }
+
+    @Test
+    void constructor_shouldRejectNullFile() {
+        assertThrows(IllegalArgumentException.class, () -> new FlagRulesetSnapshot(null, "prod", new ObjectMapper()));
+    }
+
+    private static FlagRuleset ruleset(String environmentId, long version) {
+        TargetingCondition condition = new TargetingCondition("country", Operator.IN, List.of("NZ", "AU"));
+        FlagDefinition flag = new FlagDefinition("new-checkout", true, false,
+                List.of(new TargetingRule(List.of(condition), true, 50, "user_id")));
+        Segment segment = new Segment("beta", List.of(new TargetingCondition("tier", Operator.EQUALS, List.of("beta"))));
+        return new FlagRuleset(environmentId, version, List.of(flag), List.of(segment));
+    }
+}
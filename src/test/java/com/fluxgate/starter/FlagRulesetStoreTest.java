@@ -0,0 +1,101 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlagRulesetStoreTest {
+
+    private final FlagRulesetStore store = new FlagRulesetStore();
+
+    @Test
+    void update_shouldReplaceCurrentRuleset() {
+        // Given
+        FlagRuleset first = new FlagRuleset("prod", 1, List.of(), List.of());
+        FlagRuleset second = new FlagRuleset("prod", 2, List.of(), List.of());
+
+        // When
+        store.update(first);
+        store.update(second);
+
+        // Then
+        assertTrue(store.isLoaded());
+        assertSame(second, store.current());
+    }
+
+    @Test
+    void update_shouldNotifyListeners_evenWhenOneOfThemFails() {
+        // Given
+        List<Long> versions = new ArrayList<>();
+        store.addListener((previous, current) -> {
+            throw new IllegalStateException("listener failure");
+        });
+        store.addListener((previous, current) -> versions.add(current.getVersion()));
+
+        // When
+        store.update(new FlagRuleset("prod", 3, List.of(), List.of()));
+
+        // Then
+        assertEquals(List.of(3L), versions);
+    }
+
+    @Test
+    void updateIfNewer_shouldKeepCurrentRuleset_whenVersionIsNotNewer() {
+        // Given
+        FlagRuleset current = new FlagRuleset("prod", 5, List.of(), List.of());
+        store.update(current);
+        List<Long> versions = new ArrayList<>();
+        store.addListener((previous, updated) -> versions.add(updated.getVersion()));
+
+        // When
+        boolean older = store.updateIfNewer(new FlagRuleset("prod", 4, List.of(), List.of()));
+        boolean same = store.updateIfNewer(new FlagRuleset("prod", 5, List.of(), List.of()));
+
+        // Then
+        assertFalse(older);
+        assertFalse(same);
+        assertSame(current, store.current());
+        assertTrue(versions.isEmpty());
+    }
+
+    @Test
+    void updateIfNewer_shouldReplaceCurrentRuleset_whenVersionIsNewer() {
+        // Given
+        store.update(new FlagRuleset("prod", 5, List.of(), List.of()));
+        FlagRuleset newer = new FlagRuleset("prod", 6, List.of(), List.of());
+
+        // When
+        boolean updated = store.updateIfNewer(newer);
+
+        // Then
+        assertTrue(updated);
+        assertSame(newer, store.current());
+    }
+
+    @Test
+    void updateIfNewer_shouldReplaceRestoredRuleset_evenWhenVersionIsLower() {
+        // Given
+        store.restore(new FlagRuleset("prod", 9, List.of(), List.of()));
+        FlagRuleset fetched = new FlagRuleset("prod", 3, List.of(), List.of());
+
+        // When
+        boolean replaced = store.updateIfNewer(fetched);
+        boolean older = store.updateIfNewer(new FlagRuleset("prod", 2, List.of(), List.of()));
+
+        // Then
+        assertTrue(replaced);
+        assertFalse(older);
+        assertSame(fetched, store.current());
+        assertFalse(store.isProvisional());
+    }
+
+    @Test
+    void update_shouldRejectNullRuleset() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> store.update(null));
+        assertFalse(store.isLoaded());
+    }
+}
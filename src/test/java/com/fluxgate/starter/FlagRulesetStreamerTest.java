@@ -0,0 +1,288 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlagRulesetStreamerTest {
+
+    @Mock
+    private FlagRulesetFetcher fetcher;
+
+    private FeatureToggleProperties properties;
+    private FlagRulesetStore store;
+    private FlagRulesetStreamer streamer;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeatureToggleProperties();
+        properties.setEnvironmentId("prod");
+        properties.setRulesetStreamReconnectDelay(Duration.ofMillis(10));
+        store = new FlagRulesetStore();
+        streamer = new FlagRulesetStreamer(HttpClient.newHttpClient(), properties, fetcher, store, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamer.close();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void consume_shouldReplaceRuleset_whenRulesetEventIsReceived() {
+        // When
+        streamer.consume(List.of(
+                "id: 3",
+                "event: ruleset",
+                "data: {\"environment_id\": \"prod\", \"version\": 3,",
+                "data:  \"flags\": [{\"key\": \"checkout-v2\", \"enabled\": true}]}",
+                "").iterator());
+
+        // Then
+        assertEquals(3, store.current().getVersion());
+        assertNotNull(store.current().getFlag("checkout-v2"));
+        assertEquals("3", streamer.getLastEventId());
+    }
+
+    @Test
+    void consume_shouldKeepNewerRuleset_whenRulesetEventIsOlder() {
+        // Given
+        FlagRuleset polled = new FlagRuleset("prod", 5, List.of(), List.of());
+        store.update(polled);
+
+        // When
+        streamer.consume(List.of(
+                "id: 4",
+                "event: ruleset",
+                "data: {\"environment_id\": \"prod\", \"version\": 4, \"flags\": []}",
+                "").iterator());
+
+        // Then
+        assertSame(polled, store.current());
+        assertEquals("4", streamer.getLastEventId());
+    }
+
+    @Test
+    void consume_shouldApplyIncrementalFlagEvents() {
+        // Given
+        store.update(new FlagRuleset("prod", 1, List.of(
+                new FlagDefinition("checkout-v2", false, false, List.of()),
+                new FlagDefinition("dark-mode", true, true, List.of())), List.of()));
+
+        // When
+        streamer.consume(List.of(
+                ": heartbeat",
+                "",
+                "id: 2",
+                "event: flag_updated",
+                "data: {\"key\": \"checkout-v2\", \"enabled\": true, \"default_value\": true}",
+                "",
+                "id: 3",
+                "event: flag_deleted",
+                "data: {\"key\": \"dark-mode\"}",
+                "").iterator());
+
+        // Then
+        FlagRuleset ruleset = store.current();
+        assertEquals(3, ruleset.getVersion());
+        assertTrue(ruleset.getFlag("checkout-v2").enabled());
+        assertNull(ruleset.getFlag("dark-mode"));
+        assertEquals("3", streamer.getLastEventId());
+    }
+
+    @Test
+    void consume_shouldReloadRuleset_whenEventCannotBeApplied() {
+        // Given
+        store.update(new FlagRuleset("prod", 1, List.of(), List.of()));
+        FlagRuleset reloaded = new FlagRuleset("prod", 9, List.of(), List.of());
+        when(fetcher.fetch()).thenReturn(reloaded);
+
+        // When
+        streamer.consume(List.of("event: flag_deleted", "data: {}", "").iterator());
+
+        // Then
+        assertSame(reloaded, store.current());
+    }
+
+    @Test
+    void consume_shouldReloadRulesetAndAdvanceLastEventId_whenPayloadIsNullOrHasNoKey() {
+        // Given
+        store.update(new FlagRuleset("prod", 1, List.of(), List.of()));
+        FlagRuleset reloaded = new FlagRuleset("prod", 9, List.of(), List.of());
+        when(fetcher.fetch()).thenReturn(reloaded);
+
+        // When
+        streamer.consume(List.of(
+                "id: 2",
+                "event: flag_updated",
+                "data: null",
+                "",
+                "id: 3",
+                "event: segment_updated",
+                "data: {\"conditions\": []}",
+                "").iterator());
+
+        // Then
+        verify(fetcher, times(2)).fetch();
+        assertSame(reloaded, store.current());
+        assertEquals("3", streamer.getLastEventId());
+    }
+
+    @Test
+    void consume_shouldReloadRulesetInsteadOfInventingVersion_whenEventIdIsNotNumeric() {
+        // Given
+        store.update(new FlagRuleset("prod", 4, List.of(), List.of()));
+        FlagRuleset reloaded = new FlagRuleset("prod", 4, List.of(
+                new FlagDefinition("checkout-v2", true, true, List.of())), List.of());
+        when(fetcher.fetch()).thenReturn(reloaded);
+
+        // When
+        streamer.consume(List.of(
+                "id: evt-8f2c",
+                "event: flag_updated",
+                "data: {\"key\": \"checkout-v2\", \"enabled\": true}",
+                "").iterator());
+
+        // Then
+        verify(fetcher).fetch();
+        assertEquals(4, store.current().getVersion());
+        assertNull(store.current().getFlag("checkout-v2"));
+        assertEquals("evt-8f2c", streamer.getLastEventId());
+    }
+
+    @Test
+    void consume_shouldReloadRuleset_whenIncrementalEventArrivesBeforeRuleset() {
+        // Given
+        FlagRuleset loaded = new FlagRuleset("prod", 4, List.of(), List.of());
+        when(fetcher.fetch()).thenReturn(loaded);
+
+        // When
+        streamer.consume(List.of(
+                "event: flag_updated",
+                "data: {\"key\": \"checkout-v2\", \"enabled\": true}",
+                "").iterator());
+
+        // Then
+        assertSame(loaded, store.current());
+    }
+
+    @Test
+    void consume_shouldReloadRulesetInsteadOfPatchingRestoredOne() {
+        // Given
+        store.restore(new FlagRuleset("prod", 42, List.of(), List.of()));
+        FlagRuleset server = new FlagRuleset("prod", 3, List.of(), List.of());
+        when(fetcher.fetch()).thenReturn(server);
+
+        // When
+        streamer.consume(List.of(
+                "id: 4",
+                "event: flag_updated",
+                "data: {\"key\": \"checkout-v2\", \"enabled\": true}",
+                "").iterator());
+
+        // Then
+        assertSame(server, store.current());
+        assertFalse(store.isProvisional());
+    }
+
+    @Test
+    void start_shouldReconnectAndResumeFromLastEventId() throws Exception {
+        // Given
+        BlockingQueue<String> lastEventIds = new LinkedBlockingQueue<>();
+        AtomicInteger connections = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ruleset/stream", exchange -> {
+            String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            lastEventIds.add(lastEventId != null ? lastEventId : "<none>");
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                if (connections.incrementAndGet() == 1) {
+                    body.write(("id: 7\nevent: flag_updated\n"
+                            + "data: {\"key\": \"checkout-v2\", \"enabled\": true}\n\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.start();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        store.update(new FlagRuleset("prod", 1, List.of(), List.of()));
+
+        // When
+        streamer.start();
+
+        // Then
+        assertEquals("<none>", lastEventIds.poll(5, TimeUnit.SECONDS));
+        assertEquals("7", lastEventIds.poll(5, TimeUnit.SECONDS));
+        assertEquals(7, store.current().getVersion());
+        assertTrue(store.current().getFlag("checkout-v2").enabled());
+        verifyNoInteractions(fetcher);
+    }
+
+    @Test
+    void start_shouldReconnect_whenStreamIsIdleForLongerThanIdleTimeout() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger connections = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ruleset/stream", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                if (connections.incrementAndGet() == 1) {
+                    // Half-open: the connection stays up but nothing arrives
+                    body.write(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                    release.await(10, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.setRulesetStreamIdleTimeout(Duration.ofMillis(200));
+        store.update(new FlagRuleset("prod", 1, List.of(), List.of()));
+
+        try {
+            // When
+            streamer.start();
+
+            // Then
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (connections.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(connections.get() >= 2);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.fluxgate.starter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxgate.starter.FlagRuleset.FlagDefinition;
+import com.fluxgate.starter.FlagRuleset.Operator;
+import com.fluxgate.starter.FlagRuleset.Segment;
+import com.fluxgate.starter.FlagRuleset.TargetingCondition;
+import com.fluxgate.starter.FlagRuleset.TargetingRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFeatureEvaluatorTest {
+
+    private FlagRulesetStore store;
+    private LocalFeatureEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        store = new FlagRulesetStore();
+        evaluator = new LocalFeatureEvaluator(store);
+    }
+
+    @Test
+    void evaluate_shouldReturnFalse_whenFlagIsSwitchedOff() {
+        // Given
+        store.update(ruleset(new FlagDefinition("checkout-v2", false, true, List.of())));
+
+        // When & Then
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod")));
+    }
+
+    @Test
+    void evaluate_shouldReturnDefaultValue_whenNoRuleMatches() {
+        // Given
+        TargetingRule rule = new TargetingRule(
+                List.of(condition("country", Operator.IN, "US", "CA")), false, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, true, List.of(rule))));
+
+        // When
+        boolean result = evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("country", "DE")));
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void evaluate_shouldApplyFirstMatchingRule() {
+        // Given
+        TargetingRule beta = new TargetingRule(
+                List.of(condition("plan", Operator.EQUALS, "beta")), true, null, null);
+        TargetingRule us = new TargetingRule(
+                List.of(condition("country", Operator.EQUALS, "US")), false, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(beta, us))));
+
+        // When
+        boolean result = evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("plan", "beta", "country", "US")));
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void evaluate_shouldRequireAllConditionsOfRuleToMatch() {
+        // Given
+        TargetingRule rule = new TargetingRule(List.of(
+                condition("country", Operator.EQUALS, "US"),
+                condition("age", Operator.GREATER_THAN_OR_EQUAL, "18")), true, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rule))));
+
+        // When & Then
+        assertTrue(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("country", "US", "age", "21"))));
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("country", "US", "age", "9"))));
+    }
+
+    @Test
+    void evaluate_shouldNotMatchCondition_whenAttributeIsMissing() {
+        // Given
+        TargetingRule rule = new TargetingRule(
+                List.of(condition("country", Operator.NOT_EQUALS, "US")), true, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rule))));
+
+        // When & Then
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod")));
+    }
+
+    @Test
+    void evaluate_shouldSupportStringAndPatternOperators() {
+        assertTrue(matches(condition("email", Operator.ENDS_WITH, "@example.com"), Map.of("email", "a@example.com")));
+        assertTrue(matches(condition("email", Operator.STARTS_WITH, "admin"), Map.of("email", "admin@x.io")));
+        assertTrue(matches(condition("agent", Operator.CONTAINS, "Mobile"), Map.of("agent", "Safari Mobile")));
+        assertTrue(matches(condition("version", Operator.MATCHES, "^2\\.\\d+$"), Map.of("version", "2.14")));
+        assertFalse(matches(condition("version", Operator.MATCHES, "("), Map.of("version", "2.14")));
+        assertTrue(matches(condition("country", Operator.NOT_IN, "US", "CA"), Map.of("country", "DE")));
+        assertTrue(matches(condition("score", Operator.LESS_THAN, "10"), Map.of("score", "9.5")));
+    }
+
+    @Test
+    void evaluate_shouldCompileInvalidPatternOnce_andClearPatternsWhenRulesetChanges() {
+        // Given
+        TargetingRule rule = new TargetingRule(
+                List.of(condition("version", Operator.MATCHES, "(", "^2\\.")), true, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rule))));
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("version", "1.0"));
+
+        // When
+        assertFalse(evaluator.evaluate(request));
+        assertFalse(evaluator.evaluate(request));
+
+        // Then
+        assertEquals(2, evaluator.cachedPatternCount());
+
+        // When
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of())));
+
+        // Then
+        assertEquals(0, evaluator.cachedPatternCount());
+    }
+
+    @Test
+    void evaluate_shouldMatchSegmentConditions() {
+        // Given
+        Segment internal = new Segment("internal-users",
+                List.of(condition("email", Operator.ENDS_WITH, "@fluxgate.io")));
+        TargetingRule rule = new TargetingRule(
+                List.of(condition(null, Operator.IN_SEGMENT, "internal-users")), true, null, null);
+        store.update(new FlagRuleset("prod", 1,
+                List.of(new FlagDefinition("checkout-v2", true, false, List.of(rule))), List.of(internal)));
+
+        // When & Then
+        assertTrue(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("email", "dev@fluxgate.io"))));
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod",
+                Map.of("email", "someone@example.com"))));
+    }
+
+    @Test
+    void evaluate_shouldAssignRolloutDeterministically() {
+        // Given
+        TargetingRule rollout = new TargetingRule(List.of(), true, 50, "userId");
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rollout))));
+
+        // When
+        int enabled = 0;
+        for (int i = 0; i < 1000; i++) {
+            FeatureEvaluationRequest request = FeatureEvaluationRequest.of("checkout-v2", "prod",
+                    Map.of("userId", "user-" + i));
+            boolean first = evaluator.evaluate(request);
+            assertEquals(first, evaluator.evaluate(request));
+            if (first) {
+                enabled++;
+            }
+        }
+
+        // Then
+        assertTrue(enabled > 400 && enabled < 600, "Expected roughly half enabled but was " + enabled);
+    }
+
+    @Test
+    void evaluate_shouldServeDefaultValue_whenRolloutAttributeIsMissing() {
+        // Given
+        TargetingRule rollout = new TargetingRule(List.of(), true, 100, "userId");
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rollout))));
+
+        // When & Then
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod")));
+    }
+
+    @Test
+    void evaluate_shouldThrowException_whenRulesetIsNotLoaded() {
+        // When & Then
+        assertFalse(evaluator.isReady());
+        assertThrows(FeatureToggleException.class,
+                () -> evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod")));
+    }
+
+    @Test
+    void evaluate_shouldThrowException_whenEnvironmentDiffers() {
+        // Given
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, true, List.of())));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class,
+                () -> evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "staging")));
+    }
+
+    @Test
+    void evaluate_shouldThrowNotFound_whenFlagIsUnknown() {
+        // Given
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, true, List.of())));
+
+        // When
+        FeatureToggleException exception = assertThrows(FeatureToggleException.class,
+                () -> evaluator.evaluate(FeatureEvaluationRequest.of("unknown", "prod")));
+
+        // Then
+        assertEquals(404, exception.getStatusCode());
+    }
+
+    @Test
+    void evaluate_shouldUseRulesetDeserializedFromJson() throws Exception {
+        // Given
+        String json = """
+                {
+                  "environment_id": "prod",
+                  "version": 7,
+                  "flags": [{
+                    "key": "checkout-v2",
+                    "enabled": true,
+                    "default_value": false,
+                    "rules": [{
+                      "conditions": [
+                        {"attribute": "country", "operator": "in", "values": ["US", "CA"]},
+                        {"attribute": "tier", "operator": "some_future_operator", "values": ["x"]}
+                      ],
+                      "value": true
+                    }, {
+                      "conditions": [{"attribute": "country", "operator": "equals", "values": ["US"]}],
+                      "value": true
+                    }]
+                  }],
+                  "segments": [],
+                  "unknown_field": "ignored"
+                }
+                """;
+
+        // When
+        FlagRuleset ruleset = new ObjectMapper().readValue(json, FlagRuleset.class);
+        store.update(ruleset);
+
+        // Then
+        assertEquals(7, ruleset.getVersion());
+        assertEquals(Operator.UNKNOWN, ruleset.getFlag("checkout-v2").rules().get(0).conditions().get(1).operator());
+        assertTrue(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod", Map.of("country", "US"))));
+        assertFalse(evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod", Map.of("country", "CA"))));
+    }
+
+    private boolean matches(TargetingCondition condition, Map<String, String> context) {
+        TargetingRule rule = new TargetingRule(List.of(condition), true, null, null);
+        store.update(ruleset(new FlagDefinition("checkout-v2", true, false, List.of(rule))));
+        return evaluator.evaluate(FeatureEvaluationRequest.of("checkout-v2", "prod", context));
+    }
+
+    private static FlagRuleset ruleset(FlagDefinition flag) {
+        return new FlagRuleset("prod", 1, List.of(flag), List.of());
+    }
+
+    private static TargetingCondition condition(String attribute, Operator operator, String... values) {
+        return new TargetingCondition(attribute, operator, List.of(values));
+    }
+}
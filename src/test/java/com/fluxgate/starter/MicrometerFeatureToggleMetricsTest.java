@@ -0,0 +1,76 @@
+package com.fluxgate.starter;
+
+import com.fluxgate.starter.FeatureToggleMetrics.Outcome;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerFeatureToggleMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerFeatureToggleMetrics metrics = new MicrometerFeatureToggleMetrics(registry);
+
+    @Test
+    void recordEvaluation_shouldTimeEvaluationTaggedWithFeatureAndOutcome() {
+        // When
+        metrics.recordEvaluation("checkout-v2", Outcome.ENABLED, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordEvaluation("checkout-v2", Outcome.ENABLED, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordEvaluation("checkout-v2", Outcome.DISABLED, TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Then
+        Timer enabled = registry.get(MicrometerFeatureToggleMetrics.EVALUATION_TIMER)
+                .tags("feature", "checkout-v2", "outcome", "enabled").timer();
+        assertEquals(2, enabled.count());
+        assertEquals(8.0, enabled.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get(MicrometerFeatureToggleMetrics.EVALUATION_TIMER)
+                .tags("feature", "checkout-v2", "outcome", "disabled").timer().count());
+    }
+
+    @Test
+    void recordError_shouldTagStatusCode_whenEdgeServerResponded() {
+        // When
+        metrics.recordError("checkout-v2", new FeatureToggleException("boom", "checkout-v2", "prod", 503));
+        metrics.recordError("checkout-v2", new FeatureToggleException("connection refused"));
+
+        // Then
+        assertEquals(1.0, registry.get(MicrometerFeatureToggleMetrics.ERROR_COUNTER)
+                .tags("feature", "checkout-v2", "status", "503").counter().count());
+        assertEquals(1.0, registry.get(MicrometerFeatureToggleMetrics.ERROR_COUNTER)
+                .tags("feature", "checkout-v2", "status", "none").counter().count());
+    }
+
+    @Test
+    void bindCircuitBreaker_shouldReportCurrentState() {
+        // Given
+        FeatureToggleCircuitBreaker circuitBreaker = new FeatureToggleCircuitBreaker(50, 1, Duration.ofMinutes(1), 1);
+        metrics.bindCircuitBreaker(circuitBreaker);
+
+        // When
+        circuitBreaker.onFailure();
+
+        // Then
+        assertEquals(1.0, registry.get(MicrometerFeatureToggleMetrics.CIRCUIT_BREAKER_STATE_GAUGE)
+                .tag("state", "open").gauge().value());
+        assertEquals(0.0, registry.get(MicrometerFeatureToggleMetrics.CIRCUIT_BREAKER_STATE_GAUGE)
+                .tag("state", "closed").gauge().value());
+    }
+
+    @Test
+    void recordRetryAndFallback_shouldIncrementCountersPerFeature() {
+        // When
+        metrics.recordRetry("checkout-v2");
+        metrics.recordRetry("checkout-v2");
+        metrics.recordFallback("search-v3");
+
+        // Then
+        assertEquals(2.0, registry.get(MicrometerFeatureToggleMetrics.RETRY_COUNTER)
+                .tag("feature", "checkout-v2").counter().count());
+        assertEquals(1.0, registry.get(MicrometerFeatureToggleMetrics.FALLBACK_COUNTER)
+                .tag("feature", "search-v3").counter().count());
+    }
+}
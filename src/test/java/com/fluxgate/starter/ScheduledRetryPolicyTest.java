@@ -0,0 +1,142 @@
+package com.fluxgate.starter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledRetryPolicyTest {
+
+    private FeatureToggleProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeatureToggleProperties();
+        properties.setRetryAttempts(3);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        properties.setMaxRetryDelay(Duration.ofMillis(4));
+        properties.setRetryMultiplier(2.0);
+    }
+
+    @Test
+    void execute_shouldRetryUntilAttemptSucceeds_whenFailuresAreRetryable() throws Exception {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties, new MicrometerFeatureToggleMetrics(registry));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<Boolean> result = policy.execute("checkout-v2", () -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(serverError())
+                : CompletableFuture.completedFuture(true));
+
+        // Then
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, registry.get("feature_toggle.retries").tag("feature", "checkout-v2").counter().count());
+    }
+
+    @Test
+    void execute_shouldFailWithLastError_whenAttemptsAreExhausted() {
+        // Given
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties);
+        AtomicInteger attempts = new AtomicInteger();
+        FeatureToggleException failure = serverError();
+
+        // When
+        CompletableFuture<Boolean> result = policy.execute("checkout-v2", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(failure);
+        });
+
+        // Then
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertSame(failure, thrown.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_shouldNotRetry_whenEdgeServerRejectsRequest() {
+        // Given
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<Boolean> result = policy.execute("checkout-v2", () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new FeatureToggleException("Unauthorized", "checkout-v2", "prod", 401));
+        });
+
+        // Then
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void execute_shouldReturnBeforeRetryRuns_whenRetryIsScheduled() throws Exception {
+        // Given
+        properties.setRetryDelay(Duration.ofMillis(200));
+        properties.setMaxRetryDelay(Duration.ofMillis(200));
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<Boolean> result = policy.execute("checkout-v2", () -> attempts.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(serverError())
+                : CompletableFuture.completedFuture(true));
+
+        // Then
+        assertFalse(result.isDone());
+        assertEquals(1, attempts.get());
+        assertTrue(result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nextDelay_shouldBackOffExponentially_upToMaxRetryDelay() {
+        // Given
+        properties.setRetryAttempts(5);
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties);
+
+        // When & Then
+        assertEquals(Duration.ofMillis(1), policy.nextDelay(serverError(), 1, 0));
+        assertEquals(Duration.ofMillis(2), policy.nextDelay(serverError(), 2, 0));
+        assertEquals(Duration.ofMillis(4), policy.nextDelay(serverError(), 3, 0));
+        assertEquals(Duration.ofMillis(4), policy.nextDelay(serverError(), 4, 0));
+        assertNull(policy.nextDelay(serverError(), 5, 0));
+    }
+
+    @Test
+    void nextDelay_shouldReturnNull_whenRetryWouldStartAfterDeadline() {
+        // Given
+        properties.setRetryDeadline(Duration.ofMillis(10));
+        ScheduledRetryPolicy policy = new ScheduledRetryPolicy(properties);
+
+        // When & Then
+        assertNotNull(policy.nextDelay(serverError(), 1, TimeUnit.MILLISECONDS.toNanos(5)));
+        assertNull(policy.nextDelay(serverError(), 1, TimeUnit.MILLISECONDS.toNanos(9)));
+    }
+
+    @Test
+    void isRetryable_shouldAcceptNetworkErrorsAndServerErrorsOnly() {
+        assertTrue(ScheduledRetryPolicy.isRetryable(serverError()));
+        assertTrue(ScheduledRetryPolicy.isRetryable(new FeatureToggleException("Network error",
+                new ResourceAccessException("Connection refused"), "checkout-v2", "prod")));
+        assertFalse(ScheduledRetryPolicy.isRetryable(
+                new FeatureToggleException("Not found", "checkout-v2", "prod", 404)));
+        assertFalse(ScheduledRetryPolicy.isRetryable(new FeatureToggleException("Empty response")));
+        assertFalse(ScheduledRetryPolicy.isRetryable(new IllegalArgumentException("Feature key cannot be empty")));
+    }
+
+    private static FeatureToggleException serverError() {
+        return new FeatureToggleException("Server error", "checkout-v2", "prod", 503);
+    }
+}
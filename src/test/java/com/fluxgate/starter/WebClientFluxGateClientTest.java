@@ -0,0 +1,413 @@
+package com.fluxgate.starter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class WebClientFluxGateClientTest {
+
+    private FeatureToggleProperties properties;
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new FeatureToggleProperties();
+        properties.setBaseUrl("http://localhost:8081");
+        properties.setFallbackEnabled(true);
+        properties.setRetryDelay(Duration.ofMillis(1));
+    }
+
+    @Test
+    void isEnabled_shouldReturnTrue_whenFeatureIsEnabled() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+
+        // When
+        Boolean result = client.isEnabled("test-feature", "prod").block();
+
+        // Then
+        assertEquals(Boolean.TRUE, result);
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.POST, requests.get(0).method());
+        assertEquals("http://localhost:8081/evaluate", requests.get(0).url().toString());
+    }
+
+    @Test
+    void isEnabled_shouldNotCallEdgeServer_untilSubscribed() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+
+        // When
+        client.isEnabled("test-feature", "prod");
+
+        // Then
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void isEnabled_shouldFailWithFeatureToggleException_whenServerReturnsError() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.SERVICE_UNAVAILABLE, "{\"error\":\"down\"}"));
+
+        // When
+        FeatureToggleException exception = assertThrows(FeatureToggleException.class,
+                () -> client.isEnabled("test-feature", "prod").block());
+
+        // Then
+        assertEquals(503, exception.getStatusCode());
+        assertEquals("test-feature", exception.getFeatureKey());
+        assertTrue(exception.getMessage().startsWith("Server error from edge server"));
+    }
+
+    @Test
+    void isEnabled_shouldFailWithIllegalArgumentException_whenFeatureKeyIsEmpty() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> client.isEnabled("", "prod").block());
+    }
+
+    @Test
+    void isEnabled_shouldServeRepeatedEvaluationsFromCache_whenCacheIsConfigured() {
+        // Given
+        FeatureEvaluationCache cache = new FeatureEvaluationCache(Duration.ofMinutes(1), 10);
+        WebClientFluxGateClient client = new WebClientFluxGateClient(
+                webClient(request -> json(HttpStatus.OK, "{\"enabled\":true}")), properties, cache, null, null, null);
+
+        // When
+        client.isEnabled("test-feature", "prod").block();
+        Boolean result = client.isEnabled("test-feature", "prod").block();
+
+        // Then
+        assertEquals(Boolean.TRUE, result);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void isEnabled_withPublisher_shouldEmitResultsInRequestOrder() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+
+        // When
+        List<Boolean> results = client.isEnabled(Flux.just(
+                FeatureEvaluationRequest.of("feature-a", "prod"),
+                FeatureEvaluationRequest.of("feature-b", "prod"))).collectList().block();
+
+        // Then
+        assertEquals(List.of(true, true), results);
+    }
+
+    @Test
+    void isEnabledAll_shouldReturnResultForEveryRequest() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> request.url().getPath().endsWith("/batch")
+                ? json(HttpStatus.OK, "{\"results\":[{\"enabled\":false},{\"enabled\":false}]}")
+                : json(HttpStatus.OK, "{\"enabled\":false}"));
+        FeatureEvaluationRequest first = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest second = FeatureEvaluationRequest.of("feature-b", "prod", Map.of("userId", "1"));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = client.isEnabledAll(List.of(first, second)).block();
+
+        // Then
+        assertNotNull(results);
+        assertEquals(Boolean.FALSE, results.get(first));
+        assertEquals(Boolean.FALSE, results.get(second));
+    }
+
+    @Test
+    void isEnabledAll_shouldSendOneBatchRequest() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.OK, "{\"results\":[{\"enabled\":true},{\"enabled\":false}]}"));
+        FeatureEvaluationRequest first = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest second = FeatureEvaluationRequest.of("feature-b", "prod");
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = client.isEnabledAll(List.of(first, second, first)).block();
+
+        // Then
+        assertEquals(Map.of(first, true, second, false), results);
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.POST, requests.get(0).method());
+        assertEquals("/evaluate/batch", requests.get(0).url().getPath());
+    }
+
+    @Test
+    void isEnabledAll_shouldFallBackToSingleRequests_whenBatchEndpointIsMissing() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> request.url().getPath().endsWith("/batch")
+                ? json(HttpStatus.NOT_FOUND, "{}")
+                : json(HttpStatus.OK, "{\"enabled\":true}"));
+        List<FeatureEvaluationRequest> evaluations = List.of(
+                FeatureEvaluationRequest.of("feature-a", "prod"), FeatureEvaluationRequest.of("feature-b", "prod"));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> firstResults = client.isEnabledAll(evaluations).block();
+        Map<FeatureEvaluationRequest, Boolean> secondResults = client.isEnabledAll(evaluations).block();
+
+        // Then
+        assertEquals(List.of(true, true), List.copyOf(firstResults.values()));
+        assertEquals(List.of(true, true), List.copyOf(secondResults.values()));
+        assertEquals(List.of("/evaluate/batch", "/evaluate", "/evaluate", "/evaluate", "/evaluate"),
+                requests.stream().map(request -> request.url().getPath()).toList());
+    }
+
+    @Test
+    void isEnabledAll_shouldOnlyRequestEvaluationsMissingFromMemo() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+        FeatureEvaluationRequest memoized = FeatureEvaluationRequest.of("feature-a", "prod");
+        FeatureEvaluationRequest missing = FeatureEvaluationRequest.of("feature-b", "prod");
+        FeatureEvaluationMemo memo = new FeatureEvaluationMemo();
+        memo.remember(FeatureEvaluationKey.of(memoized), false);
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = client.isEnabledAll(List.of(memoized, missing))
+                .contextWrite(context -> context.put(FeatureEvaluationMemo.CONTEXT_KEY, memo))
+                .block();
+
+        // Then
+        assertEquals(Map.of(memoized, false, missing, true), results);
+        assertEquals(1, requests.size());
+        assertEquals("/evaluate", requests.get(0).url().getPath());
+        assertEquals(Boolean.TRUE, memo.get(FeatureEvaluationKey.of(missing)));
+    }
+
+    @Test
+    void isEnabledAll_shouldRetryBatchRequest_afterServerError() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        WebClientFluxGateClient client = clientRespondingWith(request -> attempts.incrementAndGet() == 1
+                ? json(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                : json(HttpStatus.OK, "{\"results\":[{\"enabled\":true},{\"enabled\":true}]}"));
+        List<FeatureEvaluationRequest> evaluations = List.of(
+                FeatureEvaluationRequest.of("feature-a", "prod"), FeatureEvaluationRequest.of("feature-b", "prod"));
+
+        // When
+        Map<FeatureEvaluationRequest, Boolean> results = client.isEnabledAll(evaluations).block();
+
+        // Then
+        assertEquals(List.of(true, true), List.copyOf(results.values()));
+        assertEquals(2, requests.size());
+        assertTrue(requests.stream().allMatch(request -> request.url().getPath().equals("/evaluate/batch")));
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldEmitFallback_whenEvaluationFails() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.INTERNAL_SERVER_ERROR, "{}"));
+
+        // When
+        Boolean result = client.isEnabledWithFallback(FeatureEvaluationRequest.of("test-feature", "prod"), true)
+                .block();
+
+        // Then
+        assertEquals(Boolean.TRUE, result);
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldPropagateError_whenFallbackIsDisabled() {
+        // Given
+        properties.setFallbackEnabled(false);
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.INTERNAL_SERVER_ERROR, "{}"));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> client
+                .isEnabledWithFallback(FeatureEvaluationRequest.of("test-feature", "prod"), true).block());
+    }
+
+    @Test
+    void isEnabledWithFallback_shouldRecordFallbackOutcome_whenMetricsAreConfigured() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WebClientFluxGateClient client = new WebClientFluxGateClient(
+                webClient(request -> json(HttpStatus.INTERNAL_SERVER_ERROR, "{}")), properties, null, null,
+                new MicrometerFeatureToggleMetrics(registry), null);
+
+        // When
+        client.isEnabledWithFallback(FeatureEvaluationRequest.of("test-feature", "prod"), false).block();
+
+        // Then
+        assertEquals(1, registry.get("feature_toggle.evaluation")
+                .tags("feature", "test-feature", "outcome", "fallback").timer().count());
+        assertEquals(1.0, registry.get("feature_toggle.errors")
+                .tags("feature", "test-feature", "status", "500").counter().count());
+        assertTrue(registry.find("feature_toggle.evaluation").tag("outcome", "error").timers().isEmpty());
+    }
+
+    @Test
+    void isEnabled_shouldRetryAfterServerError_whenRetryModeIsScheduled() {
+        // Given
+        properties.setRetryMode(FeatureToggleProperties.RetryMode.SCHEDULED);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        WebClientFluxGateClient client = clientRespondingWith(request -> requests.size() == 1
+                ? json(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                : json(HttpStatus.OK, "{\"enabled\":true}"));
+
+        // When
+        Boolean result = client.isEnabled("test-feature", "prod").block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(Boolean.TRUE, result);
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void isEnabled_shouldNotRetryClientError_whenRetryModeIsScheduled() {
+        // Given
+        properties.setRetryMode(FeatureToggleProperties.RetryMode.SCHEDULED);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.UNAUTHORIZED, "{}"));
+
+        // When & Then
+        assertThrows(FeatureToggleException.class, () -> client.isEnabled("test-feature", "prod").block());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void isEnabled_shouldFailFastWithoutRequest_whenCircuitBreakerIsOpen() {
+        // Given
+        FeatureToggleCircuitBreaker circuitBreaker = new FeatureToggleCircuitBreaker(50, 1, Duration.ofMinutes(1), 1);
+        circuitBreaker.onFailure();
+        WebClientFluxGateClient client = new WebClientFluxGateClient(
+                webClient(request -> json(HttpStatus.OK, "{\"enabled\":true}")), properties, null, null, null,
+                circuitBreaker);
+
+        // When
+        Boolean result = client.isEnabledWithFallback(FeatureEvaluationRequest.of("test-feature", "prod"), false)
+                .block();
+
+        // Then
+        assertEquals(Boolean.FALSE, result);
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void isEnabled_shouldEvaluateOncePerExchange_whenMemoIsInContext() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+        FeatureEvaluationRequest request = FeatureEvaluationRequest.of("test-feature", "prod", Map.of("userId", "1"));
+
+        // When
+        List<Boolean> results = client.isEnabled(request)
+                .concatWith(client.isEnabled(request))
+                .concatWith(client.isEnabledWithFallback(request, false))
+                .collectList()
+                .contextWrite(context -> context.put(FeatureEvaluationMemo.CONTEXT_KEY, new FeatureEvaluationMemo()))
+                .block();
+
+        // Then
+        assertEquals(List.of(true, true, true), results);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void isHealthy_shouldReturnFalse_whenHealthEndpointFails() {
+        // Given
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+        // When & Then
+        assertEquals(Boolean.FALSE, client.isHealthy().block());
+    }
+
+    @Test
+    void defaultClientAsyncMethods_shouldDelegateToReactiveClient_withoutUsingExecutor() {
+        // Given
+        Executor asyncExecutor = mock(Executor.class);
+        WebClientFluxGateClient reactiveClient = clientRespondingWith(
+                request -> json(HttpStatus.OK, "{\"enabled\":true}"));
+        DefaultFeatureToggleClient client = new DefaultFeatureToggleClient(
+                null, properties, asyncExecutor, null, reactiveClient, null, null, null);
+
+        // When
+        CompletableFuture<Boolean> future = client.isEnabledAsync("test-feature", "prod");
+
+        // Then
+        assertTrue(future.join());
+        verifyNoInteractions(asyncExecutor);
+    }
+
+    @Test
+    void defaultClientAsyncMethods_shouldRetryThroughReactiveClient_whenRetryModeIsBlocking() {
+        // Given
+        properties.setRetryMode(FeatureToggleProperties.RetryMode.BLOCKING);
+        AtomicInteger attempts = new AtomicInteger();
+        WebClientFluxGateClient reactiveClient = clientRespondingWith(request -> attempts.incrementAndGet() == 1
+                ? json(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                : json(HttpStatus.OK, "{\"enabled\":true}"));
+        DefaultFeatureToggleClient client = new DefaultFeatureToggleClient(
+                null, properties, mock(Executor.class), null, reactiveClient, null, null, null);
+
+        // When
+        CompletableFuture<Boolean> future = client.isEnabledAsync("test-feature", "prod");
+
+        // Then
+        assertTrue(future.join());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void isEnabled_shouldStopRetrying_whenNextAttemptWouldStartAfterDeadline() {
+        // Given
+        properties.setRetryMode(FeatureToggleProperties.RetryMode.BLOCKING);
+        properties.setRetryDelay(Duration.ofSeconds(1));
+        properties.setRetryDeadline(Duration.ofMillis(100));
+        WebClientFluxGateClient client = clientRespondingWith(
+                request -> json(HttpStatus.SERVICE_UNAVAILABLE, "{}"));
+
+        // When
+        Mono<Boolean> enabled = client.isEnabled("test-feature", "prod");
+
+        // Then
+        assertThrows(FeatureToggleException.class, () -> enabled.block(Duration.ofSeconds(5)));
+        assertEquals(1, requests.size());
+    }
+
+    private WebClientFluxGateClient clientRespondingWith(Function<ClientRequest, ClientResponse> responder) {
+        return new WebClientFluxGateClient(webClient(responder), properties);
+    }
+
+    private WebClient webClient(Function<ClientRequest, ClientResponse> responder) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responder.apply(request));
+                })
+                .build();
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.fluxgate.starter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatNegotiatorTest {
+
+    @Test
+    void requestHeaders_shouldOfferOnlyJson_whenWireFormatIsJson() {
+        // Given
+        WireFormatNegotiator negotiator = WireFormatNegotiator.from(new FeatureToggleProperties());
+
+        // When
+        negotiator.onResponse(headers(MediaType.APPLICATION_CBOR));
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, negotiator.requestHeaders().getContentType());
+        assertEquals(List.of(MediaType.APPLICATION_JSON), negotiator.requestHeaders().getAccept());
+    }
+
+    @Test
+    void requestHeaders_shouldAcceptBinaryBeforeJsonButSendJson_untilServerAnswersInBinary() {
+        // Given
+        WireFormatNegotiator negotiator = WireFormatNegotiator.from(properties(FeatureToggleProperties.WireFormat.CBOR));
+
+        // When
+        negotiator.onResponse(headers(MediaType.APPLICATION_JSON));
+
+        // Then
+        assertFalse(negotiator.isBinaryRequests());
+        assertEquals(MediaType.APPLICATION_JSON, negotiator.requestHeaders().getContentType());
+        assertEquals(List.of(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_JSON),
+                negotiator.requestHeaders().getAccept());
+    }
+
+    @Test
+    void onResponse_shouldSwitchRequestsToBinary_whenServerAnswersInBinary() {
+        // Given
+        WireFormatNegotiator negotiator = WireFormatNegotiator.from(properties(FeatureToggleProperties.WireFormat.SMILE));
+
+        // When
+        negotiator.onResponse(headers(WireFormatNegotiator.APPLICATION_SMILE));
+
+        // Then
+        assertTrue(negotiator.isBinaryRequests());
+        assertEquals(WireFormatNegotiator.APPLICATION_SMILE, negotiator.requestHeaders().getContentType());
+    }
+
+    @Test
+    void onUnsupportedMediaType_shouldFallBackToJsonForGood() {
+        // Given
+        WireFormatNegotiator negotiator = WireFormatNegotiator.from(properties(FeatureToggleProperties.WireFormat.CBOR));
+        negotiator.onResponse(headers(MediaType.APPLICATION_CBOR));
+        HttpHeaders sent = negotiator.requestHeaders();
+
+        // When
+        HttpHeaders repeatWith = negotiator.onUnsupportedMediaType(sent);
+        negotiator.onResponse(headers(MediaType.APPLICATION_CBOR));
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, repeatWith.getContentType());
+        assertFalse(negotiator.isBinaryRequests());
+        assertEquals(MediaType.APPLICATION_JSON, negotiator.requestHeaders().getContentType());
+        assertNull(negotiator.onUnsupportedMediaType(negotiator.requestHeaders()));
+    }
+
+    @Test
+    void onUnsupportedMediaType_shouldRepeatEveryBinaryRequest_whenSeveralAreRejected() {
+        // Given
+        WireFormatNegotiator negotiator = WireFormatNegotiator.from(properties(FeatureToggleProperties.WireFormat.CBOR));
+        negotiator.onResponse(headers(MediaType.APPLICATION_CBOR));
+        HttpHeaders firstSent = negotiator.requestHeaders();
+        HttpHeaders secondSent = negotiator.requestHeaders();
+
+        // When
+        HttpHeaders firstRepeat = negotiator.onUnsupportedMediaType(firstSent);
+        HttpHeaders secondRepeat = negotiator.onUnsupportedMediaType(secondSent);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, firstRepeat.getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, secondRepeat.getContentType());
+    }
+
+    private static FeatureToggleProperties properties(FeatureToggleProperties.WireFormat wireFormat) {
+        FeatureToggleProperties properties = new FeatureToggleProperties();
+        properties.setWireFormat(wireFormat);
+        return properties;
+    }
+
+    private static HttpHeaders headers(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return headers;
+    }
+}